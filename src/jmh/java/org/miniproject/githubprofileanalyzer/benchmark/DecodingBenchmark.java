@@ -0,0 +1,48 @@
+package org.miniproject.githubprofileanalyzer.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.miniproject.githubprofileanalyzer.model.Repository;
+import org.miniproject.githubprofileanalyzer.util.GitHubTimestamps;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding a full page of /users/{username}/repos (100 repositories) into Repository models,
+ * and parsing a single GitHub timestamp
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DecodingBenchmark {
+
+    private ObjectReader repositoryListReader;
+    private byte[] repositoryPage;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        repositoryListReader = objectMapper.readerFor(new TypeReference<List<Repository>>() {});
+        repositoryPage = ProfileFixture.LARGE.firstRepositoryPage().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<Repository> decodeRepositoryPage() throws Exception {
+        return repositoryListReader.readValue(repositoryPage);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public LocalDateTime parseTimestamp() {
+        return GitHubTimestamps.parse("2024-11-05T19:30:45Z");
+    }
+}
@@ -0,0 +1,98 @@
+package org.miniproject.githubprofileanalyzer.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.miniproject.githubprofileanalyzer.client.GitHubApiClient;
+import org.miniproject.githubprofileanalyzer.controller.GitHubAnalyzerController;
+import org.miniproject.githubprofileanalyzer.dto.AnalyzeRequest;
+import org.miniproject.githubprofileanalyzer.service.AnalysisService;
+import org.miniproject.githubprofileanalyzer.support.ServiceFixture;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wall time to serve a burst of concurrent POST /api/analyze requests against a slow upstream, through the
+ * controller. On a pool the size of Tomcat's default (server.tomcat.threads.max=200) the request thread
+ * subscribes to the returned Mono and is released while GitHub is awaited. With one virtual thread per
+ * request (spring.threads.virtual.enabled) the request thread instead joins the analysis's user and
+ * repository requests as structured subtasks and stays blocked until it is done. Every request analyzes
+ * a distinct login, so neither the result cache nor the in-flight coalescing answers it; tree signals are
+ * cached after warm-up, so each costs the user and repository round trips only.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExecutionModeBenchmark {
+
+    private static final int TOMCAT_DEFAULT_MAX_THREADS = 200;
+
+    public enum RequestThreads {
+        PLATFORM_POOL,
+        VIRTUAL_PER_REQUEST
+    }
+
+    @Param({"PLATFORM_POOL", "VIRTUAL_PER_REQUEST"})
+    private RequestThreads requestThreads;
+
+    @Param({"1000"})
+    private int concurrentRequests;
+
+    @Param({"200"})
+    private int upstreamLatencyMs;
+
+    private final ProfileFixture profile = ProfileFixture.SMALL;
+    private GitHubAnalyzerController controller;
+    private ExecutorService executor;
+    private int burst;
+
+    @Setup
+    public void setUp() {
+        GitHubApiClient client = profile.stubbedClient(Duration.ofMillis(upstreamLatencyMs));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AnalysisService analysisService = ServiceFixture.analysisService(client, new ObjectMapper(), registry);
+        ReflectionTestUtils.setField(ReflectionTestUtils.getField(analysisService, "scoringService"), "virtualThreads",
+                requestThreads == RequestThreads.VIRTUAL_PER_REQUEST);
+        controller = new GitHubAnalyzerController(analysisService, ServiceFixture.organizationAnalysisService(client, registry));
+        executor = requestThreads == RequestThreads.VIRTUAL_PER_REQUEST
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_DEFAULT_MAX_THREADS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.close();
+    }
+
+    @Benchmark
+    public int serveConcurrentRequests() throws Exception {
+        int first = burst++ * concurrentRequests;
+        List<Future<CompletableFuture<ResponseEntity<?>>>> dispatched = new ArrayList<>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            AnalyzeRequest request = new AnalyzeRequest();
+            request.setUsername(profile.username(first + i));
+            // Like Spring MVC's async handling: the request thread subscribes, which joins the fan-out on a virtual one
+            dispatched.add(executor.submit(() -> controller.analyzeProfile(request, null, null, "gzip").toFuture()));
+        }
+
+        int responses = 0;
+        for (Future<CompletableFuture<ResponseEntity<?>>> request : dispatched) {
+            if (request.get().get().getStatusCode().is2xxSuccessful()) {
+                responses++;
+            }
+        }
+        return responses;
+    }
+}
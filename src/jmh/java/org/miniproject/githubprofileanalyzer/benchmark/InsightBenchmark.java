@@ -0,0 +1,45 @@
+package org.miniproject.githubprofileanalyzer.benchmark;
+
+import org.miniproject.githubprofileanalyzer.client.GitHubApiClient;
+import org.miniproject.githubprofileanalyzer.dto.AnalysisResponse;
+import org.miniproject.githubprofileanalyzer.service.AIInsightService;
+import org.miniproject.githubprofileanalyzer.service.InsightTemplates;
+import org.miniproject.githubprofileanalyzer.service.RepositoryEnrichmentService;
+import org.miniproject.githubprofileanalyzer.service.RepositorySnapshots;
+import org.miniproject.githubprofileanalyzer.service.ScoringService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building a full AnalysisResponse from precomputed metrics, and serializing it the way the controller does
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InsightBenchmark {
+
+    @Param({"SMALL", "MEDIAN", "LARGE"})
+    private ProfileFixture profile;
+
+    private AIInsightService aiInsightService;
+    private AnalysisResponse.ProfileMetrics metrics;
+
+    @Setup
+    public void setUp() {
+        GitHubApiClient client = profile.stubbedClient();
+        ScoringService scoringService = new ScoringService(client, new RepositoryEnrichmentService(client, 8, 30, 10_000),
+                new RepositorySnapshots(Duration.ZERO, 0));
+        metrics = scoringService.calculateMetrics(profile.username());
+        aiInsightService = new AIInsightService(new InsightTemplates(InsightTemplates.DEFAULT_LOCATION));
+    }
+
+    @Benchmark
+    public AnalysisResponse generateInsights() {
+        return aiInsightService.generateInsights(metrics);
+    }
+}
@@ -0,0 +1,50 @@
+package org.miniproject.githubprofileanalyzer.benchmark;
+
+import org.miniproject.githubprofileanalyzer.service.InsightTemplates;
+import org.miniproject.githubprofileanalyzer.util.TextTemplate;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering insight copy with String.format, as AIInsightService used to, against the precompiled templates
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InsightTemplateBenchmark {
+
+    @Param({"score-simulation.other", "resume-summary", "language-focus.triple", "commit-quality.moderate"})
+    private String key;
+
+    private TextTemplate template;
+    private String pattern;
+    private Object[] args;
+
+    @Setup
+    public void setUp() {
+        template = new InsightTemplates(InsightTemplates.DEFAULT_LOCATION).get(key);
+        pattern = template.pattern();
+        args = switch (key) {
+            case "score-simulation.other" -> new Object[]{"Code Structure", 35, 60, 71, "B+"};
+            case "resume-summary" -> new Object[]{42, "Java, TypeScript, Go", "Java", 318, "Active",
+                    "production-ready code and best practices"};
+            case "language-focus.triple" -> new Object[]{"Java", "TypeScript", "Go"};
+            case "commit-quality.moderate" -> new Object[]{7.285714285714286};
+            default -> throw new IllegalArgumentException(key);
+        };
+    }
+
+    @Benchmark
+    public String stringFormat() {
+        return String.format(pattern, args);
+    }
+
+    @Benchmark
+    public String compiledTemplate() {
+        return template.render(args);
+    }
+}
@@ -0,0 +1,187 @@
+package org.miniproject.githubprofileanalyzer.benchmark;
+
+import org.miniproject.githubprofileanalyzer.client.GitHubApiClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Synthetic GitHub accounts used by the benchmarks, served from memory instead of api.github.com.
+ * Payloads are shaped like the real ones, including the fields our models skip, so decoding cost is realistic.
+ */
+public enum ProfileFixture {
+
+    SMALL(8),
+    MEDIAN(40),
+    LARGE(5_000);
+
+    private static final int PAGE_SIZE = 100;
+    private static final Pattern PAGE_PARAMETER = Pattern.compile("[?&]page=(\\d+)");
+    private static final String[] LANGUAGES = {"Java", "TypeScript", "Python", "Go", "JavaScript", "Kotlin", "Rust", null};
+    private static final String[] TOPICS = {"spring-boot", "react", "cli", "testing", "docker", "deployment", "api"};
+
+    private final int repositoryCount;
+    private String[] pages;
+
+    ProfileFixture(int repositoryCount) {
+        this.repositoryCount = repositoryCount;
+    }
+
+    public String username() {
+        return "bench-" + name().toLowerCase();
+    }
+
+    /**
+     * A distinct login served the same account, for benchmarks that must not hit a per-user cache
+     */
+    public String username(int variant) {
+        return username() + "-" + variant;
+    }
+
+    public int repositoryCount() {
+        return repositoryCount;
+    }
+
+    /**
+     * Body of the first /users/{username}/repos page
+     */
+    public String firstRepositoryPage() {
+        return pages()[0];
+    }
+
+    // Generated on first use: enum constants are constructed before the static tables above
+    private synchronized String[] pages() {
+        if (pages == null) {
+            String[] generated = new String[Math.max(1, (repositoryCount + PAGE_SIZE - 1) / PAGE_SIZE)];
+            Random random = new Random(repositoryCount);
+            for (int page = 0; page < generated.length; page++) {
+                int from = page * PAGE_SIZE;
+                generated[page] = repositoryPage(random, from, Math.min(repositoryCount, from + PAGE_SIZE));
+            }
+            pages = generated;
+        }
+        return pages;
+    }
+
+    /**
+     * GitHubApiClient backed by an in-memory exchange function: no sockets, only decoding and Reactor overhead
+     */
+    public GitHubApiClient stubbedClient() {
+        return stubbedClient(Duration.ZERO);
+    }
+
+    /**
+     * Same, with every response delayed on a timer to stand in for a slow upstream without holding a thread
+     */
+    public GitHubApiClient stubbedClient(Duration latency) {
+        WebClient webClient = WebClient.builder()
+                .baseUrl("https://api.github.com")
+                .exchangeFunction(request -> latency.isZero()
+                        ? Mono.just(respond(request))
+                        : Mono.fromSupplier(() -> respond(request)).delaySubscription(latency))
+                .build();
+        GitHubApiClient client = new GitHubApiClient(webClient);
+        ReflectionTestUtils.setField(client, "pageConcurrency", 4);
+        ReflectionTestUtils.setField(client, "maxRepositoryPages", 50);
+        return client;
+    }
+
+    private ClientResponse respond(ClientRequest request) {
+        String path = request.url().getPath();
+        String[] pages = pages();
+        String login = login(path);
+        if (login != null && path.equals("/users/" + login)) {
+            return json(userJson(login)).build();
+        }
+        if (login != null && path.equals("/users/" + login + "/repos")) {
+            Matcher matcher = PAGE_PARAMETER.matcher(request.url().getQuery());
+            int page = matcher.find() ? Integer.parseInt(matcher.group(1)) : 1;
+            String body = page <= pages.length ? pages[page - 1] : "[]";
+            String link = "<https://api.github.com/user/1/repos?per_page=100&page=" + pages.length + ">; rel=\"last\"";
+            return json(body).header(HttpHeaders.LINK, link).build();
+        }
+        if (path.contains("/git/trees/")) {
+            String repo = path.substring(0, path.indexOf("/git/trees/"));
+            return json("""
+                    {"sha":"%08x","truncated":false,"tree":[{"path":"README.md"},{"path":"src/main/App.java"},
+                     {"path":"src/test/AppTest.java"},{"path":".github/workflows/ci.yml"},{"path":"Dockerfile"}]}"""
+                    .formatted(repo.hashCode())).build();
+        }
+        return ClientResponse.create(HttpStatus.NOT_FOUND).build();
+    }
+
+    private String login(String path) {
+        if (!path.startsWith("/users/")) {
+            return null;
+        }
+        int end = path.indexOf('/', "/users/".length());
+        String login = end < 0 ? path.substring("/users/".length()) : path.substring("/users/".length(), end);
+        return login.equals(username()) || login.startsWith(username() + "-") ? login : null;
+    }
+
+    private static ClientResponse.Builder json(String body) {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body);
+    }
+
+    private String userJson(String login) {
+        return """
+                {"login":"%s","id":1,"node_id":"MDQ6VXNlcjE=","avatar_url":"https://avatars.githubusercontent.com/u/1?v=4",
+                 "html_url":"https://github.com/%1$s","type":"User","site_admin":false,"name":"Bench User","company":null,
+                 "blog":"","location":"Earth","email":null,"hireable":true,"bio":"Builds things","twitter_username":null,
+                 "public_repos":%d,"public_gists":3,"followers":120,"following":15,
+                 "created_at":"2016-04-11T08:30:00Z","updated_at":"2026-02-20T17:45:10Z"}"""
+                .formatted(login, repositoryCount);
+    }
+
+    private String repositoryPage(Random random, int from, int to) {
+        StringBuilder json = new StringBuilder((to - from) * 1800).append('[');
+        for (int i = from; i < to; i++) {
+            if (i > from) json.append(',');
+            String name = (random.nextInt(8) == 0 ? "demo-" : "service-") + i;
+            String fullName = username() + "/" + name;
+            String language = LANGUAGES[random.nextInt(LANGUAGES.length)];
+            String description = random.nextInt(4) == 0 ? "null" : "\"A service that handles part " + i + " of the platform\"";
+            int stars = random.nextInt(100) > 60 ? random.nextInt(500) : random.nextInt(10);
+            StringBuilder topics = new StringBuilder();
+            for (int t = random.nextInt(4); t > 0; t--) {
+                if (!topics.isEmpty()) topics.append(',');
+                topics.append('"').append(TOPICS[random.nextInt(TOPICS.length)]).append('"');
+            }
+
+            json.append("""
+                    {"id":%s,"node_id":"R_kgDO%s","name":"%s","full_name":"%s","private":false,
+                     "owner":{"login":"%s","id":1,"avatar_url":"https://avatars.githubusercontent.com/u/1?v=4","type":"User","site_admin":false},
+                     "html_url":"https://github.com/%s","description":%s,"fork":%s,
+                     "url":"https://api.github.com/repos/%s","forks_url":"https://api.github.com/repos/%s/forks",
+                     "issues_url":"https://api.github.com/repos/%s/issues{/number}","pulls_url":"https://api.github.com/repos/%s/pulls{/number}",
+                     "created_at":"%s","updated_at":"%s","pushed_at":"%s",
+                     "homepage":null,"size":%s,"stargazers_count":%s,"watchers_count":%s,"language":%s,"has_issues":true,
+                     "has_projects":true,"has_downloads":true,"has_wiki":false,"has_pages":false,"forks_count":%s,
+                     "archived":false,"disabled":false,"open_issues_count":%s,"license":{"key":"mit","name":"MIT License"},
+                     "topics":[%s],"visibility":"public","default_branch":"main"}"""
+                    .formatted(100_000 + i, i, name, fullName, username(), fullName, description, random.nextInt(6) == 0,
+                            fullName, fullName, fullName, fullName,
+                            timestamp(random, 2014, 2025), timestamp(random, 2025, 2026), timestamp(random, 2024, 2026),
+                            random.nextInt(20_000), stars, stars, language == null ? "null" : "\"" + language + "\"",
+                            random.nextInt(15), random.nextInt(8), topics));
+        }
+        return json.append(']').toString();
+    }
+
+    private static String timestamp(Random random, int fromYear, int toYear) {
+        return "%d-%02d-%02dT%02d:%02d:%02dZ".formatted(fromYear + random.nextInt(toYear - fromYear + 1),
+                1 + random.nextInt(12), 1 + random.nextInt(28), random.nextInt(24), random.nextInt(60), random.nextInt(60));
+    }
+}
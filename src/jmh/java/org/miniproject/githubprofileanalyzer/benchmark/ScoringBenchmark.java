@@ -0,0 +1,50 @@
+package org.miniproject.githubprofileanalyzer.benchmark;
+
+import org.miniproject.githubprofileanalyzer.client.GitHubApiClient;
+import org.miniproject.githubprofileanalyzer.dto.AnalysisResponse;
+import org.miniproject.githubprofileanalyzer.service.RepositoryEnrichmentService;
+import org.miniproject.githubprofileanalyzer.service.RepositorySnapshots;
+import org.miniproject.githubprofileanalyzer.service.ScoringService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ScoringService.calculateMetrics end to end against an in-memory GitHub: page decoding, enrichment
+ * (tree signals come from the SHA cache after the first invocation) and scoring. calculateMetrics lists every
+ * page on each invocation, calculateMetricsIncremental re-analyzes from the repository snapshot of the last run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScoringBenchmark {
+
+    @Param({"SMALL", "MEDIAN", "LARGE"})
+    private ProfileFixture profile;
+
+    private ScoringService scoringService;
+    private ScoringService incrementalScoringService;
+
+    @Setup
+    public void setUp() {
+        GitHubApiClient client = profile.stubbedClient();
+        RepositoryEnrichmentService enrichment = new RepositoryEnrichmentService(client, 8, 30, 10_000);
+        scoringService = new ScoringService(client, enrichment, new RepositorySnapshots(Duration.ZERO, 0));
+        incrementalScoringService = new ScoringService(client, enrichment,
+                new RepositorySnapshots(Duration.ofDays(7), 100));
+    }
+
+    @Benchmark
+    public AnalysisResponse.ProfileMetrics calculateMetrics() {
+        return scoringService.calculateMetrics(profile.username());
+    }
+
+    @Benchmark
+    public AnalysisResponse.ProfileMetrics calculateMetricsIncremental() {
+        return incrementalScoringService.calculateMetrics(profile.username());
+    }
+}
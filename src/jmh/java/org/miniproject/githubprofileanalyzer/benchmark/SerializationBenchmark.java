@@ -0,0 +1,48 @@
+package org.miniproject.githubprofileanalyzer.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.miniproject.githubprofileanalyzer.client.GitHubApiClient;
+import org.miniproject.githubprofileanalyzer.dto.AnalysisResponse;
+import org.miniproject.githubprofileanalyzer.service.AIInsightService;
+import org.miniproject.githubprofileanalyzer.service.InsightTemplates;
+import org.miniproject.githubprofileanalyzer.service.RepositoryEnrichmentService;
+import org.miniproject.githubprofileanalyzer.service.RepositorySnapshots;
+import org.miniproject.githubprofileanalyzer.service.ScoringService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a complete AnalysisResponse with the same ObjectMapper setup Spring MVC uses
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"SMALL", "MEDIAN", "LARGE"})
+    private ProfileFixture profile;
+
+    private ObjectMapper objectMapper;
+    private AnalysisResponse response;
+
+    @Setup
+    public void setUp() {
+        GitHubApiClient client = profile.stubbedClient();
+        ScoringService scoringService = new ScoringService(client, new RepositoryEnrichmentService(client, 8, 30, 10_000),
+                new RepositorySnapshots(Duration.ZERO, 0));
+        AIInsightService aiInsightService = new AIInsightService(new InsightTemplates(InsightTemplates.DEFAULT_LOCATION));
+        response = aiInsightService.generateInsights(scoringService.calculateMetrics(profile.username()));
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public byte[] serializeAnalysisResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,26 @@
+package org.miniproject.githubprofileanalyzer.benchmark;
+
+import org.miniproject.githubprofileanalyzer.util.GitHubUrlValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GitHubUrlValidator.extractUsername for the two accepted input shapes
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UsernameValidationBenchmark {
+
+    @Param({"torvalds", "https://github.com/torvalds/linux"})
+    private String input;
+
+    @Benchmark
+    public String extractUsername() {
+        return GitHubUrlValidator.extractUsername(input);
+    }
+}
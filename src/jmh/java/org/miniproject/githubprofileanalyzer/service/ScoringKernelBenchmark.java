@@ -0,0 +1,82 @@
+package org.miniproject.githubprofileanalyzer.service;
+
+import org.miniproject.githubprofileanalyzer.dto.AnalysisResponse;
+import org.miniproject.githubprofileanalyzer.model.GitHubUser;
+import org.miniproject.githubprofileanalyzer.model.Repository;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scoring alone, without fetching: the stream-based LegacyScoring over Repository beans versus the single-pass
+ * ScoringKernel over the same beans and over a prebuilt RepositoryTable. In the service package because
+ * buildMetrics and LegacyScoring are package-private.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScoringKernelBenchmark {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 1, 12, 0);
+    private static final String[] LANGUAGES = {"Java", "Python", "TypeScript", "Go", "Rust", null};
+    private static final String[] TOPICS = {"testing", "deployment", "production", "spring", "cli", "demo"};
+
+    @Param({"10", "1000", "50000"})
+    private int repositoryCount;
+
+    private final ScoringService scoringService = new ScoringService(null, null, null);
+    private final LegacyScoring legacyScoring = new LegacyScoring(NOW);
+    private GitHubUser user;
+    private List<Repository> repositories;
+    private RepositoryTable table;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(repositoryCount);
+        user = GitHubUser.builder()
+                .login("octo")
+                .publicRepos(repositoryCount)
+                .createdAt(NOW.minusDays(2000))
+                .build();
+        repositories = new ArrayList<>(repositoryCount);
+        for (int i = 0; i < repositoryCount; i++) {
+            repositories.add(Repository.builder()
+                    .name((random.nextInt(8) == 0 ? "demo-" : "service-") + i)
+                    .fullName("octo/service-" + i)
+                    .description(random.nextInt(4) == 0 ? null : "Service number " + i + " for the portfolio analyzer")
+                    .language(LANGUAGES[random.nextInt(LANGUAGES.length)])
+                    .topics(List.of(TOPICS[random.nextInt(TOPICS.length)]))
+                    .stargazersCount(random.nextInt(4) == 0 ? random.nextInt(300) : random.nextInt(8))
+                    .forksCount(random.nextInt(5) == 0 ? random.nextInt(40) : random.nextInt(3))
+                    .fork(random.nextInt(5) == 0)
+                    .pushedAt(NOW.minusDays(random.nextInt(200)))
+                    .hasReadme(random.nextBoolean())
+                    .hasTests(random.nextInt(10) == 0)
+                    .hasDeployment(random.nextInt(10) == 0)
+                    .build());
+        }
+        table = RepositoryTable.of(repositories);
+    }
+
+    @Benchmark
+    public AnalysisResponse.ProfileMetrics legacyOverBeans() {
+        return legacyScoring.buildMetrics(user, repositories);
+    }
+
+    @Benchmark
+    public AnalysisResponse.ProfileMetrics kernelOverBeans() {
+        return scoringService.buildMetrics(user, repositories, NOW);
+    }
+
+    @Benchmark
+    public AnalysisResponse.ProfileMetrics kernelOverTable() {
+        return scoringService.buildMetrics(user, table, NOW);
+    }
+}
@@ -0,0 +1,220 @@
+package org.miniproject.githubprofileanalyzer.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * HTTP cache for GitHub GET requests, keyed by request URI and the Authorization header it was sent with,
+ * since what GitHub returns depends on who asks.
+ * Stores the ETag / Last-Modified validators of every successful response and
+ * revalidates with If-None-Match / If-Modified-Since. A 304 is answered from the
+ * stored body and does not count against the GitHub rate limit.
+ * The cache is bounded by the size of the stored bodies rather than their number, as a git tree can be
+ * megabytes where a user is a few hundred bytes. /rate_limit is never cached, it is only asked for live figures.
+ */
+@Slf4j
+@Component
+public class ConditionalRequestCache implements ExchangeFilterFunction {
+
+    private static final Pattern MAX_AGE_PATTERN = Pattern.compile("max-age=(\\d+)");
+    // Headers, validators and key of an entry, roughly, so that empty bodies are not free
+    static final int ENTRY_OVERHEAD_BYTES = 1024;
+
+    // Access-ordered for LRU eviction; guarded by itself, like weight
+    private final LinkedHashMap<Key, CachedResponse> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final long maxWeight;
+    private final boolean honorMaxAge;
+    private long weight;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public ConditionalRequestCache(@Value("${github.cache.max-size:32MB}") DataSize maxSize,
+                                   @Value("${github.cache.honor-max-age:true}") boolean honorMaxAge) {
+        this.maxWeight = maxSize.toBytes();
+        this.honorMaxAge = honorMaxAge;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (request.method() != HttpMethod.GET || request.url().getPath().endsWith("/rate_limit")) {
+            return next.exchange(request);
+        }
+
+        Key key = new Key(request.url(), request.headers().getFirst(HttpHeaders.AUTHORIZATION));
+        CachedResponse cached = get(key);
+
+        // Still fresh according to Cache-Control: max-age, no round trip needed
+        if (cached != null && honorMaxAge && cached.isFresh()) {
+            hits.incrementAndGet();
+            return Mono.just(cached.toClientResponse());
+        }
+
+        ClientRequest outbound = cached == null ? request : ClientRequest.from(request)
+                .headers(headers -> {
+                    if (cached.etag() != null) {
+                        headers.set(HttpHeaders.IF_NONE_MATCH, cached.etag());
+                    }
+                    if (cached.lastModified() != null) {
+                        headers.set(HttpHeaders.IF_MODIFIED_SINCE, cached.lastModified());
+                    }
+                })
+                .build();
+
+        return next.exchange(outbound).flatMap(response -> {
+            if (cached != null && response.statusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                revalidations.incrementAndGet();
+                CachedResponse refreshed = cached.withExpiry(expiresAt(response.headers().asHttpHeaders()));
+                put(key, refreshed);
+                return response.releaseBody().thenReturn(refreshed.toClientResponse());
+            }
+
+            misses.incrementAndGet();
+            HttpHeaders headers = response.headers().asHttpHeaders();
+            if (!response.statusCode().is2xxSuccessful()
+                    || (headers.getETag() == null && headers.getFirst(HttpHeaders.LAST_MODIFIED) == null)) {
+                return Mono.just(response);
+            }
+
+            return DataBufferUtils.join(response.body(BodyExtractors.toDataBuffers()))
+                    .map(ConditionalRequestCache::toBytes)
+                    .defaultIfEmpty(new byte[0])
+                    .map(body -> {
+                        CachedResponse entry = new CachedResponse(
+                                response.statusCode(),
+                                HttpHeaders.readOnlyHttpHeaders(headers),
+                                body,
+                                headers.getETag(),
+                                headers.getFirst(HttpHeaders.LAST_MODIFIED),
+                                expiresAt(headers),
+                                response.strategies());
+                        put(key, entry);
+                        return entry.toClientResponse();
+                    });
+        });
+    }
+
+    public Map<String, Object> getStats() {
+        synchronized (entries) {
+            return Map.of(
+                    "hits", hits.get(),
+                    "revalidations", revalidations.get(),
+                    "misses", misses.get(),
+                    "entries", entries.size(),
+                    "bytes", weight
+            );
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            weight = 0;
+        }
+    }
+
+    private CachedResponse get(Key key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    /**
+     * Stores the entry and evicts the least recently used ones until the bodies fit again;
+     * a body larger than the whole cache is not stored
+     */
+    private void put(Key key, CachedResponse entry) {
+        long entryWeight = entry.weight();
+        synchronized (entries) {
+            CachedResponse previous = entryWeight > maxWeight ? entries.remove(key) : entries.put(key, entry);
+            if (previous != null) {
+                weight -= previous.weight();
+            }
+            if (entryWeight > maxWeight) {
+                return;
+            }
+            weight += entryWeight;
+
+            Iterator<CachedResponse> eldest = entries.values().iterator();
+            while (weight > maxWeight) {
+                weight -= eldest.next().weight();
+                eldest.remove();
+            }
+        }
+    }
+
+    private long expiresAt(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl == null) return 0;
+
+        Matcher matcher = MAX_AGE_PATTERN.matcher(cacheControl);
+        return matcher.find() ? System.currentTimeMillis() + Long.parseLong(matcher.group(1)) * 1000 : 0;
+    }
+
+    private static byte[] toBytes(DataBuffer buffer) {
+        try {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            return bytes;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private record Key(URI uri, String authorization) {
+    }
+
+    private record CachedResponse(HttpStatusCode status,
+                                  HttpHeaders headers,
+                                  byte[] body,
+                                  String etag,
+                                  String lastModified,
+                                  long expiresAt,
+                                  ExchangeStrategies strategies) {
+
+        long weight() {
+            return (long) body.length + ENTRY_OVERHEAD_BYTES;
+        }
+
+        boolean isFresh() {
+            return System.currentTimeMillis() < expiresAt;
+        }
+
+        CachedResponse withExpiry(long newExpiresAt) {
+            return new CachedResponse(status, headers, body, etag, lastModified, newExpiresAt, strategies);
+        }
+
+        ClientResponse toClientResponse() {
+            return ClientResponse.create(status, strategies)
+                    .headers(h -> h.addAll(headers))
+                    .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body)))
+                    .build();
+        }
+    }
+}
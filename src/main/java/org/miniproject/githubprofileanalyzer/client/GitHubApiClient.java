@@ -1,76 +1,198 @@
 package org.miniproject.githubprofileanalyzer.client;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.miniproject.githubprofileanalyzer.exception.GitHubApiException;
 import org.miniproject.githubprofileanalyzer.model.GitHubUser;
+import org.miniproject.githubprofileanalyzer.model.GitTree;
 import org.miniproject.githubprofileanalyzer.model.Repository;
+import org.miniproject.githubprofileanalyzer.util.GitHubLinkHeader;
+import org.miniproject.githubprofileanalyzer.util.SingleFlight;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.function.Function;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class GitHubApiClient {
     
+    private static final int REPOSITORY_PAGE_SIZE = 100;
+    private static final int MEMBER_PAGE_SIZE = 100;
+    
     private final WebClient gitHubWebClient;
     
-    @SuppressWarnings("unchecked")
+    private final GitHubGraphQlClient gitHubGraphQlClient;
+    
+    private final SingleFlight<String, GitHubUser> userRequests = new SingleFlight<>();
+    
+    private final SingleFlight<String, GitHubGraphQlClient.Page> graphQlFirstPages = new SingleFlight<>();
+    
+    // rest, graphql, or auto: GraphQL when a token is configured, since GitHub rejects anonymous GraphQL calls
+    @Value("${github.api.backend:auto}")
+    private String backend;
+    
+    @Value("${github.api.token:}")
+    private String token;
+    
+    @Value("${github.api.page-concurrency:4}")
+    private int pageConcurrency;
+    
+    @Value("${github.api.max-repository-pages:50}")
+    private int maxRepositoryPages;
+    
+    @Value("${github.api.max-member-pages:50}")
+    private int maxMemberPages;
+    
+    public GitHubApiClient(WebClient gitHubWebClient) {
+        this.gitHubWebClient = gitHubWebClient;
+        this.gitHubGraphQlClient = new GitHubGraphQlClient(gitHubWebClient);
+    }
+    
     public GitHubUser getUser(String username) {
-        try {
-            Map<String, Object> response = (Map<String, Object>) gitHubWebClient.get()
-                    .uri("/users/{username}", username)
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .onErrorResume(e -> {
-                        log.error("Error fetching user: {}", username, e);
-                        return Mono.error(new GitHubApiException("User not found: " + username));
-                    })
-                    .block();
-            
-            return mapToGitHubUser(response);
-        } catch (Exception e) {
-            throw new GitHubApiException("Failed to fetch user: " + username, e);
-        }
+        return fetchUser(username).block();
+    }
+    
+    public Mono<GitHubUser> fetchUser(String username) {
+        return fetchUserPayload(username)
+                .onErrorResume(e -> {
+                    log.error("Error fetching user: {}", username, e);
+                    return Mono.error(translate(e, "User not found: " + username, "Failed to fetch user: " + username));
+                });
     }
     
-    @SuppressWarnings("unchecked")
     public List<Repository> getUserRepositories(String username) {
-        try {
-            List<Map<String, Object>> response = (List<Map<String, Object>>) (List<?>) gitHubWebClient.get()
-                    .uri("/users/{username}/repos?per_page=100&sort=updated", username)
-                    .retrieve()
-                    .bodyToFlux(Map.class)
-                    .collectList()
-                    .onErrorResume(e -> {
-                        log.error("Error fetching repositories for user: {}", username, e);
-                        return Mono.error(new GitHubApiException("Failed to fetch repositories"));
-                    })
-                    .block();
-            
-            return response.stream()
-                    .map(this::mapToRepository)
-                    .toList();
-        } catch (Exception e) {
-            throw new GitHubApiException("Failed to fetch repositories for user: " + username, e);
+        return streamUserRepositories(username)
+                .collectList()
+                .block();
+    }
+    
+    /**
+     * Streams every repository of the user, most recently updated first, so consumers can start before
+     * the last page arrives. With the GraphQL backend the first page is shared with a concurrent fetchUser,
+     * and the REST listing is used if that page cannot be fetched.
+     */
+    public Flux<Repository> streamUserRepositories(String username) {
+        if (!useGraphQl()) {
+            return streamUserRepositoriesViaRest(username);
         }
+        
+        return fetchGraphQlFirstPage(username)
+                .map(firstPage -> gitHubGraphQlClient.streamRepositories(username, firstPage, maxRepositoryPages)
+                        .onErrorResume(e -> {
+                            // Part of the listing was already emitted, so it is too late to switch to REST
+                            log.error("Error fetching repositories for user: {}", username, e);
+                            return Mono.error(translate(e, "User not found: " + username,
+                                    "Failed to fetch repositories for user: " + username));
+                        }))
+                .onErrorResume(e -> {
+                    log.warn("GraphQL repository query failed for {}, falling back to REST: {}", username, e.getMessage());
+                    return Mono.just(streamUserRepositoriesViaRest(username));
+                })
+                .flatMapMany(Function.identity());
+    }
+    
+    /**
+     * Page 1 is fetched on its own to read the Link header, pages 2..N are then
+     * requested in parallel (bounded by github.api.page-concurrency) and emitted
+     * in page order.
+     */
+    private Flux<Repository> streamUserRepositoriesViaRest(String username) {
+        return fetchRepositoryPage(username, 1)
+                .flatMapMany(firstPage -> {
+                    List<Repository> firstItems = firstPage.getBody();
+                    int lastPage = Math.min(GitHubLinkHeader.lastPage(firstPage.getHeaders()), maxRepositoryPages);
+                    
+                    Flux<Repository> remaining;
+                    if (lastPage > 1) {
+                        remaining = Flux.range(2, lastPage - 1)
+                                .flatMapSequential(page -> fetchRepositoryPage(username, page)
+                                        .flatMapIterable(ResponseEntity::getBody), pageConcurrency);
+                    } else if (lastPage == 0 && firstItems.size() == REPOSITORY_PAGE_SIZE) {
+                        // No Link header but a full page: walk forward until a short page
+                        remaining = Flux.range(2, maxRepositoryPages - 1)
+                                .concatMap(page -> fetchRepositoryPage(username, page))
+                                .takeUntil(page -> page.getBody().size() < REPOSITORY_PAGE_SIZE)
+                                .flatMapIterable(ResponseEntity::getBody);
+                    } else {
+                        remaining = Flux.empty();
+                    }
+                    
+                    return Flux.fromIterable(firstItems).concatWith(remaining);
+                })
+                .onErrorResume(e -> {
+                    log.error("Error fetching repositories for user: {}", username, e);
+                    return Mono.error(translate(e, "User not found: " + username,
+                            "Failed to fetch repositories for user: " + username));
+                });
+    }
+    
+    /**
+     * Streams the repositories updated at or after {@code since}, most recently updated first. Pages are
+     * requested one at a time and pagination stops at the first page that reaches a repository updated
+     * before {@code since}, so the cost depends on how much changed rather than on the size of the account.
+     * Timestamps have second precision, hence the inclusive bound.
+     */
+    public Flux<Repository> streamUserRepositoriesUpdatedSince(String username, LocalDateTime since) {
+        return Flux.range(1, maxRepositoryPages)
+                .concatMap(page -> fetchRepositoryPage(username, page), 0)
+                .takeUntil(page -> page.getBody().size() < REPOSITORY_PAGE_SIZE
+                        || page.getBody().stream().anyMatch(repo -> !isUpdatedSince(repo, since)))
+                .flatMapIterable(ResponseEntity::getBody)
+                .filter(repo -> isUpdatedSince(repo, since))
+                .onErrorResume(e -> {
+                    log.error("Error fetching updated repositories for user: {}", username, e);
+                    return Mono.error(translate(e, "User not found: " + username,
+                            "Failed to fetch repositories for user: " + username));
+                });
+    }
+    
+    /**
+     * Streams the public members of an organization. Pages are requested one at a time as the consumer
+     * asks for more, so a large organization is never listed in full ahead of its analysis.
+     */
+    public Flux<GitHubUser> streamOrganizationMembers(String org) {
+        return Flux.range(1, maxMemberPages)
+                .concatMap(page -> gitHubWebClient.get()
+                        .uri("/orgs/{org}/members?per_page={perPage}&page={page}", org, MEMBER_PAGE_SIZE, page)
+                        .retrieve()
+                        .bodyToFlux(GitHubUser.class)
+                        .collectList(), 0)
+                .takeUntil(members -> members.size() < MEMBER_PAGE_SIZE)
+                .flatMapIterable(members -> members)
+                .onErrorResume(e -> {
+                    log.error("Error fetching members of organization: {}", org, e);
+                    return Mono.error(translate(e, "Organization not found: " + org,
+                            "Failed to fetch members of organization: " + org));
+                });
+    }
+    
+    private static boolean isUpdatedSince(Repository repo, LocalDateTime since) {
+        return repo.getUpdatedAt() != null && !repo.getUpdatedAt().isBefore(since);
+    }
+    
+    private Mono<ResponseEntity<List<Repository>>> fetchRepositoryPage(String username, int page) {
+        // Each array element is decoded straight into a Repository; unmapped fields are skipped, not materialized
+        return gitHubWebClient.get()
+                .uri("/users/{username}/repos?per_page={perPage}&sort=updated&page={page}",
+                        username, REPOSITORY_PAGE_SIZE, page)
+                .retrieve()
+                .toEntityList(Repository.class);
     }
     
-    @SuppressWarnings("unchecked")
     public Map<String, Integer> getLanguageStats(String owner, String repo) {
         try {
-            return (Map<String, Integer>) (Map<?, ?>) gitHubWebClient.get()
-                    .uri("/repos/{owner}/{repo}/languages", owner, repo)
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .onErrorResume(e -> Mono.just(Map.of()))
-                    .block();
+            return fetchLanguageStats(owner, repo).block();
         } catch (Exception e) {
             log.warn("Failed to fetch language stats for {}/{}", owner, repo);
             return Map.of();
@@ -78,91 +200,112 @@ public class GitHubApiClient {
     }
     
     @SuppressWarnings("unchecked")
+    public Mono<Map<String, Integer>> fetchLanguageStats(String owner, String repo) {
+        return gitHubWebClient.get()
+                .uri("/repos/{owner}/{repo}/languages", owner, repo)
+                .retrieve()
+                .bodyToMono(Map.class)
+                .map(response -> (Map<String, Integer>) response)
+                .onErrorResume(e -> Mono.just(Map.of()));
+    }
+    
     public Map<String, Object> getUserProfile(String username) {
-        try {
-            Map<String, Object> userData = (Map<String, Object>) gitHubWebClient.get()
-                    .uri("/users/{username}", username)
-                    .retrieve()
-                    .bodyToMono(Map.class)
+        return fetchUserProfile(username).block();
+    }
+    
+    public Mono<Map<String, Object>> fetchUserProfile(String username) {
+        return fetchUserPayload(username)
+                .map(user -> {
+                    // Extract relevant fields including updated_at for last activity
+                    Map<String, Object> profile = new HashMap<>();
+                    profile.put("login", user.getLogin());
+                    profile.put("name", user.getName());
+                    profile.put("bio", user.getBio());
+                    profile.put("public_repos", user.getPublicRepos());
+                    profile.put("followers", user.getFollowers());
+                    profile.put("following", user.getFollowing());
+                    profile.put("created_at", user.getCreatedAt() != null
+                            ? user.getCreatedAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + "Z" : null);
+                    profile.put("updated_at", user.getUpdatedAt()); // Last activity timestamp
+                    return profile;
+                })
+                .onErrorResume(e -> {
+                    log.error("Error fetching user profile: {}", username, e);
+                    return Mono.error(translate(e, "User profile not found: " + username,
+                            "Failed to fetch user profile: " + username));
+                });
+    }
+    
+    /**
+     * fetchUser and fetchUserProfile read the same user; with the GraphQL backend it comes with the first
+     * repository page, otherwise from /users/{username}, and concurrent callers share one in-flight request
+     */
+    private Mono<GitHubUser> fetchUserPayload(String username) {
+        if (useGraphQl()) {
+            return fetchGraphQlFirstPage(username)
+                    .map(GitHubGraphQlClient.Page::user)
                     .onErrorResume(e -> {
-                        log.error("Error fetching user profile: {}", username, e);
-                        return Mono.error(new GitHubApiException("User profile not found: " + username));
-                    })
-                    .block();
-            
-            if (userData != null) {
-                // Extract relevant fields including updated_at for last activity
-                Map<String, Object> profile = new HashMap<>();
-                profile.put("login", userData.get("login"));
-                profile.put("name", userData.get("name"));
-                profile.put("bio", userData.get("bio"));
-                profile.put("public_repos", userData.get("public_repos"));
-                profile.put("followers", userData.get("followers"));
-                profile.put("following", userData.get("following"));
-                profile.put("created_at", userData.get("created_at"));
-                profile.put("updated_at", userData.get("updated_at")); // Last activity timestamp
-                return profile;
-            }
-        } catch (Exception e) {
-            throw new GitHubApiException("Failed to fetch user profile: " + username, e);
+                        log.warn("GraphQL user query failed for {}, falling back to REST: {}", username, e.getMessage());
+                        return fetchRestUser(username);
+                    });
         }
-        
-        return new HashMap<>();
+        return fetchRestUser(username);
+    }
+    
+    private Mono<GitHubUser> fetchRestUser(String username) {
+        return userRequests.execute(username.toLowerCase(Locale.ROOT), () -> gitHubWebClient.get()
+                .uri("/users/{username}", username)
+                .retrieve()
+                .bodyToMono(GitHubUser.class));
+    }
+    
+    /**
+     * The user together with their first 100 repositories in one GraphQL round trip. fetchUser and
+     * streamUserRepositories run concurrently in an analysis, so they share one in-flight request.
+     */
+    private Mono<GitHubGraphQlClient.Page> fetchGraphQlFirstPage(String username) {
+        return graphQlFirstPages.execute(username.toLowerCase(Locale.ROOT),
+                () -> gitHubGraphQlClient.fetchFirstPage(username));
+    }
+    
+    private boolean useGraphQl() {
+        return "graphql".equalsIgnoreCase(backend)
+                || ("auto".equalsIgnoreCase(backend) && token != null && !token.isEmpty());
     }
     
     public boolean hasReadme(String owner, String repo) {
-        try {
-            gitHubWebClient.get()
-                    .uri("/repos/{owner}/{repo}/readme", owner, repo)
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .block();
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return Boolean.TRUE.equals(fetchHasReadme(owner, repo).block());
+    }
+    
+    public Mono<Boolean> fetchHasReadme(String owner, String repo) {
+        return gitHubWebClient.get()
+                .uri("/repos/{owner}/{repo}/readme", owner, repo)
+                .retrieve()
+                .toBodilessEntity()
+                .map(response -> true)
+                .onErrorReturn(false);
     }
     
-    private GitHubUser mapToGitHubUser(Map<String, Object> data) {
-        return GitHubUser.builder()
-                .login((String) data.get("login"))
-                .name((String) data.get("name"))
-                .bio((String) data.get("bio"))
-                .avatarUrl((String) data.get("avatar_url"))
-                .htmlUrl((String) data.get("html_url"))
-                .publicRepos((Integer) data.getOrDefault("public_repos", 0))
-                .followers((Integer) data.getOrDefault("followers", 0))
-                .following((Integer) data.getOrDefault("following", 0))
-                .createdAt(parseDateTime((String) data.get("created_at")))
-                .updatedAt((String) data.get("updated_at")) // Keep as ISO 8601 string
-                .build();
-    }
-    
-    private Repository mapToRepository(Map<String, Object> data) {
-        return Repository.builder()
-                .name((String) data.get("name"))
-                .fullName((String) data.get("full_name"))
-                .description((String) data.get("description"))
-                .htmlUrl((String) data.get("html_url"))
-                .fork((Boolean) data.getOrDefault("fork", false))
-                .stargazersCount((Integer) data.getOrDefault("stargazers_count", 0))
-                .forksCount((Integer) data.getOrDefault("forks_count", 0))
-                .openIssuesCount((Integer) data.getOrDefault("open_issues_count", 0))
-                .language((String) data.get("language"))
-                .topics((List<String>) data.getOrDefault("topics", List.of()))
-                .createdAt(parseDateTime((String) data.get("created_at")))
-                .updatedAt(parseDateTime((String) data.get("updated_at")))
-                .pushedAt(parseDateTime((String) data.get("pushed_at")))
-                .size((Integer) data.getOrDefault("size", 0))
-                .defaultBranch((String) data.get("default_branch"))
-                .hasReadme(false) // Will be checked separately if needed
-                .hasTests(false)  // Will be checked separately if needed
-                .hasDeployment(false) // Will be checked separately if needed
-                .build();
-    }
-    
-    private LocalDateTime parseDateTime(String dateTime) {
-        if (dateTime == null) return null;
-        return LocalDateTime.parse(dateTime.substring(0, 19));
+    /**
+     * Fetches the full recursive git tree of a branch in a single request
+     */
+    public Mono<GitTree> fetchRepositoryTree(String owner, String repo, String branch) {
+        return gitHubWebClient.get()
+                .uri("/repos/{owner}/{repo}/git/trees/{branch}?recursive=1", owner, repo, branch)
+                .retrieve()
+                .bodyToMono(GitTree.class);
+    }
+    
+    /**
+     * Keeps typed API errors (e.g. rate limiting) intact and only labels the rest
+     */
+    private static GitHubApiException translate(Throwable e, String notFoundMessage, String failureMessage) {
+        if (e instanceof GitHubApiException apiException) {
+            return apiException;
+        }
+        if (e instanceof WebClientResponseException.NotFound) {
+            return new GitHubApiException(notFoundMessage, e);
+        }
+        return new GitHubApiException(failureMessage, e);
     }
 }
@@ -0,0 +1,62 @@
+package org.miniproject.githubprofileanalyzer.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+
+/**
+ * Pays the first-request costs at startup rather than on the first analysis: event loops, DNS resolver and
+ * TLS are initialized, GitHub's address is cached, and pooled connections are opened with GET /rate_limit,
+ * which does not count against the rate limit and seeds GitHubRateLimiter with the current budget.
+ * Runs in the background; a failure is only logged.
+ */
+@Slf4j
+@Component
+public class GitHubConnectionWarmup {
+
+    private final HttpClient gitHubHttpClient;
+    private final WebClient gitHubWebClient;
+    private final boolean enabled;
+    private final int connections;
+
+    public GitHubConnectionWarmup(HttpClient gitHubHttpClient, WebClient gitHubWebClient,
+                                  @Value("${github.http.warmup.enabled:true}") boolean enabled,
+                                  @Value("${github.http.warmup.connections:2}") int connections) {
+        this.gitHubHttpClient = gitHubHttpClient;
+        this.gitHubWebClient = gitHubWebClient;
+        this.enabled = enabled;
+        this.connections = connections;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            warmUp().subscribe();
+        }
+    }
+
+    Mono<Long> warmUp() {
+        long start = System.nanoTime();
+        return gitHubHttpClient.warmup()
+                .thenMany(Flux.range(0, connections)
+                        .flatMap(i -> gitHubWebClient.get()
+                                .uri("/rate_limit")
+                                .retrieve()
+                                .toBodilessEntity(), connections))
+                .count()
+                .doOnNext(warmed -> log.info("Warmed up {} GitHub connection(s) in {} ms",
+                        warmed, Duration.ofNanos(System.nanoTime() - start).toMillis()))
+                .onErrorResume(e -> {
+                    log.warn("GitHub connection warm-up failed: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+}
@@ -0,0 +1,254 @@
+package org.miniproject.githubprofileanalyzer.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.miniproject.githubprofileanalyzer.exception.GitHubApiException;
+import org.miniproject.githubprofileanalyzer.model.GitHubUser;
+import org.miniproject.githubprofileanalyzer.model.Repository;
+import org.miniproject.githubprofileanalyzer.util.GitHubTimestamps;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GraphQL backend of GitHubApiClient. One POST /graphql returns the user, their pinned repositories and a
+ * page of 100 repositories with languages, topics and the top of each file tree, so listing and enriching
+ * a user costs ceil(repos / 100) round trips instead of the user, every repository page and one tree
+ * request per repository. Only repositories without tests near the top of their tree still need it.
+ */
+class GitHubGraphQlClient {
+
+    static final int PAGE_SIZE = 100;
+
+    private static final String REPOSITORIES = """
+            repositories(first: %d, after: $cursor, ownerAffiliations: OWNER, privacy: PUBLIC,
+                         orderBy: {field: UPDATED_AT, direction: DESC}) { ...RepositoryPage }""".formatted(PAGE_SIZE);
+
+    // The README blob and the top-level, docs/, .github/, .github/workflows/ and src/ entries stand in for the
+    // recursive tree when deriving the README / tests / CI / deployment signals; tests nested deeper than src/
+    // are the one thing they can miss, so enrichment falls back to the tree when none are found
+    private static final String REPOSITORY_PAGE = """
+            fragment RepositoryPage on RepositoryConnection {
+              totalCount
+              pageInfo { hasNextPage endCursor }
+              nodes {
+                name
+                nameWithOwner
+                description
+                url
+                isFork
+                stargazerCount
+                forkCount
+                issues(states: OPEN) { totalCount }
+                pullRequests(states: OPEN) { totalCount }
+                primaryLanguage { name }
+                languages(first: 10, orderBy: {field: SIZE, direction: DESC}) { edges { size node { name } } }
+                repositoryTopics(first: 20) { nodes { topic { name } } }
+                createdAt
+                updatedAt
+                pushedAt
+                diskUsage
+                defaultBranchRef { name }
+                readme: object(expression: "HEAD:README.md") { ... on Blob { byteSize } }
+                root: object(expression: "HEAD:") { ... on Tree { entries { name type } } }
+                docs: object(expression: "HEAD:docs") { ... on Tree { entries { name type } } }
+                github: object(expression: "HEAD:.github") { ... on Tree { entries { name type } } }
+                src: object(expression: "HEAD:src") { ... on Tree { entries { name type } } }
+                workflows: object(expression: "HEAD:.github/workflows") { ... on Tree { entries { name type } } }
+              }
+            }
+            """;
+
+    private static final String PROFILE_QUERY = """
+            query($login: String!, $cursor: String) {
+              user(login: $login) {
+                login
+                name
+                bio
+                avatarUrl
+                url
+                createdAt
+                updatedAt
+                followers { totalCount }
+                following { totalCount }
+                pinnedItems(first: 6, types: REPOSITORY) {
+                  nodes { ... on Repository { name nameWithOwner url stargazerCount forkCount primaryLanguage { name } } }
+                }
+                %s
+              }
+            }
+            """.formatted(REPOSITORIES) + REPOSITORY_PAGE;
+
+    private static final String REPOSITORIES_QUERY = """
+            query($login: String!, $cursor: String) {
+              user(login: $login) {
+                %s
+              }
+            }
+            """.formatted(REPOSITORIES) + REPOSITORY_PAGE;
+
+    private final WebClient gitHubWebClient;
+
+    GitHubGraphQlClient(WebClient gitHubWebClient) {
+        this.gitHubWebClient = gitHubWebClient;
+    }
+
+    /**
+     * One page of a user's repositories; the first page also carries the user. endCursor is null on the last page.
+     */
+    record Page(GitHubUser user, List<Repository> repositories, String endCursor) {
+    }
+
+    Mono<Page> fetchFirstPage(String login) {
+        return execute(PROFILE_QUERY, login, null)
+                .map(user -> {
+                    JsonNode repositories = user.path("repositories");
+                    return new Page(toUser(user, repositories), toRepositories(repositories), endCursor(repositories));
+                });
+    }
+
+    /**
+     * Streams the repositories of the first page followed by the remaining ones. Cursors are opaque, so
+     * pages are requested one after another; each is emitted as soon as it arrives.
+     */
+    Flux<Repository> streamRepositories(String login, Page firstPage, int maxPages) {
+        return Mono.just(firstPage)
+                .expand(page -> page.endCursor() == null ? Mono.empty() : fetchPage(login, page.endCursor()))
+                .take(maxPages)
+                .concatMapIterable(Page::repositories);
+    }
+
+    private Mono<Page> fetchPage(String login, String cursor) {
+        return execute(REPOSITORIES_QUERY, login, cursor)
+                .map(user -> {
+                    JsonNode repositories = user.path("repositories");
+                    return new Page(null, toRepositories(repositories), endCursor(repositories));
+                });
+    }
+
+    private Mono<JsonNode> execute(String query, String login, String cursor) {
+        Map<String, Object> variables = new LinkedHashMap<>();
+        variables.put("login", login);
+        variables.put("cursor", cursor);
+
+        // GraphQL reports most failures, e.g. an unknown login, as HTTP 200 with an "errors" array
+        return gitHubWebClient.post()
+                .uri("/graphql")
+                .bodyValue(Map.of("query", query, "variables", variables))
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .handle((response, sink) -> {
+                    JsonNode user = response.path("data").path("user");
+                    if (user.isObject()) {
+                        sink.next(user);
+                    } else {
+                        sink.error(new GitHubApiException("GraphQL query for " + login + " failed: "
+                                + response.path("errors").path(0).path("message").asText("no data")));
+                    }
+                });
+    }
+
+    private static GitHubUser toUser(JsonNode user, JsonNode repositories) {
+        List<Repository> pinned = new ArrayList<>();
+        for (JsonNode node : user.path("pinnedItems").path("nodes")) {
+            pinned.add(toRepository(node));
+        }
+
+        return GitHubUser.builder()
+                .login(text(user, "login"))
+                .name(text(user, "name"))
+                .bio(text(user, "bio"))
+                .avatarUrl(text(user, "avatarUrl"))
+                .htmlUrl(text(user, "url"))
+                .publicRepos(repositories.path("totalCount").asInt())
+                .followers(user.path("followers").path("totalCount").asInt())
+                .following(user.path("following").path("totalCount").asInt())
+                .createdAt(GitHubTimestamps.parse(text(user, "createdAt")))
+                .updatedAt(text(user, "updatedAt"))
+                .pinnedRepositories(pinned)
+                .build();
+    }
+
+    private static List<Repository> toRepositories(JsonNode repositories) {
+        List<Repository> page = new ArrayList<>(PAGE_SIZE);
+        for (JsonNode node : repositories.path("nodes")) {
+            page.add(toRepository(node));
+        }
+        return page;
+    }
+
+    private static Repository toRepository(JsonNode node) {
+        Map<String, Integer> languages = new LinkedHashMap<>();
+        for (JsonNode edge : node.path("languages").path("edges")) {
+            languages.put(edge.path("node").path("name").asText(), edge.path("size").asInt());
+        }
+        List<String> topics = new ArrayList<>();
+        for (JsonNode topic : node.path("repositoryTopics").path("nodes")) {
+            topics.add(topic.path("topic").path("name").asText());
+        }
+
+        return Repository.builder()
+                .name(text(node, "name"))
+                .fullName(text(node, "nameWithOwner"))
+                .description(text(node, "description"))
+                .htmlUrl(text(node, "url"))
+                .fork(node.path("isFork").asBoolean())
+                .stargazersCount(node.path("stargazerCount").asInt())
+                .forksCount(node.path("forkCount").asInt())
+                // REST's open_issues_count includes open pull requests
+                .openIssuesCount(node.path("issues").path("totalCount").asInt()
+                        + node.path("pullRequests").path("totalCount").asInt())
+                .language(text(node.path("primaryLanguage"), "name"))
+                .languages(languages)
+                .topics(topics)
+                .createdAt(GitHubTimestamps.parse(text(node, "createdAt")))
+                .updatedAt(GitHubTimestamps.parse(text(node, "updatedAt")))
+                .pushedAt(GitHubTimestamps.parse(text(node, "pushedAt")))
+                .size(node.path("diskUsage").asInt())
+                .defaultBranch(text(node.path("defaultBranchRef"), "name"))
+                .contentPaths(contentPaths(node))
+                .build();
+    }
+
+    /**
+     * Paths in the shape of a git tree listing, directories with a trailing slash, or null for an empty repository
+     */
+    private static List<String> contentPaths(JsonNode node) {
+        JsonNode root = node.path("root").path("entries");
+        if (!root.isArray()) {
+            return null;
+        }
+
+        List<String> paths = new ArrayList<>();
+        if (node.path("readme").isObject()) {
+            paths.add("README.md");
+        }
+        addEntries(paths, "", root);
+        addEntries(paths, "docs/", node.path("docs").path("entries"));
+        addEntries(paths, ".github/", node.path("github").path("entries"));
+        addEntries(paths, "src/", node.path("src").path("entries"));
+        addEntries(paths, ".github/workflows/", node.path("workflows").path("entries"));
+        return paths;
+    }
+
+    private static void addEntries(List<String> paths, String prefix, JsonNode entries) {
+        for (JsonNode entry : entries) {
+            String path = prefix + entry.path("name").asText();
+            paths.add("tree".equals(entry.path("type").asText()) ? path + "/" : path);
+        }
+    }
+
+    private static String endCursor(JsonNode repositories) {
+        JsonNode pageInfo = repositories.path("pageInfo");
+        return pageInfo.path("hasNextPage").asBoolean() ? text(pageInfo, "endCursor") : null;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
@@ -0,0 +1,241 @@
+package org.miniproject.githubprofileanalyzer.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.miniproject.githubprofileanalyzer.exception.GitHubRateLimitException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Tracks the GitHub rate-limit budget from the X-RateLimit-* headers of every response.
+ * <ul>
+ *   <li>Once the remaining budget drops below the pacing threshold, calls are spaced out so it lasts until reset.
+ *       A paced call is queued as long as at most max-queue-depth calls are ahead of it, or its wait is within the
+ *       max queue wait, so the queue is as deep at a slow pace as at a fast one.</li>
+ *   <li>When the budget is exhausted, calls wait for the reset if it is near, otherwise fail with a 429.</li>
+ *   <li>Secondary rate limits (403/429 with Retry-After) are retried with exponential backoff.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class GitHubRateLimiter implements ExchangeFilterFunction {
+
+    public static final String CORE = "core";
+    public static final String GRAPHQL = "graphql";
+
+    private final Map<String, Budget> budgets = new ConcurrentHashMap<>();
+
+    private final double paceThreshold;
+    private final Duration maxQueueWait;
+    private final int maxQueueDepth;
+    private final int maxRetries;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    public GitHubRateLimiter(@Value("${github.rate-limit.pace-threshold:0.2}") double paceThreshold,
+                             @Value("${github.rate-limit.max-queue-wait:10s}") Duration maxQueueWait,
+                             @Value("${github.rate-limit.max-queue-depth:32}") int maxQueueDepth,
+                             @Value("${github.rate-limit.secondary.max-retries:3}") int maxRetries,
+                             @Value("${github.rate-limit.secondary.initial-backoff:1s}") Duration initialBackoff,
+                             @Value("${github.rate-limit.secondary.max-backoff:30s}") Duration maxBackoff) {
+        this.paceThreshold = paceThreshold;
+        this.maxQueueWait = maxQueueWait;
+        this.maxQueueDepth = maxQueueDepth;
+        this.maxRetries = maxRetries;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        Budget budget = budgets.computeIfAbsent(resourceOf(request), resource -> new Budget());
+
+        return Mono.defer(() -> {
+                    long waitMillis = budget.reserve(System.currentTimeMillis(), paceThreshold, maxQueueWait.toMillis(), maxQueueDepth);
+                    Mono<ClientResponse> exchange = next.exchange(request).flatMap(response -> inspect(response, budget));
+                    return waitMillis > 0 ? Mono.delay(Duration.ofMillis(waitMillis)).then(exchange) : exchange;
+                })
+                .retryWhen(Retry.from(signals -> signals.concatMap(signal -> {
+                    if (!(signal.failure() instanceof SecondaryRateLimitException secondary)) {
+                        return Mono.error(signal.failure());
+                    }
+                    if (signal.totalRetries() >= maxRetries) {
+                        return Mono.error(new GitHubRateLimitException(
+                                "GitHub secondary rate limit exceeded, please retry later",
+                                Math.max(1, secondary.retryAfterSeconds)));
+                    }
+
+                    long delay = backoffMillis(signal.totalRetries(), secondary.retryAfterSeconds);
+                    log.warn("GitHub secondary rate limit on {}, retrying in {} ms", request.url().getPath(), delay);
+                    return Mono.delay(Duration.ofMillis(delay));
+                })));
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        budgets.forEach((resource, budget) -> stats.put(resource, budget.snapshot()));
+        return stats;
+    }
+
+    /**
+     * Remaining calls in the core REST budget, or -1 before the first response has been seen
+     */
+    public long getRemaining() {
+        return getRemaining(CORE);
+    }
+
+    /**
+     * Remaining calls in the budget of a resource (CORE or GRAPHQL), or -1 before its first response
+     */
+    public long getRemaining(String resource) {
+        Budget budget = budgets.get(resource);
+        return budget == null ? -1 : budget.remaining;
+    }
+
+    /**
+     * Size of the budget of a resource per window, or -1 before its first response
+     */
+    public long getLimit(String resource) {
+        Budget budget = budgets.get(resource);
+        return budget == null ? -1 : budget.limit;
+    }
+
+    /**
+     * Delay before the given retry of a secondary rate limit: exponential with up to 25% jitter, capped at
+     * the max backoff, and never shorter than the Retry-After GitHub asked for
+     */
+    long backoffMillis(long retry, long retryAfterSeconds) {
+        long backoff = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(retry, 30));
+        long jitter = ThreadLocalRandom.current().nextLong(backoff / 4 + 1);
+        return Math.max(backoff + jitter, retryAfterSeconds * 1000);
+    }
+
+    private Mono<ClientResponse> inspect(ClientResponse response, Budget budget) {
+        HttpHeaders headers = response.headers().asHttpHeaders();
+        budget.update(headers);
+
+        int status = response.statusCode().value();
+        if (status != 403 && status != 429) {
+            return Mono.just(response);
+        }
+
+        long retryAfter = parseLong(headers.getFirst(HttpHeaders.RETRY_AFTER), 0);
+        if (budget.remaining == 0 && budget.resetEpochSeconds > 0) {
+            long untilReset = Math.max(1, budget.resetEpochSeconds - System.currentTimeMillis() / 1000);
+            return response.releaseBody().then(Mono.error(new GitHubRateLimitException(
+                    "GitHub API rate limit exceeded, resets in " + untilReset + " seconds", untilReset)));
+        }
+        if (status == 429 || retryAfter > 0) {
+            return response.releaseBody().then(Mono.error(new SecondaryRateLimitException(retryAfter)));
+        }
+
+        // A plain 403 is only a rate limit if GitHub says so in the body
+        return response.bodyToMono(String.class)
+                .defaultIfEmpty("")
+                .flatMap(body -> body.toLowerCase(Locale.ROOT).contains("secondary rate limit")
+                        ? Mono.error(new SecondaryRateLimitException(0))
+                        : Mono.just(response.mutate().body(body).build()));
+    }
+
+    private String resourceOf(ClientRequest request) {
+        return request.url().getPath().endsWith("/graphql") ? GRAPHQL : CORE;
+    }
+
+    private static long parseLong(String value, long defaultValue) {
+        if (value == null) return defaultValue;
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    static class Budget {
+        volatile long limit = -1;
+        volatile long remaining = -1;
+        volatile long resetEpochSeconds;
+        private long nextPermitAt;
+
+        /**
+         * Takes the figures of a response, unless they are older than what is known: responses to concurrent
+         * calls arrive out of order, and reservations count calls down before their responses come back.
+         * Figures of an earlier window are ignored, and within a window the remaining count only goes down.
+         */
+        synchronized void update(HttpHeaders headers) {
+            long newRemaining = parseLong(headers.getFirst("X-RateLimit-Remaining"), -1);
+            if (newRemaining < 0) return;
+
+            long newReset = parseLong(headers.getFirst("X-RateLimit-Reset"), resetEpochSeconds);
+            if (remaining >= 0 && (newReset < resetEpochSeconds || newReset == resetEpochSeconds && newRemaining > remaining)) {
+                return;
+            }
+            limit = parseLong(headers.getFirst("X-RateLimit-Limit"), limit);
+            resetEpochSeconds = newReset;
+            remaining = newRemaining;
+        }
+
+        /**
+         * Reserves a slot for one call and returns how long the caller has to wait for it. A paced call may wait
+         * up to the longer of maxWaitMillis and maxQueueDepth intervals; a call on an empty budget up to maxWaitMillis.
+         */
+        synchronized long reserve(long nowMillis, double paceThreshold, long maxWaitMillis, int maxQueueDepth) {
+            long resetMillis = resetEpochSeconds * 1000;
+            if (remaining < 0 || nowMillis >= resetMillis) {
+                return 0; // Unknown budget or the window has already reset
+            }
+
+            long wait = 0;
+            long interval = 0;
+            if (remaining == 0) {
+                wait = resetMillis - nowMillis;
+            } else if (remaining < limit * paceThreshold) {
+                // Spread the remaining calls evenly over the time left in the window
+                interval = (resetMillis - nowMillis) / remaining;
+                wait = Math.max(nowMillis, nextPermitAt) - nowMillis;
+            }
+
+            if (wait > Math.max(maxWaitMillis, interval * maxQueueDepth)) {
+                long retryAfter = Math.max(1, (resetMillis - nowMillis) / 1000);
+                throw new GitHubRateLimitException(
+                        "GitHub API rate limit budget exhausted, resets in " + retryAfter + " seconds", retryAfter);
+            }
+            if (interval > 0) {
+                nextPermitAt = nowMillis + wait + interval;
+            }
+
+            // Count the call against the budget until the response tells us the real figure
+            if (remaining > 0) remaining--;
+            return wait;
+        }
+
+        Map<String, Object> snapshot() {
+            return Map.of(
+                    "limit", limit,
+                    "remaining", remaining,
+                    "resetEpochSeconds", resetEpochSeconds
+            );
+        }
+    }
+
+    private static class SecondaryRateLimitException extends RuntimeException {
+        private final long retryAfterSeconds;
+
+        SecondaryRateLimitException(long retryAfterSeconds) {
+            super("GitHub secondary rate limit", null, false, false);
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.miniproject.githubprofileanalyzer.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Times every request that actually goes out to GitHub as {@code github.api.requests}, tagged with the
+ * endpoint template (e.g. /repos/{owner}/{repo}/languages), the method and the response status.
+ * Installed as the innermost filter, so cache hits and rate-limit waits are not part of the timings.
+ */
+@Component
+@RequiredArgsConstructor
+public class GitHubRequestMetrics implements ExchangeFilterFunction {
+    
+    private static final String URI_TEMPLATE_ATTRIBUTE = WebClient.class.getName() + ".uriTemplate";
+    
+    private final MeterRegistry meterRegistry;
+    
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            AtomicBoolean recorded = new AtomicBoolean();
+            return next.exchange(request)
+                    .doOnNext(response -> {
+                        recorded.set(true);
+                        sample.stop(timer(request, String.valueOf(response.statusCode().value())));
+                    })
+                    .doOnError(e -> {
+                        recorded.set(true);
+                        sample.stop(timer(request, "IO_ERROR"));
+                    })
+                    .doOnCancel(() -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            sample.stop(timer(request, "CANCELLED"));
+                        }
+                    });
+        });
+    }
+    
+    private Timer timer(ClientRequest request, String status) {
+        return Timer.builder("github.api.requests")
+                .description("Requests sent to the GitHub API")
+                .tag("endpoint", endpoint(request))
+                .tag("method", request.method().name())
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Path of the URI template without its query; the template carries the base URL, which is dropped.
+     * Never the expanded path, which would create a series per user.
+     */
+    static String endpoint(ClientRequest request) {
+        String template = request.attribute(URI_TEMPLATE_ATTRIBUTE)
+                .map(Object::toString)
+                .orElse(null);
+        if (template == null) {
+            return "other";
+        }
+        int scheme = template.indexOf("://");
+        int start = scheme < 0 ? 0 : template.indexOf('/', scheme + 3);
+        if (start < 0) {
+            return "/";
+        }
+        int query = template.indexOf('?', start);
+        return query < 0 ? template.substring(start) : template.substring(start, query);
+    }
+}
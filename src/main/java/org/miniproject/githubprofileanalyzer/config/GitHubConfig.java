@@ -1,15 +1,20 @@
 package org.miniproject.githubprofileanalyzer.config;
 
 import io.netty.channel.ChannelOption;
-import io.netty.resolver.DefaultAddressResolverGroup;
+import io.netty.resolver.ResolvedAddressTypes;
+import org.miniproject.githubprofileanalyzer.client.ConditionalRequestCache;
+import org.miniproject.githubprofileanalyzer.client.GitHubRateLimiter;
+import org.miniproject.githubprofileanalyzer.client.GitHubRequestMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.Http2AllocationStrategy;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
-import java.net.InetSocketAddress;
 import java.time.Duration;
 
 @Configuration
@@ -21,18 +26,93 @@ public class GitHubConfig {
     @Value("${github.api.token}")
     private String token;
     
+    @Value("${github.api.max-in-memory-size:8388608}")
+    private int maxInMemorySize;
+    
+    @Value("${github.http.http2:true}")
+    private boolean http2;
+    
+    @Value("${github.http.max-connections:50}")
+    private int maxConnections;
+    
+    @Value("${github.http.max-concurrent-streams:100}")
+    private long maxConcurrentStreams;
+    
+    @Value("${github.http.pending-acquire-timeout:10s}")
+    private Duration pendingAcquireTimeout;
+    
+    @Value("${github.http.max-idle-time:30s}")
+    private Duration maxIdleTime;
+    
+    @Value("${github.http.max-life-time:5m}")
+    private Duration maxLifeTime;
+    
+    @Value("${github.http.evict-interval:30s}")
+    private Duration evictInterval;
+    
+    @Value("${github.http.dns.cache-max-ttl:5m}")
+    private Duration dnsCacheMaxTtl;
+    
+    @Value("${github.http.dns.cache-negative-ttl:10s}")
+    private Duration dnsCacheNegativeTtl;
+    
+    @Value("${github.http.dns.query-timeout:5s}")
+    private Duration dnsQueryTimeout;
+    
+    /**
+     * Dedicated pool for GitHub, so its size and eviction do not depend on Reactor Netty's global defaults.
+     * Idle connections are closed before GitHub's load balancers drop them, and the pool gauges are
+     * published to Micrometer as reactor.netty.connection.provider.* with name=github.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider gitHubConnectionProvider() {
+        ConnectionProvider.Builder builder = ConnectionProvider.builder("github")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictInterval)
+                .metrics(true);
+        if (useHttp2()) {
+            // A handful of multiplexed connections carry what HTTP/1.1 needs one connection per request for
+            builder.allocationStrategy(Http2AllocationStrategy.builder()
+                    .maxConnections(maxConnections)
+                    .maxConcurrentStreams(maxConcurrentStreams)
+                    .build());
+        }
+        return builder.build();
+    }
+    
     @Bean
-    public WebClient gitHubWebClient() {
-        // Configure HttpClient to use IPv4 and avoid IPv6 DNS issues
-        HttpClient httpClient = HttpClient.create()
+    public HttpClient gitHubHttpClient(ConnectionProvider gitHubConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(gitHubConnectionProvider)
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 10000)
                 .responseTimeout(Duration.ofSeconds(10))
-                .resolver(DefaultAddressResolverGroup.INSTANCE);
+                // Netty's non-blocking DNS client with a TTL-bounded cache, instead of JDK lookups on event loop
+                // threads; IPv4 first to avoid IPv6 DNS issues
+                .resolver(spec -> spec
+                        .resolvedAddressTypes(ResolvedAddressTypes.IPV4_PREFERRED)
+                        .cacheMaxTimeToLive(dnsCacheMaxTtl)
+                        .cacheNegativeTimeToLive(dnsCacheNegativeTtl)
+                        .queryTimeout(dnsQueryTimeout));
         
+        // HTTP/2 is negotiated with ALPN, so it needs TLS; servers without it get HTTP/1.1 on the same client
+        return useHttp2()
+                ? httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11)
+                : httpClient.protocol(HttpProtocol.HTTP11);
+    }
+    
+    @Bean
+    public WebClient gitHubWebClient(HttpClient gitHubHttpClient, ConditionalRequestCache conditionalRequestCache,
+                                     GitHubRateLimiter gitHubRateLimiter, GitHubRequestMetrics gitHubRequestMetrics) {
         WebClient.Builder builder = WebClient.builder()
                 .baseUrl(baseUrl)
-                .clientConnector(new ReactorClientHttpConnector(httpClient))
-                .defaultHeader("Accept", "application/vnd.github.v3+json");
+                .clientConnector(new ReactorClientHttpConnector(gitHubHttpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(maxInMemorySize)) // Recursive trees can be several MB
+                .defaultHeader("Accept", "application/vnd.github.v3+json")
+                .filter(conditionalRequestCache) // Outermost: fresh cache hits never touch the rate-limit budget
+                .filter(gitHubRateLimiter)
+                .filter(gitHubRequestMetrics); // Innermost: times only the requests that reach GitHub
         
         if (token != null && !token.isEmpty()) {
             builder.defaultHeader("Authorization", "Bearer " + token);
@@ -40,4 +120,8 @@ public class GitHubConfig {
         
         return builder.build();
     }
+    
+    private boolean useHttp2() {
+        return http2 && baseUrl.startsWith("https://");
+    }
 }
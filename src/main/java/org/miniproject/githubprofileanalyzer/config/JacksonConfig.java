@@ -0,0 +1,24 @@
+package org.miniproject.githubprofileanalyzer.config;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.miniproject.githubprofileanalyzer.dto.AnalysisResponse;
+import org.miniproject.githubprofileanalyzer.service.FieldSelection;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+    
+    /**
+     * Lets field selections filter AnalysisResponse properties. Without filters supplied for a write
+     * (e.g. a plain response body) the unknown filter ids are ignored and everything is serialized.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fieldSelectionFilters() {
+        return builder -> builder
+                .mixIn(AnalysisResponse.class, FieldSelection.ResponseFilter.class)
+                .mixIn(AnalysisResponse.ProfileMetrics.class, FieldSelection.MetricsFilter.class)
+                .filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+    }
+}
@@ -0,0 +1,42 @@
+package org.miniproject.githubprofileanalyzer.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.miniproject.githubprofileanalyzer.client.GitHubRateLimiter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+@Configuration
+public class MetricsConfig {
+    
+    /**
+     * GitHub rate-limit budget per resource, as last reported by the X-RateLimit-* headers.
+     * Unknown until the first response for that resource, which is reported as NaN rather than a number.
+     */
+    @Bean
+    public MeterBinder gitHubRateLimitMetrics(GitHubRateLimiter gitHubRateLimiter) {
+        return registry -> {
+            for (String resource : List.of(GitHubRateLimiter.CORE, GitHubRateLimiter.GRAPHQL)) {
+                Gauge.builder("github.rate.limit.remaining", gitHubRateLimiter, known(limiter -> limiter.getRemaining(resource)))
+                        .description("Calls left in the current GitHub rate-limit window")
+                        .tag("resource", resource)
+                        .register(registry);
+                Gauge.builder("github.rate.limit.limit", gitHubRateLimiter, known(limiter -> limiter.getLimit(resource)))
+                        .description("Calls allowed per GitHub rate-limit window")
+                        .tag("resource", resource)
+                        .register(registry);
+            }
+        };
+    }
+    
+    private static ToDoubleFunction<GitHubRateLimiter> known(ToLongFunction<GitHubRateLimiter> value) {
+        return limiter -> {
+            long current = value.applyAsLong(limiter);
+            return current < 0 ? Double.NaN : current;
+        };
+    }
+}
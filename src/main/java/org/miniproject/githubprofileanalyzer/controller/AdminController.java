@@ -0,0 +1,110 @@
+package org.miniproject.githubprofileanalyzer.controller;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.miniproject.githubprofileanalyzer.client.ConditionalRequestCache;
+import org.miniproject.githubprofileanalyzer.client.GitHubRateLimiter;
+import org.miniproject.githubprofileanalyzer.exception.AdminAccessDeniedException;
+import org.miniproject.githubprofileanalyzer.service.AnalysisResultCache;
+import org.miniproject.githubprofileanalyzer.service.AnalysisService;
+import org.miniproject.githubprofileanalyzer.service.AnalysisSnapshotStore;
+import org.miniproject.githubprofileanalyzer.service.RepositorySnapshots;
+import org.miniproject.githubprofileanalyzer.util.GitHubUrlValidator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cache and rate-limit statistics, and cache eviction. Only registered with admin.endpoints.enabled=true, and
+ * then every call has to carry admin.token in the X-Admin-Token header; without a token configured, none is let in.
+ */
+@Slf4j
+@RestController
+@ConditionalOnProperty(name = "admin.endpoints.enabled", havingValue = "true")
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class AdminController {
+    
+    public static final String TOKEN_HEADER = "X-Admin-Token";
+    
+    private final ConditionalRequestCache conditionalRequestCache;
+    private final GitHubRateLimiter gitHubRateLimiter;
+    private final AnalysisResultCache analysisResultCache;
+    private final AnalysisService analysisService;
+    private final AnalysisSnapshotStore analysisSnapshotStore;
+    private final RepositorySnapshots repositorySnapshots;
+    
+    @Value("${admin.token:}")
+    private String adminToken;
+    
+    @PostConstruct
+    void warnWithoutToken() {
+        if (adminToken.isBlank()) {
+            log.warn("Admin endpoints are enabled but admin.token is not set, every call to them is refused");
+        }
+    }
+    
+    /**
+     * Runs before every handler of this controller
+     */
+    @ModelAttribute
+    void authorize(@RequestHeader(value = TOKEN_HEADER, required = false) String token) {
+        if (adminToken.isBlank() || token == null || !MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8), adminToken.getBytes(StandardCharsets.UTF_8))) {
+            throw new AdminAccessDeniedException("A valid " + TOKEN_HEADER + " header is required");
+        }
+    }
+    
+    @GetMapping("/github-cache")
+    public ResponseEntity<Map<String, Object>> gitHubCacheStats() {
+        return ResponseEntity.ok(conditionalRequestCache.getStats());
+    }
+    
+    @DeleteMapping("/github-cache")
+    public ResponseEntity<Void> clearGitHubCache() {
+        conditionalRequestCache.clear();
+        return ResponseEntity.noContent().build();
+    }
+    
+    @GetMapping("/rate-limit")
+    public ResponseEntity<Map<String, Object>> rateLimit() {
+        return ResponseEntity.ok(gitHubRateLimiter.getStats());
+    }
+    
+    @GetMapping("/analysis-cache")
+    public ResponseEntity<Map<String, Object>> analysisCacheStats() {
+        Map<String, Object> stats = new HashMap<>(analysisResultCache.getStats());
+        stats.put("inFlight", analysisService.inFlightCount());
+        stats.put("snapshots", analysisSnapshotStore.getStats());
+        return ResponseEntity.ok(stats);
+    }
+    
+    @DeleteMapping("/analysis-cache")
+    public ResponseEntity<Void> clearAnalysisCache() {
+        analysisResultCache.evictAll();
+        analysisSnapshotStore.clear();
+        repositorySnapshots.evictAll();
+        return ResponseEntity.noContent().build();
+    }
+    
+    @DeleteMapping("/analysis-cache/{username}")
+    public ResponseEntity<Void> evictAnalysis(@PathVariable String username) {
+        String normalized = GitHubUrlValidator.extractUsername(username);
+        analysisResultCache.evict(normalized);
+        analysisSnapshotStore.remove(normalized);
+        repositorySnapshots.evict(normalized);
+        return ResponseEntity.noContent().build();
+    }
+    
+    @GetMapping("/repository-snapshots")
+    public ResponseEntity<Map<String, Object>> repositorySnapshotStats() {
+        return ResponseEntity.ok(repositorySnapshots.getStats());
+    }
+}
@@ -3,14 +3,32 @@ package org.miniproject.githubprofileanalyzer.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.miniproject.githubprofileanalyzer.dto.AnalyzeRequest;
 import org.miniproject.githubprofileanalyzer.dto.AnalysisResponse;
-import org.miniproject.githubprofileanalyzer.service.AIInsightService;
-import org.miniproject.githubprofileanalyzer.service.ScoringService;
+import org.miniproject.githubprofileanalyzer.dto.AnalyzeRequest;
+import org.miniproject.githubprofileanalyzer.dto.BatchAnalysisItem;
+import org.miniproject.githubprofileanalyzer.dto.BatchAnalyzeRequest;
+import org.miniproject.githubprofileanalyzer.dto.OrganizationAnalysisProgress;
+import org.miniproject.githubprofileanalyzer.service.AnalysisService;
+import org.miniproject.githubprofileanalyzer.service.FieldSelection;
+import org.miniproject.githubprofileanalyzer.service.OrganizationAnalysisService;
+import org.miniproject.githubprofileanalyzer.service.SerializedAnalysis;
+import org.miniproject.githubprofileanalyzer.service.StaticSections;
 import org.miniproject.githubprofileanalyzer.util.GitHubUrlValidator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 @Slf4j
@@ -19,8 +37,11 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class GitHubAnalyzerController {
     
-    private final ScoringService scoringService;
-    private final AIInsightService aiInsightService;
+    private final AnalysisService analysisService;
+    private final OrganizationAnalysisService organizationAnalysisService;
+    
+    @Value("${analysis.static-sections.max-age:1d}")
+    private Duration staticSectionsMaxAge;
     
     @GetMapping("/health")
     public ResponseEntity<Map<String, String>> health() {
@@ -31,21 +52,138 @@ public class GitHubAnalyzerController {
         ));
     }
     
+    /**
+     * Full analysis without the sections served by GET /api/insights/static by default, written from the cached
+     * JSON or gzip bytes depending on Accept-Encoding. {@code staticSections=true} puts them back in.
+     * {@code fields=} restricts the response to the listed properties, static sections included if listed,
+     * unless {@code staticSections=false}.
+     */
     @PostMapping("/analyze")
-    public ResponseEntity<AnalysisResponse> analyzeProfile(@Valid @RequestBody AnalyzeRequest request) {
+    public Mono<ResponseEntity<?>> analyzeProfile(@Valid @RequestBody AnalyzeRequest request,
+                                                  @RequestParam(required = false) List<String> fields,
+                                                  @RequestParam(required = false) Boolean staticSections,
+                                                  @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        // Static sections are left out unless asked for, with staticSections=true or by listing them in fields=
+        boolean withStaticSections = staticSections != null ? staticSections : fields != null;
+        FieldSelection projection;
+        if (fields == null) {
+            projection = withStaticSections ? FieldSelection.ALL : FieldSelection.DEFAULT;
+        } else {
+            FieldSelection selection = FieldSelection.parse(fields);
+            projection = withStaticSections ? selection : selection.withoutStaticSections();
+        }
+        
         log.info("Analyzing GitHub profile: {}", request.getUsername());
         
         // Validate and extract username from URL if provided
         String username = GitHubUrlValidator.extractUsername(request.getUsername());
         
-        // Calculate metrics using scoring service
-        AnalysisResponse.ProfileMetrics metrics = scoringService.calculateMetrics(username);
+        // Calculate metrics and generate AI insights without holding a request thread on GitHub I/O
+        if (projection == FieldSelection.DEFAULT) {
+            boolean gzipped = acceptsGzip(acceptEncoding);
+            return analysisService.analyzeSerialized(username, gzipped)
+                    .doOnNext(entry -> logScore(username, entry.response()))
+                    .map(entry -> serializedResponse(entry, gzipped));
+        }
+        
+        // Only the selected sections are generated and written to the response
+        return analysisService.analyze(username, projection)
+                .doOnNext(response -> logScore(username, response))
+                .map(response -> {
+                    MappingJacksonValue body = new MappingJacksonValue(response);
+                    body.setFilters(projection.filters());
+                    return ResponseEntity.ok(body);
+                });
+    }
+    
+    private static void logScore(String username, AnalysisResponse response) {
+        if (response.getProfileMetrics() != null) {
+            log.info("Analysis complete for user: {} with score: {}",
+                    username, response.getProfileMetrics().getOverallScore());
+        }
+    }
+    
+    private static ResponseEntity<?> serializedResponse(SerializedAnalysis entry, boolean gzipped) {
+        // Already encoded, so the server's own response compression leaves it alone
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzipped) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(entry.body(gzipped));
+    }
+    
+    /**
+     * Whether the Accept-Encoding header allows gzip, explicitly or through "*", with a non-zero quality
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean wildcard = false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            boolean accepted = true;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        accepted = Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        accepted = false;
+                    }
+                }
+            }
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                // An explicit entry wins over the wildcard, whichever order they come in
+                return accepted;
+            }
+            if (name.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return wildcard;
+    }
+    
+    @GetMapping("/insights/static")
+    public ResponseEntity<byte[]> staticSections(WebRequest request) {
+        if (request.checkNotModified(StaticSections.etag())) {
+            return null;
+        }
+        
+        // Identical for every profile and only changed by a deployment
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.maxAge(staticSectionsMaxAge).cachePublic())
+                .eTag(StaticSections.etag())
+                .body(StaticSections.json());
+    }
+    
+    @PostMapping(value = "/analyze/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BatchAnalysisItem> analyzeBatch(@Valid @RequestBody BatchAnalyzeRequest request) {
+        log.info("Batch analysis requested for {} inputs", request.getUsernames().size());
         
-        // Generate AI insights
-        AnalysisResponse response = aiInsightService.generateInsights(metrics);
+        // One JSON line per user, written as soon as that analysis completes
+        return analysisService.analyzeBatch(request.getUsernames());
+    }
+    
+    @GetMapping(value = "/analyze/org/{org}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<OrganizationAnalysisProgress> analyzeOrganization(@PathVariable String org) {
+        // Organization logins follow the username rules, and an org URL works like a profile URL
+        String organization = GitHubUrlValidator.extractUsername(org);
+        log.info("Organization analysis requested for {}", organization);
         
-        log.info("Analysis complete for user: {} with score: {}", username, metrics.getOverallScore());
+        // One JSON line per progress update, each holding the aggregate so far; the last one has complete=true
+        return organizationAnalysisService.analyzeOrganization(organization);
+    }
+    
+    @GetMapping(value = "/analyze/{username}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> analyzeProfileStream(@PathVariable String username) {
+        log.info("Streaming analysis of GitHub profile: {}", username);
         
-        return ResponseEntity.ok(response);
+        // Profile header first, then metrics and insight sections as they become available
+        return analysisService.analyzeProgressively(GitHubUrlValidator.extractUsername(username));
     }
 }
@@ -1,9 +1,13 @@
 package org.miniproject.githubprofileanalyzer.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+import org.miniproject.githubprofileanalyzer.util.PreSerializedJson;
 
 import java.util.List;
 import java.util.Map;
@@ -63,11 +67,15 @@ public class AnalysisResponse {
     private TechStackEvaluation techStackEvaluation;
     
     // UI/UX Evaluation
+    @JsonSerialize(using = PreSerializedJson.Serializer.class)
     private UiUxEvaluation uiUxEvaluation;
     
     // Recommendations
+    @JsonSerialize(using = PreSerializedJson.Serializer.class)
     private List<String> recommendedPages;
+    @JsonSerialize(using = PreSerializedJson.Serializer.class)
     private List<String> recommendedAppFlow;
+    @JsonSerialize(using = PreSerializedJson.Serializer.class)
     private Map<String, List<String>> recommendedFolderStructure;
     
     // Action Plan
@@ -132,10 +140,12 @@ public class AnalysisResponse {
         private List<String> frontendImprovementSuggestions;
     }
     
-    @Data
+    /**
+     * Immutable: the same instance, StaticSections.UI_UX_EVALUATION, is shared by every response
+     */
+    @Value
     @Builder
-    @NoArgsConstructor
-    @AllArgsConstructor
+    @Jacksonized
     public static class UiUxEvaluation {
         private String uiThemeAssessment;
         private String layoutClarity;
@@ -0,0 +1,22 @@
+package org.miniproject.githubprofileanalyzer.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of a batch analysis stream: either the analysis result or the error for a single input
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchAnalysisItem {
+    private String input;
+    private String username;
+    private AnalysisResponse result;
+    private String error;
+}
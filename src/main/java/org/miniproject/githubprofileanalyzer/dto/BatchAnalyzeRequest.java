@@ -0,0 +1,12 @@
+package org.miniproject.githubprofileanalyzer.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchAnalyzeRequest {
+    @NotEmpty(message = "At least one GitHub username or URL is required")
+    private List<String> usernames;
+}
@@ -0,0 +1,48 @@
+package org.miniproject.githubprofileanalyzer.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One line of an organization analysis stream: the aggregate over every member analyzed so far.
+ * The last line has {@code complete} set; a pipeline stopped early also carries the reason in {@code error}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrganizationAnalysisProgress {
+    private String organization;
+    private boolean complete;
+    private int membersAnalyzed;
+    private int membersFailed;
+
+    private Double averageScore;
+    private Integer medianScore;
+    private Integer p90Score;
+    // "0-9", "10-19", ..., "90-100" -> member count
+    private Map<String, Integer> scoreDistribution;
+    private Map<String, Integer> gradeDistribution;
+    // Primary language -> number of members listing it, most common first
+    private Map<String, Integer> languageMix;
+    // overallScore and each score breakdown dimension -> best members, highest first
+    private Map<String, List<RankedMember>> topMembers;
+
+    private String error;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RankedMember {
+        private String username;
+        private int score;
+    }
+}
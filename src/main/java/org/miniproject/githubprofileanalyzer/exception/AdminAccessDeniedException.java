@@ -0,0 +1,7 @@
+package org.miniproject.githubprofileanalyzer.exception;
+
+public class AdminAccessDeniedException extends RuntimeException {
+    public AdminAccessDeniedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package org.miniproject.githubprofileanalyzer.exception;
+
+import lombok.Getter;
+
+@Getter
+public class GitHubRateLimitException extends GitHubApiException {
+    
+    private final long retryAfterSeconds;
+    
+    public GitHubRateLimitException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
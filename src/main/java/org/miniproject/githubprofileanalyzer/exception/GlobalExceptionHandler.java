@@ -1,5 +1,8 @@
 package org.miniproject.githubprofileanalyzer.exception;
 
+import lombok.RequiredArgsConstructor;
+import org.miniproject.githubprofileanalyzer.service.AnalysisMetrics;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -11,18 +14,42 @@ import java.util.HashMap;
 import java.util.Map;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
     
+    private final AnalysisMetrics analysisMetrics;
+    
+    @ExceptionHandler(GitHubRateLimitException.class)
+    public ResponseEntity<Map<String, String>> handleGitHubRateLimitException(GitHubRateLimitException ex) {
+        analysisMetrics.recordError(ex);
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "GitHub Rate Limit Exceeded");
+        error.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+    
     @ExceptionHandler(GitHubApiException.class)
     public ResponseEntity<Map<String, String>> handleGitHubApiException(GitHubApiException ex) {
+        analysisMetrics.recordError(ex);
         Map<String, String> error = new HashMap<>();
         error.put("error", "GitHub API Error");
         error.put("message", ex.getMessage());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
     
+    @ExceptionHandler(AdminAccessDeniedException.class)
+    public ResponseEntity<Map<String, String>> handleAdminAccessDeniedException(AdminAccessDeniedException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Unauthorized");
+        error.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+    }
+    
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>> handleValidationExceptions(MethodArgumentNotValidException ex) {
+        analysisMetrics.recordError(ex);
         Map<String, String> errors = new HashMap<>();
         ex.getBindingResult().getAllErrors().forEach((error) -> {
             String fieldName = ((FieldError) error).getField();
@@ -34,6 +61,7 @@ public class GlobalExceptionHandler {
     
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> handleGenericException(Exception ex) {
+        analysisMetrics.recordError(ex);
         Map<String, String> error = new HashMap<>();
         error.put("error", "Internal Server Error");
         error.put("message", ex.getMessage());
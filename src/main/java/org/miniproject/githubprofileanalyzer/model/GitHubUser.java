@@ -1,25 +1,41 @@
 package org.miniproject.githubprofileanalyzer.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.miniproject.githubprofileanalyzer.util.GitHubTimestampDeserializer;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class GitHubUser {
     private String login;
     private String name;
     private String bio;
+    @JsonProperty("avatar_url")
     private String avatarUrl;
+    @JsonProperty("html_url")
     private String htmlUrl;
+    @JsonProperty("public_repos")
     private int publicRepos;
     private int followers;
     private int following;
+    @JsonProperty("created_at")
+    @JsonDeserialize(using = GitHubTimestampDeserializer.class)
     private LocalDateTime createdAt;
+    @JsonProperty("updated_at")
     private String updatedAt; // ISO 8601 string from GitHub API (e.g., "2026-02-13T14:17:51Z")
+    @JsonIgnore
+    @Builder.Default
+    private List<Repository> pinnedRepositories = List.of(); // Only the GraphQL API exposes pinned items
 }
@@ -0,0 +1,29 @@
+package org.miniproject.githubprofileanalyzer.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Recursive git tree of a repository; only the entry paths are kept
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class GitTree {
+    private String sha;
+    private boolean truncated;
+    private List<Entry> tree = List.of();
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Entry {
+        private String path;
+    }
+}
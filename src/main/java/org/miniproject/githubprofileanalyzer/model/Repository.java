@@ -1,34 +1,67 @@
 package org.miniproject.githubprofileanalyzer.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.Nulls;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.miniproject.githubprofileanalyzer.util.GitHubTimestampDeserializer;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * Decoded directly from the GitHub repos payload; the ~70 fields not listed here are skipped by the parser
+ */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class Repository {
     private String name;
+    @JsonProperty("full_name")
     private String fullName;
     private String description;
+    @JsonProperty("html_url")
     private String htmlUrl;
     private boolean fork;
+    @JsonProperty("stargazers_count")
     private int stargazersCount;
+    @JsonProperty("forks_count")
     private int forksCount;
+    @JsonProperty("open_issues_count")
     private int openIssuesCount;
     private String language;
-    private List<String> topics;
+    @Builder.Default
+    @JsonSetter(nulls = Nulls.AS_EMPTY)
+    private List<String> topics = List.of();
+    @JsonProperty("created_at")
+    @JsonDeserialize(using = GitHubTimestampDeserializer.class)
     private LocalDateTime createdAt;
+    @JsonProperty("updated_at")
+    @JsonDeserialize(using = GitHubTimestampDeserializer.class)
     private LocalDateTime updatedAt;
+    @JsonProperty("pushed_at")
+    @JsonDeserialize(using = GitHubTimestampDeserializer.class)
     private LocalDateTime pushedAt;
     private int size;
+    @JsonProperty("default_branch")
     private String defaultBranch;
-    private boolean hasReadme;
+    private boolean hasReadme; // Filled in by RepositoryEnrichmentService
     private boolean hasTests;
+    private boolean hasCi;
     private boolean hasDeployment;
+    @JsonIgnore
+    private boolean enriched; // The flags above are settled: derived from the tree, or there is nothing to check
+    @JsonIgnore
+    private Map<String, Integer> languages; // Bytes per language, only from the GraphQL backend
+    @JsonIgnore
+    private List<String> contentPaths; // Top of the file tree from the GraphQL backend, consumed by enrichment
 }
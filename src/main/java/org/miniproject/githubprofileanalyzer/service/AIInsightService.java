@@ -1,5 +1,6 @@
 package org.miniproject.githubprofileanalyzer.service;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.miniproject.githubprofileanalyzer.dto.AnalysisResponse;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,8 +10,11 @@ import java.util.*;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class AIInsightService {
     
+    private final InsightTemplates templates;
+    
     @Value("${gemini.api.key:}")
     private String geminiApiKey; // Optional - not currently used (template-based insights)
     
@@ -19,83 +23,61 @@ public class AIInsightService {
      * Note: This is a template-based implementation. For production, integrate with actual LLM API.
      */
     public AnalysisResponse generateInsights(AnalysisResponse.ProfileMetrics metrics) {
+        return generateInsights(metrics, FieldSelection.ALL);
+    }
+    
+    /**
+     * Generates only the selected insights; the others stay null. Metrics may be null when the
+     * selection needs no GitHub data at all (static recommendations only).
+     */
+    public AnalysisResponse generateInsights(AnalysisResponse.ProfileMetrics metrics, FieldSelection fields) {
+        AnalysisResponse.AnalysisResponseBuilder response = AnalysisResponse.builder();
         
         // Generate insights based on metrics
-        String executiveSummary = generateExecutiveSummary(metrics);
-        AnalysisResponse.OverallAssessment overallAssessment = generateOverallAssessment(metrics);
-        List<String> whatRecruitersNoticeFirst = generateWhatRecruitersNoticeFirst(metrics);
-        List<AnalysisResponse.Signal> strongSignals = generateStrongSignals(metrics);
-        List<AnalysisResponse.RedFlag> redFlags = generateRedFlags(metrics);
-        AnalysisResponse.RepositoryStrategy repositoryStrategy = generateRepositoryStrategy(metrics);
-        AnalysisResponse.ImpactAndDiscoverability impactAndDiscoverability = generateImpactAndDiscoverability(metrics);
-        AnalysisResponse.RecruiterVerdict recruiterVerdict = generateRecruiterVerdict(metrics);
+        if (fields.includes("executiveSummary")) response.executiveSummary(generateExecutiveSummary(metrics));
+        if (fields.includes("overallAssessment")) response.overallAssessment(generateOverallAssessment(metrics));
+        if (fields.includes("whatRecruitersNoticeFirst")) response.whatRecruitersNoticeFirst(generateWhatRecruitersNoticeFirst(metrics));
+        if (fields.includes("strongSignals")) response.strongSignals(generateStrongSignals(metrics));
+        if (fields.includes("redFlags")) response.redFlags(generateRedFlags(metrics));
+        if (fields.includes("repositoryStrategy")) response.repositoryStrategy(generateRepositoryStrategy(metrics));
+        if (fields.includes("impactAndDiscoverability")) response.impactAndDiscoverability(generateImpactAndDiscoverability(metrics));
+        if (fields.includes("recruiterVerdict")) response.recruiterVerdict(generateRecruiterVerdict(metrics));
         
         // Polish features
-        String flagshipProject = generateFlagshipProject(metrics);
-        String confidenceLevel = generateConfidenceLevel(metrics);
-        List<String> fixPriorities = generateFixPriorities(metrics);
-        AnalysisResponse.CompletenessStats completenessStats = generateCompletenessStats(metrics);
-        AnalysisResponse.ScoreSimulation scoreSimulation = generateScoreSimulation(metrics);
+        if (fields.includes("flagshipProject")) response.flagshipProject(generateFlagshipProject(metrics));
+        if (fields.includes("confidenceLevel")) response.confidenceLevel(generateConfidenceLevel(metrics));
+        if (fields.includes("fixPriorities")) response.fixPriorities(generateFixPriorities(metrics));
+        if (fields.includes("completenessStats")) response.completenessStats(generateCompletenessStats(metrics));
+        if (fields.includes("scoreSimulation")) response.scoreSimulation(generateScoreSimulation(metrics));
         
         // Intelligence features
-        List<String> top3StrongestRepos = generateTop3StrongestRepos(metrics);
-        String weakestDimension = generateWeakestDimension(metrics);
-        AnalysisResponse.SkillCategories skillCategories = generateSkillCategories(metrics);
-        String activityTrend = generateActivityTrend(metrics);
-        String recruiterRiskSummary = generateRecruiterRiskSummary(metrics);
+        if (fields.includes("top3StrongestRepos")) response.top3StrongestRepos(generateTop3StrongestRepos(metrics));
+        if (fields.includes("weakestDimension")) response.weakestDimension(generateWeakestDimension(metrics));
+        if (fields.includes("skillCategories")) response.skillCategories(generateSkillCategories(metrics));
+        if (fields.includes("activityTrend")) response.activityTrend(generateActivityTrend(metrics));
+        if (fields.includes("recruiterRiskSummary")) response.recruiterRiskSummary(generateRecruiterRiskSummary(metrics));
         
         // Maturity features
-        String contributionConsistency = generateContributionConsistency(metrics);
-        String languageFocus = generateLanguageFocus(metrics);
-        Integer repositoryNoiseCount = generateRepositoryNoiseCount(metrics);
-        String engineeringMaturity = generateEngineeringMaturity(metrics);
-        String commitQuality = generateCommitQuality(metrics);
+        if (fields.includes("contributionConsistency")) response.contributionConsistency(generateContributionConsistency(metrics));
+        if (fields.includes("languageFocus")) response.languageFocus(generateLanguageFocus(metrics));
+        if (fields.includes("repositoryNoiseCount")) response.repositoryNoiseCount(generateRepositoryNoiseCount(metrics));
+        if (fields.includes("engineeringMaturity")) response.engineeringMaturity(generateEngineeringMaturity(metrics));
+        if (fields.includes("commitQuality")) response.commitQuality(generateCommitQuality(metrics));
         
         // Final polish features
-        String profileAge = generateProfileAge(metrics);
-        String lastCommitRecency = generateLastCommitRecency(metrics);
-        AnalysisResponse.TechStackEvaluation techStackEvaluation = generateTechStackEvaluation(metrics);
-        AnalysisResponse.UiUxEvaluation uiUxEvaluation = generateUiUxEvaluation();
-        AnalysisResponse.ThirtyDayActionPlan actionPlan = generateActionPlan(metrics);
-        List<String> immediateImprovements = generateImmediateImprovements(metrics);
-        String resumeSummary = generateResumeSummary(metrics);
-        
-        return AnalysisResponse.builder()
-                .executiveSummary(executiveSummary)
-                .overallAssessment(overallAssessment)
-                .whatRecruitersNoticeFirst(whatRecruitersNoticeFirst)
-                .strongSignals(strongSignals)
-                .redFlags(redFlags)
-                .repositoryStrategy(repositoryStrategy)
-                .impactAndDiscoverability(impactAndDiscoverability)
-                .recruiterVerdict(recruiterVerdict)
-                .flagshipProject(flagshipProject)
-                .confidenceLevel(confidenceLevel)
-                .fixPriorities(fixPriorities)
-                .completenessStats(completenessStats)
-                .scoreSimulation(scoreSimulation)
-                .top3StrongestRepos(top3StrongestRepos)
-                .weakestDimension(weakestDimension)
-                .skillCategories(skillCategories)
-                .activityTrend(activityTrend)
-                .recruiterRiskSummary(recruiterRiskSummary)
-                .contributionConsistency(contributionConsistency)
-                .languageFocus(languageFocus)
-                .repositoryNoiseCount(repositoryNoiseCount)
-                .engineeringMaturity(engineeringMaturity)
-                .commitQuality(commitQuality)
-                .profileAge(profileAge)
-                .lastCommitRecency(lastCommitRecency)
-                .techStackEvaluation(techStackEvaluation)
-                .uiUxEvaluation(uiUxEvaluation)
-                .recommendedPages(getRecommendedPages())
-                .recommendedAppFlow(getRecommendedAppFlow())
-                .recommendedFolderStructure(getRecommendedFolderStructure())
-                .thirtyDayActionPlan(actionPlan)
-                .threeImmediateHighImpactFixes(immediateImprovements)
-                .resumeReadyProfileSummary(resumeSummary)
-                .profileMetrics(metrics)
-                .build();
+        if (fields.includes("profileAge")) response.profileAge(generateProfileAge(metrics));
+        if (fields.includes("lastCommitRecency")) response.lastCommitRecency(generateLastCommitRecency(metrics));
+        if (fields.includes("techStackEvaluation")) response.techStackEvaluation(generateTechStackEvaluation(metrics));
+        if (fields.includes("uiUxEvaluation")) response.uiUxEvaluation(StaticSections.UI_UX_EVALUATION);
+        if (fields.includes("recommendedPages")) response.recommendedPages(StaticSections.RECOMMENDED_PAGES);
+        if (fields.includes("recommendedAppFlow")) response.recommendedAppFlow(StaticSections.RECOMMENDED_APP_FLOW);
+        if (fields.includes("recommendedFolderStructure")) response.recommendedFolderStructure(StaticSections.RECOMMENDED_FOLDER_STRUCTURE);
+        if (fields.includes("thirtyDayActionPlan")) response.thirtyDayActionPlan(generateActionPlan(metrics));
+        if (fields.includes("threeImmediateHighImpactFixes")) response.threeImmediateHighImpactFixes(generateImmediateImprovements(metrics));
+        if (fields.includes("resumeReadyProfileSummary")) response.resumeReadyProfileSummary(generateResumeSummary(metrics));
+        
+        if (fields.includesMetrics()) response.profileMetrics(metrics);
+        return response.build();
     }
     
     // ===== ALERT METHODS (Restored) =====
@@ -137,10 +119,9 @@ public class AIInsightService {
         }
         
         if (risks.isEmpty()) {
-            return String.format("Recruiter Risk Level: %s", riskLevel);
+            return templates.render("recruiter-risk.level", riskLevel);
         } else {
-            return String.format("Recruiter Risk Level: %s (due to %s)", 
-                    riskLevel, String.join(" & ", risks));
+            return templates.render("recruiter-risk.level-with-reasons", riskLevel, String.join(" & ", risks));
         }
     }
     
@@ -152,25 +133,16 @@ public class AIInsightService {
         
         String verdict;
         if (score >= 75 && isActive) {
-            verdict = String.format("Strong candidate with %d well-maintained repositories. " +
-                    "Clear evidence of technical competency and professional development practices. " +
-                    "Portfolio demonstrates %s-level engineering maturity with %d community stars.",
+            verdict = templates.render("executive-summary.strong",
                     repos, metrics.getOverallScore() >= 80 ? "advanced" : "intermediate", stars);
         } else if (score >= 60) {
-            verdict = String.format("Developing portfolio with %d repositories showing %s potential. " +
-                    "Core technical skills evident but needs stronger documentation and project polish. " +
-                    "%s for internship roles with mentorship.",
+            verdict = templates.render("executive-summary.developing",
                     repos, isActive ? "solid" : "moderate",
                     isActive ? "Ready" : "Nearly ready");
         } else if (score >= 40) {
-            verdict = String.format("Early-stage portfolio with %d repositories. " +
-                    "Basic technical foundation present but significant gaps in professional practices. " +
-                    "Requires 30-60 days of focused improvement before recruiter consideration.",
-                    repos);
+            verdict = templates.render("executive-summary.early-stage", repos);
         } else {
-            verdict = String.format("Portfolio needs substantial development. %d repositories lack professional structure, " +
-                    "documentation, and clear project narratives. Not currently competitive for technical roles.",
-                    repos);
+            verdict = templates.render("executive-summary.needs-development", repos);
         }
         
         return verdict;
@@ -196,9 +168,7 @@ public class AIInsightService {
         }
         
         // More detailed reasoning
-        String reasoning = String.format("Profile shows %d repositories with %s activity. " +
-                "Documentation quality (%d/100) and technical depth (%d/100) are %s. " +
-                "Community engagement: %d stars. %s",
+        String reasoning = templates.render("overall-assessment.reasoning",
                 metrics.getActivityMetrics().getPublicRepositories(),
                 metrics.getActivityMetrics().isActiveInLast90Days() ? "consistent recent" : "irregular",
                 metrics.getScoreBreakdown().getDocumentationQuality(),
@@ -229,13 +199,13 @@ public class AIInsightService {
         if (metrics.getActivityMetrics().getTotalStars() > 50) {
             signals.add(AnalysisResponse.Signal.builder()
                     .signal("Strong Community Validation")
-                    .whyItMatters(String.format("%d stars demonstrate that projects solve real problems and provide value to other developers. This is rare among student portfolios.", 
+                    .whyItMatters(templates.render("strong-signals.community-validation",
                             metrics.getActivityMetrics().getTotalStars()))
                     .build());
         } else if (metrics.getActivityMetrics().getTotalStars() > 10) {
             signals.add(AnalysisResponse.Signal.builder()
                     .signal("Community Recognition")
-                    .whyItMatters(String.format("%d stars show some external validation. While modest, this indicates projects have utility beyond personal learning.", 
+                    .whyItMatters(templates.render("strong-signals.community-recognition",
                             metrics.getActivityMetrics().getTotalStars()))
                     .build());
         }
@@ -243,14 +213,14 @@ public class AIInsightService {
         if (metrics.getActivityMetrics().getPrimaryLanguages().size() >= 4) {
             signals.add(AnalysisResponse.Signal.builder()
                     .signal("Multi-Language Technical Breadth")
-                    .whyItMatters(String.format("Proficiency across %d languages (%s) demonstrates adaptability and strong fundamentals. Valuable for teams with diverse tech stacks.", 
+                    .whyItMatters(templates.render("strong-signals.language-breadth",
                             metrics.getActivityMetrics().getPrimaryLanguages().size(),
                             String.join(", ", metrics.getActivityMetrics().getPrimaryLanguages().subList(0, Math.min(3, metrics.getActivityMetrics().getPrimaryLanguages().size())))))
                     .build());
         } else if (metrics.getActivityMetrics().getPrimaryLanguages().size() >= 2) {
             signals.add(AnalysisResponse.Signal.builder()
                     .signal("Multi-Language Experience")
-                    .whyItMatters(String.format("Experience with %d languages shows willingness to learn new technologies.", 
+                    .whyItMatters(templates.render("strong-signals.multi-language",
                             metrics.getActivityMetrics().getPrimaryLanguages().size()))
                     .build());
         }
@@ -336,9 +306,9 @@ public class AIInsightService {
         
         // Third thing: Portfolio depth
         if (metrics.getActivityMetrics().getTotalStars() > 50) {
-            notices.add(String.format("✓ Community validation - %d stars across projects", metrics.getActivityMetrics().getTotalStars()));
+            notices.add(templates.render("recruiter-notice.community-validation", metrics.getActivityMetrics().getTotalStars()));
         } else if (metrics.getActivityMetrics().getPublicRepositories() >= 10) {
-            notices.add(String.format("○ %d repositories - needs clearer flagship project", metrics.getActivityMetrics().getPublicRepositories()));
+            notices.add(templates.render("recruiter-notice.repository-count", metrics.getActivityMetrics().getPublicRepositories()));
         } else {
             notices.add("⚠ Limited portfolio - needs more substantial projects");
         }
@@ -432,20 +402,6 @@ public class AIInsightService {
                 .build();
     }
     
-    private AnalysisResponse.UiUxEvaluation generateUiUxEvaluation() {
-        return AnalysisResponse.UiUxEvaluation.builder()
-                .uiThemeAssessment("Professional")
-                .layoutClarity("Clear")
-                .designConsistency("High")
-                .improvementSuggestions(Arrays.asList(
-                        "Add micro-animations for better user engagement",
-                        "Implement skeleton loading states",
-                        "Ensure mobile responsiveness",
-                        "Add dark mode support"
-                ))
-                .build();
-    }
-    
     private AnalysisResponse.ThirtyDayActionPlan generateActionPlan(AnalysisResponse.ProfileMetrics metrics) {
         int score = metrics.getOverallScore();
         
@@ -496,8 +452,7 @@ public class AIInsightService {
     }
     
     private String generateResumeSummary(AnalysisResponse.ProfileMetrics metrics) {
-        return String.format("GitHub-active developer with %d public repositories across %s. " +
-                "Demonstrated proficiency in %s with %d community stars. %s contributor with a focus on %s.",
+        return templates.render("resume-summary",
                 metrics.getActivityMetrics().getPublicRepositories(),
                 String.join(", ", metrics.getActivityMetrics().getPrimaryLanguages()),
                 metrics.getActivityMetrics().getPrimaryLanguages().isEmpty() ? "multiple technologies" : 
@@ -507,34 +462,6 @@ public class AIInsightService {
                 metrics.getOverallScore() >= 70 ? "production-ready code and best practices" : "continuous learning and skill development");
     }
     
-    private List<String> getRecommendedPages() {
-        return Arrays.asList(
-                "Landing Page (GitHub URL Input)",
-                "Dashboard Page (Score + Charts + Insights)",
-                "Repository Detail Page",
-                "Comparison Page (Optional Innovation)",
-                "About / Methodology Page"
-        );
-    }
-    
-    private List<String> getRecommendedAppFlow() {
-        return Arrays.asList(
-                "User enters GitHub URL",
-                "Backend validates and fetches data",
-                "Scoring engine calculates metrics",
-                "AI generates structured insights",
-                "Dashboard renders results in sections"
-        );
-    }
-    
-    private List<String> getRecommendedNextSteps() {
-        return List.of(
-                "Ensure all repositories have comprehensive READMEs with setup instructions",
-                "Create at least one flagship project that demonstrates end-to-end skills",
-                "Add live deployment links to showcase working applications"
-        );
-    }
-    
     private AnalysisResponse.ImpactAndDiscoverability generateImpactAndDiscoverability(AnalysisResponse.ProfileMetrics metrics) {
         String businessRelevance;
         String communityValidation;
@@ -555,11 +482,11 @@ public class AIInsightService {
         int totalForks = metrics.getActivityMetrics().getTotalForks();
         
         if (totalStars >= 100 || totalForks >= 20) {
-            communityValidation = String.format("Strong - %d stars, %d forks show community interest", totalStars, totalForks);
+            communityValidation = templates.render("community-validation.strong", totalStars, totalForks);
         } else if (totalStars >= 20 || totalForks >= 5) {
-            communityValidation = String.format("Moderate - %d stars, %d forks indicate some recognition", totalStars, totalForks);
+            communityValidation = templates.render("community-validation.moderate", totalStars, totalForks);
         } else {
-            communityValidation = String.format("Low - %d stars, %d forks suggest limited external validation", totalStars, totalForks);
+            communityValidation = templates.render("community-validation.low", totalStars, totalForks);
         }
         
         // Production Readiness
@@ -627,7 +554,7 @@ public class AIInsightService {
             if (gaps.isEmpty()) {
                 reason = "Portfolio needs significant improvement across multiple areas";
             } else {
-                reason = String.format("Not shortlist-ready due to: %s", String.join(", ", gaps));
+                reason = templates.render("recruiter-verdict.not-shortlist-ready", String.join(", ", gaps));
             }
         }
         
@@ -637,33 +564,6 @@ public class AIInsightService {
                 .build();
     }
     
-    private Map<String, List<String>> getRecommendedFolderStructure() {
-        Map<String, List<String>> structure = new HashMap<>();
-        
-        structure.put("backend", Arrays.asList(
-                "controller/",
-                "service/",
-                "client/",
-                "model/",
-                "dto/",
-                "config/",
-                "util/",
-                "exception/"
-        ));
-        
-        structure.put("frontend", Arrays.asList(
-                "src/pages/",
-                "src/components/",
-                "src/layouts/",
-                "src/services/",
-                "src/hooks/",
-                "src/utils/",
-                "src/assets/"
-        ));
-        
-        return structure;
-    }
-    
     // ===== POLISH FEATURES =====
     
     private String generateFlagshipProject(AnalysisResponse.ProfileMetrics metrics) {
@@ -677,7 +577,7 @@ public class AIInsightService {
         String topRepo = topRepos.get(0);
         String repoName = topRepo.split(" ")[0]; // Extract repo name
         
-        return String.format("⭐ Recommended Flagship: %s", repoName);
+        return templates.render("flagship-project", repoName);
     }
     
     private String generateConfidenceLevel(AnalysisResponse.ProfileMetrics metrics) {
@@ -709,8 +609,7 @@ public class AIInsightService {
         scores.entrySet().stream()
                 .sorted(Map.Entry.comparingByValue())
                 .limit(3)
-                .forEach(entry -> priorities.add(String.format("Improve %s (Current: %d/100)", 
-                        entry.getKey(), entry.getValue())));
+                .forEach(entry -> priorities.add(templates.render("fix-priority", entry.getKey(), entry.getValue())));
         
         return priorities;
     }
@@ -745,8 +644,7 @@ public class AIInsightService {
             professionalRepos = (int) (totalRepos * 0.1); // 10% meet standards
         }
         
-        String message = String.format("Only %d out of %d repositories meet professional standards", 
-                professionalRepos, totalRepos);
+        String message = templates.render("completeness-stats.message", professionalRepos, totalRepos);
         
         return AnalysisResponse.CompletenessStats.builder()
                 .professionalRepos(professionalRepos)
@@ -813,23 +711,19 @@ public class AIInsightService {
         
         switch (focusArea) {
             case "Impact":
-                message = String.format("If one production-ready project is built and deployed, impact score could increase to %d+, raising overall grade to %s.", 
-                        targetValue, projectedGrade);
+                message = templates.render("score-simulation.impact", targetValue, projectedGrade);
                 break;
             case "Documentation":
-                 message = String.format("If you add professional READMEs with setup instructions to your top 3 repos, documentation score improves to %d+, raising overall grade to %s.", 
-                        targetValue, projectedGrade);
+                 message = templates.render("score-simulation.documentation", targetValue, projectedGrade);
                 break;
             case "Technical Depth":
-                 message = String.format("If you add unit tests and CI/CD configuration to your flagship project, technical depth improves to %d+, raising overall grade to %s.", 
-                        targetValue, projectedGrade);
+                 message = templates.render("score-simulation.technical-depth", targetValue, projectedGrade);
                 break;
             case "Activity":
-                 message = String.format("If you maintain consistent contribution streak for 2 weeks, activity score improves to %d+, raising overall grade to %s.", 
-                        targetValue, projectedGrade);
+                 message = templates.render("score-simulation.activity", targetValue, projectedGrade);
                 break;
             default:
-                 message = String.format("If %s improves from %d to %d+, overall score could reach %d (%s).",
+                 message = templates.render("score-simulation.other",
                         focusArea, currentValue, targetValue, projectedScore, projectedGrade);
         }
         
@@ -898,8 +792,7 @@ public class AIInsightService {
         
         if (weakest != null) {
             String label = metrics.getOverallScore() >= 65 ? "Primary Optimization Area" : "🚨 Most Critical Weakness";
-            return String.format("%s: %s (%d/100)", 
-                    label, weakest.getKey(), weakest.getValue());
+            return templates.render("weakest-dimension", label, weakest.getKey(), weakest.getValue());
         }
         
         return "No critical weaknesses identified";
@@ -1025,12 +918,11 @@ public class AIInsightService {
         
         // Improved logic: less harsh, more nuanced
         if (languages.size() == 1) {
-            return String.format("🎯 Clear Primary Stack (%s)", languages.get(0));
+            return templates.render("language-focus.single", languages.get(0));
         } else if (languages.size() == 2) {
-            return String.format("🎯 Focused Dual-Stack (%s, %s)", languages.get(0), languages.get(1));
+            return templates.render("language-focus.dual", languages.get(0), languages.get(1));
         } else if (languages.size() == 3) {
-            return String.format("🔧 Multi-Stack Engineer (%s, %s, %s)", 
-                    languages.get(0), languages.get(1), languages.get(2));
+            return templates.render("language-focus.triple", languages.get(0), languages.get(1), languages.get(2));
         } else if (languages.size() <= 5) {
             return "🧪 Exploratory Profile (diverse tech exposure)";
         } else {
@@ -1085,11 +977,11 @@ public class AIInsightService {
         double avgCommitsPerRepo = (double) estimatedTotalCommits / totalRepos;
         
         if (avgCommitsPerRepo < 3) {
-            return String.format("⚠ Shallow project depth (avg %.1f commits/repo)", avgCommitsPerRepo);
+            return templates.render("commit-quality.shallow", avgCommitsPerRepo);
         } else if (avgCommitsPerRepo >= 20) {
-            return String.format("✅ Healthy project iteration depth (avg %.1f commits/repo)", avgCommitsPerRepo);
+            return templates.render("commit-quality.healthy", avgCommitsPerRepo);
         } else {
-            return String.format("📊 Moderate project depth (avg %.1f commits/repo)", avgCommitsPerRepo);
+            return templates.render("commit-quality.moderate", avgCommitsPerRepo);
         }
     }
     
@@ -1109,9 +1001,9 @@ public class AIInsightService {
                 long months = monthsDiff % 12;
                 
                 if (years > 0) {
-                    return String.format("📅 Account Age: %d years, %d months", years, months);
+                    return templates.render("profile-age.years", years, months);
                 } else {
-                    return String.format("📅 Account Age: %d months", months);
+                    return templates.render("profile-age.months", months);
                 }
             } catch (Exception e) {
                 log.warn("Failed to parse created at date: {}", createdAtStr);
@@ -1145,29 +1037,29 @@ public class AIInsightService {
                 recency = "1 day ago";
                 status = "✅";
             } else if (daysDiff <= 7) {
-                recency = String.format("%d days ago", daysDiff);
+                recency = templates.render("last-activity.days", daysDiff);
                 status = "✅";
             } else if (daysDiff <= 14) {
-                recency = String.format("%d days ago", daysDiff);
+                recency = templates.render("last-activity.days", daysDiff);
                 status = "✅";
             } else if (daysDiff <= 30) {
-                recency = String.format("%d days ago", daysDiff);
+                recency = templates.render("last-activity.days", daysDiff);
                 status = "⚠";
             } else if (daysDiff <= 90) {
                 long weeks = daysDiff / 7;
-                recency = String.format("%d weeks ago", weeks);
+                recency = templates.render("last-activity.weeks", weeks);
                 status = "⚠";
             } else if (daysDiff <= 180) {
                 long months = daysDiff / 30;
-                recency = String.format("%d months ago", months);
+                recency = templates.render("last-activity.months", months);
                 status = "⚠";
             } else {
                 long months = daysDiff / 30;
-                recency = String.format("%d+ months ago", months);
+                recency = templates.render("last-activity.many-months", months);
                 status = "❌";
             }
             
-            return String.format("⏰ Last Activity: %s %s", recency, status);
+            return templates.render("last-activity.summary", recency, status);
         } catch (Exception e) {
             // Fallback to heuristic if parsing fails
             return "⏰ Last Activity: Recently";
@@ -0,0 +1,118 @@
+package org.miniproject.githubprofileanalyzer.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.miniproject.githubprofileanalyzer.exception.GitHubApiException;
+import org.miniproject.githubprofileanalyzer.exception.GitHubRateLimitException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer instrumentation of the analysis pipeline:
+ * <ul>
+ *   <li>{@code analysis.stage} timers for calculateMetrics, generateInsights and serialization, tagged by outcome</li>
+ *   <li>{@code analysis.errors} counters for failed requests, tagged by cause</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class AnalysisMetrics {
+    
+    public static final String CALCULATE_METRICS = "calculateMetrics";
+    public static final String GENERATE_INSIGHTS = "generateInsights";
+    public static final String SERIALIZATION = "serialization";
+    
+    private final MeterRegistry meterRegistry;
+    
+    /**
+     * Times the stage from subscription until it emits, fails or is cancelled. Outcomes are taken from the
+     * signals rather than doFinally, which reports a cancel when an operator downstream cancels after the value.
+     */
+    public <T> Mono<T> timeStage(String stage, Mono<T> mono) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            AtomicBoolean recorded = new AtomicBoolean();
+            return mono
+                    .doOnSuccess(value -> stop(sample, recorded, stage, "success"))
+                    .doOnError(e -> stop(sample, recorded, stage, "error"))
+                    .doOnCancel(() -> stop(sample, recorded, stage, "cancelled"));
+        });
+    }
+    
+    public <T> T timeStage(String stage, Supplier<T> work) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = work.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(stageTimer(stage, outcome));
+        }
+    }
+    
+    public void recordStage(String stage, long nanos) {
+        stageTimer(stage, "success").record(nanos, TimeUnit.NANOSECONDS);
+    }
+    
+    public void recordError(Throwable error) {
+        Counter.builder("analysis.errors")
+                .description("Failed analysis requests")
+                .tag("cause", causeOf(error))
+                .register(meterRegistry)
+                .increment();
+    }
+    
+    /**
+     * Coarse, fixed set of causes so the counter keeps a bounded number of series
+     */
+    static String causeOf(Throwable error) {
+        if (error instanceof GitHubRateLimitException) {
+            return "rate_limited";
+        }
+        if (error instanceof MethodArgumentNotValidException) {
+            return "validation";
+        }
+        if (error instanceof GitHubApiException) {
+            Throwable cause = error.getCause();
+            if (cause == null) {
+                return "invalid_request";
+            }
+            if (cause instanceof WebClientResponseException.NotFound) {
+                return "not_found";
+            }
+            if (cause instanceof WebClientResponseException) {
+                return "upstream_status";
+            }
+            if (cause instanceof WebClientRequestException) {
+                return "upstream_unreachable";
+            }
+            return "upstream_other";
+        }
+        return "internal";
+    }
+    
+    private Timer stageTimer(String stage, String outcome) {
+        return Timer.builder("analysis.stage")
+                .description("Duration of the analysis pipeline stages")
+                .tag("stage", stage)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+    
+    private void stop(Timer.Sample sample, AtomicBoolean recorded, String stage, String outcome) {
+        if (recorded.compareAndSet(false, true)) {
+            sample.stop(stageTimer(stage, outcome));
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package org.miniproject.githubprofileanalyzer.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.miniproject.githubprofileanalyzer.dto.AnalysisResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bounded, TTL-based cache of complete analyses keyed by normalized username.
+ * Each entry weighs its serialized bytes, JSON plus gzip, since analyses of profiles with many repositories
+ * are many times larger than the rest; Caffeine evicts with W-TinyLFU once their total passes the maximum size.
+ * Each analysis is stored with its default response body (FieldSelection.DEFAULT, without the static sections)
+ * already serialized and gzipped, so a cache hit is written out as is, without Jackson or compression on the
+ * request path.
+ * Entries expire a TTL after the analysis was computed, which for restored snapshots is before the put.
+ * A snapshot restored after its TTL is put back stale: it is still served, for one more TTL at most, while
+ * the caller refreshes it, so a restart does not send the first request of every user to GitHub.
+ */
+@Component
+public class AnalysisResultCache {
+    
+    private final Cache<String, SerializedAnalysis> cache;
+    private final ObjectWriter writer;
+    private final Duration ttl;
+    
+    private final LongAdder identityBytesServed = new LongAdder();
+    private final LongAdder gzipBytesServed = new LongAdder();
+    // Uncompressed size of the responses that went out gzipped, for the compression ratio
+    private final LongAdder gzipSourceBytesServed = new LongAdder();
+    private final LongAdder serializationNanosSaved = new LongAdder();
+    
+    public AnalysisResultCache(ObjectMapper objectMapper,
+                               @Value("${analysis.cache.ttl:10m}") Duration ttl,
+                               @Value("${analysis.cache.max-size:64MB}") DataSize maxSize) {
+        this.writer = objectMapper.writer(FieldSelection.DEFAULT.filters());
+        this.ttl = ttl;
+        this.cache = Caffeine.newBuilder()
+                .expireAfter(new AnalysisExpiry())
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, SerializedAnalysis entry) -> entry.json().length + entry.gzip().length)
+                .recordStats()
+                .build();
+    }
+    
+    public SerializedAnalysis get(String username) {
+        return cache.getIfPresent(key(username));
+    }
+    
+    /**
+     * Serializes and compresses the analysis once, caches it and returns the cached entry
+     */
+    public SerializedAnalysis put(String username, AnalysisResponse response) {
+        long start = System.nanoTime();
+        byte[] json = serialize(response);
+        byte[] gzip = gzip(json);
+        SerializedAnalysis entry = new SerializedAnalysis(response, json, gzip, System.nanoTime() - start, Instant.now());
+        
+        cache.put(key(username), entry);
+        return entry;
+    }
+    
+    /**
+     * Puts back an analysis serialized earlier, e.g. from a snapshot, stale if it is older than the TTL;
+     * ignored if a newer analysis of the user is cached
+     */
+    public boolean restore(String username, SerializedAnalysis entry) {
+        SerializedAnalysis current = cache.asMap().merge(key(username), entry,
+                (existing, restored) -> existing.analyzedAt().isAfter(restored.analyzedAt()) ? existing : restored);
+        return current == entry;
+    }
+    
+    /**
+     * Whether the analysis is older than the TTL, so it should be recomputed even though it is still cached
+     */
+    public boolean isStale(SerializedAnalysis entry) {
+        return !remainingLifetime(entry).isPositive();
+    }
+    
+    /**
+     * Records a response written from the entry's bytes; a cache hit saved the entry's serialization time
+     */
+    public void recordServed(SerializedAnalysis entry, boolean gzipped, boolean cacheHit) {
+        if (gzipped) {
+            gzipBytesServed.add(entry.gzip().length);
+            gzipSourceBytesServed.add(entry.json().length);
+        } else {
+            identityBytesServed.add(entry.json().length);
+        }
+        if (cacheHit) {
+            serializationNanosSaved.add(entry.serializationNanos());
+        }
+    }
+    
+    public void evict(String username) {
+        cache.invalidate(key(username));
+    }
+    
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+    
+    public Map<String, Object> getStats() {
+        // Evictions of the weighted policy are applied asynchronously; settle them so the sizes are current
+        cache.cleanUp();
+        CacheStats stats = cache.stats();
+        long gzipBytes = gzipBytesServed.sum();
+        long identityBytes = identityBytesServed.sum();
+        
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("entries", cache.estimatedSize());
+        result.put("bytes", cache.policy().eviction().orElseThrow().weightedSize().orElse(0));
+        result.put("hitRate", stats.hitRate());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("evictions", stats.evictionCount());
+        result.put("bytesServed", identityBytes + gzipBytes);
+        result.put("bytesServedIdentity", identityBytes);
+        result.put("bytesServedGzip", gzipBytes);
+        result.put("compressionRatio", gzipBytes == 0 ? 0.0 : (double) gzipSourceBytesServed.sum() / gzipBytes);
+        result.put("serializationTimeSavedMs", Duration.ofNanos(serializationNanosSaved.sum()).toMillis());
+        return result;
+    }
+    
+    private byte[] serialize(AnalysisResponse response) {
+        try {
+            return writer.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize analysis", e);
+        }
+    }
+    
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+    
+    private Duration remainingLifetime(SerializedAnalysis entry) {
+        return ttl.minus(Duration.between(entry.analyzedAt(), Instant.now()));
+    }
+    
+    private class AnalysisExpiry implements Expiry<String, SerializedAnalysis> {
+        
+        @Override
+        public long expireAfterCreate(String key, SerializedAnalysis entry, long currentTime) {
+            Duration remaining = remainingLifetime(entry);
+            // Only restored snapshots arrive stale; they stay until refreshed, or one TTL if nobody asks
+            return remaining.isPositive() ? remaining.toNanos() : ttl.toNanos();
+        }
+        
+        @Override
+        public long expireAfterUpdate(String key, SerializedAnalysis entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+        
+        @Override
+        public long expireAfterRead(String key, SerializedAnalysis entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+    
+    // GitHub usernames are case-insensitive
+    private String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,224 @@
+package org.miniproject.githubprofileanalyzer.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.miniproject.githubprofileanalyzer.client.GitHubApiClient;
+import org.miniproject.githubprofileanalyzer.dto.AnalysisResponse;
+import org.miniproject.githubprofileanalyzer.dto.BatchAnalysisItem;
+import org.miniproject.githubprofileanalyzer.exception.GitHubApiException;
+import org.miniproject.githubprofileanalyzer.util.GitHubUrlValidator;
+import org.miniproject.githubprofileanalyzer.util.SingleFlight;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Entry point for a full profile analysis: serves recent results from the cache,
+ * otherwise runs scoring and insight generation and caches the outcome.
+ * Concurrent requests for the same user share a single in-flight computation.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnalysisService {
+    
+    private static final TypeReference<LinkedHashMap<String, Object>> JSON_OBJECT = new TypeReference<>() {};
+    
+    private final GitHubApiClient gitHubApiClient;
+    private final ScoringService scoringService;
+    private final AIInsightService aiInsightService;
+    private final AnalysisResultCache analysisResultCache;
+    private final ObjectMapper objectMapper;
+    private final AnalysisMetrics analysisMetrics;
+    private final AnalysisSnapshotStore analysisSnapshotStore;
+    
+    private final SingleFlight<String, SerializedAnalysis> inFlightAnalyses = new SingleFlight<>();
+    private final SingleFlight<String, AnalysisResponse> inFlightProjections = new SingleFlight<>();
+    
+    @Value("${analysis.batch.concurrency:4}")
+    private int batchConcurrency;
+    
+    @Value("${analysis.batch.max-size:5000}")
+    private int maxBatchSize;
+    
+    public Mono<AnalysisResponse> analyze(String username) {
+        return Mono.defer(() -> {
+            SerializedAnalysis cached = cached(username);
+            if (cached != null) {
+                log.info("Serving cached analysis for user: {}", username);
+                return Mono.just(cached.response());
+            }
+            return computeAndCache(username).map(SerializedAnalysis::response);
+        });
+    }
+    
+    /**
+     * Complete analysis as its cached response body, for writing out without serializing it again.
+     * The bytes handed out are recorded in the cache stats under the given encoding.
+     */
+    public Mono<SerializedAnalysis> analyzeSerialized(String username, boolean gzipped) {
+        return Mono.defer(() -> {
+            SerializedAnalysis cached = cached(username);
+            if (cached != null) {
+                analysisResultCache.recordServed(cached, gzipped, true);
+                log.info("Serving cached analysis for user: {}", username);
+                return Mono.just(cached);
+            }
+            return computeAndCache(username)
+                    .doOnNext(entry -> analysisResultCache.recordServed(entry, gzipped, false));
+        });
+    }
+    
+    /**
+     * The cached analysis of the user, if any. A stale one, restored from a snapshot older than the TTL, is
+     * still served, and recomputed in the background so the next request gets a fresh one.
+     */
+    private SerializedAnalysis cached(String username) {
+        SerializedAnalysis cached = analysisResultCache.get(username);
+        if (cached != null && analysisResultCache.isStale(cached)) {
+            // Off the request thread, which on a virtual thread would otherwise join the fan-out itself;
+            // concurrent requests share one refresh through the in-flight analyses
+            computeAndCache(username)
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .subscribe(null, e -> log.warn("Refreshing the stale analysis of {} failed: {}", username, e.getMessage()));
+        }
+        return cached;
+    }
+    
+    private Mono<SerializedAnalysis> computeAndCache(String username) {
+        return inFlightAnalyses.execute(username.toLowerCase(Locale.ROOT), () ->
+                analysisMetrics.timeStage(AnalysisMetrics.CALCULATE_METRICS, scoringService.calculateMetricsReactive(username))
+                        .map(metrics -> analysisMetrics.timeStage(AnalysisMetrics.GENERATE_INSIGHTS,
+                                () -> aiInsightService.generateInsights(metrics)))
+                        .map(response -> {
+                            SerializedAnalysis entry = analysisResultCache.put(username, response);
+                            analysisMetrics.recordStage(AnalysisMetrics.SERIALIZATION, entry.serializationNanos());
+                            analysisSnapshotStore.append(username, entry);
+                            return entry;
+                        }));
+    }
+    
+    /**
+     * Analysis restricted to the selected fields. A cached complete analysis is reused as is, since only the
+     * selected properties get serialized; otherwise only the selected insights are generated, from as little
+     * GitHub data as they need, and the partial result is not cached.
+     */
+    public Mono<AnalysisResponse> analyze(String username, FieldSelection fields) {
+        if (fields.isComplete()) {
+            return analyze(username);
+        }
+        
+        return Mono.defer(() -> {
+            SerializedAnalysis cached = cached(username);
+            if (cached != null) {
+                log.info("Serving cached analysis for user: {}", username);
+                return Mono.just(cached.response());
+            }
+            
+            String key = username.toLowerCase(Locale.ROOT) + "?fields=" + fields.key();
+            return inFlightProjections.execute(key, () -> {
+                if (fields.fetch() == FieldSelection.Fetch.NONE) {
+                    return Mono.fromSupplier(() -> analysisMetrics.timeStage(AnalysisMetrics.GENERATE_INSIGHTS,
+                            () -> aiInsightService.generateInsights(null, fields)));
+                }
+                return analysisMetrics.timeStage(AnalysisMetrics.CALCULATE_METRICS,
+                                scoringService.calculateMetricsReactive(username, fields.fetch()))
+                        .map(metrics -> analysisMetrics.timeStage(AnalysisMetrics.GENERATE_INSIGHTS,
+                                () -> aiInsightService.generateInsights(metrics, fields)));
+            });
+        });
+    }
+    
+    /**
+     * Progressive variant of analyze for Server-Sent Events. The GitHub profile is pushed as soon as the
+     * user lookup returns, then the metrics, the score breakdown and one event per InsightSection once the
+     * full analysis is done, and finally a "complete" event. A failure ends the stream with an "error" event.
+     */
+    public Flux<ServerSentEvent<Object>> analyzeProgressively(String username) {
+        // Both are subscribed eagerly: the profile lookup does not wait for the analysis and vice versa
+        Flux<ServerSentEvent<Object>> profile = gitHubApiClient.fetchUserProfile(username)
+                .map(user -> event("profile", user))
+                .flux();
+        Flux<ServerSentEvent<Object>> analysis = analyze(username)
+                .flatMapMany(this::analysisEvents);
+        
+        return Flux.mergeSequential(profile, analysis)
+                .concatWith(Mono.fromSupplier(() -> event("complete", Map.of("username", username))))
+                .onErrorResume(e -> {
+                    log.warn("Progressive analysis failed for user {}: {}", username, e.getMessage());
+                    analysisMetrics.recordError(e);
+                    String message = e instanceof GitHubApiException ? e.getMessage() : "Failed to analyze profile";
+                    return Mono.just(event("error", Map.of("error", "GitHub API Error", "message", message)));
+                });
+    }
+    
+    private Flux<ServerSentEvent<Object>> analysisEvents(AnalysisResponse response) {
+        AnalysisResponse.ProfileMetrics metrics = response.getProfileMetrics();
+        Map<String, Object> fields = objectMapper.convertValue(response, JSON_OBJECT);
+        
+        return Flux.concat(
+                Flux.just(event("metrics", metrics), event("scoreBreakdown", metrics.getScoreBreakdown())),
+                Flux.fromArray(InsightSection.values())
+                        .map(section -> event(section.getEventName(), section.slice(fields))));
+    }
+    
+    private static ServerSentEvent<Object> event(String name, Object data) {
+        return ServerSentEvent.builder(data).event(name).build();
+    }
+    
+    /**
+     * Analyzes a batch of usernames or profile URLs, at most {@code analysis.batch.concurrency} at a time.
+     * Items are emitted in completion order as soon as each one finishes; inputs that resolve to an
+     * already seen username are skipped, and failures are reported per item instead of aborting the batch.
+     */
+    public Flux<BatchAnalysisItem> analyzeBatch(List<String> inputs) {
+        if (inputs.size() > maxBatchSize) {
+            throw new GitHubApiException("Batch too large: at most " + maxBatchSize + " usernames per request");
+        }
+        
+        return Flux.defer(() -> {
+            Set<String> seen = new HashSet<>();
+            return Flux.fromIterable(inputs)
+                    .flatMap(input -> analyzeBatchItem(input, seen), batchConcurrency);
+        });
+    }
+    
+    private Mono<BatchAnalysisItem> analyzeBatchItem(String input, Set<String> seen) {
+        String username;
+        try {
+            username = GitHubUrlValidator.extractUsername(input);
+        } catch (GitHubApiException e) {
+            analysisMetrics.recordError(e);
+            return Mono.just(BatchAnalysisItem.builder().input(input).error(e.getMessage()).build());
+        }
+        
+        if (!seen.add(username.toLowerCase(Locale.ROOT))) {
+            return Mono.empty();
+        }
+        
+        return analyze(username)
+                .map(result -> BatchAnalysisItem.builder().input(input).username(username).result(result).build())
+                .onErrorResume(e -> {
+                    log.warn("Batch analysis failed for user {}: {}", username, e.getMessage());
+                    analysisMetrics.recordError(e);
+                    String message = e instanceof GitHubApiException ? e.getMessage() : "Failed to analyze profile";
+                    return Mono.just(BatchAnalysisItem.builder().input(input).username(username).error(message).build());
+                });
+    }
+    
+    public int inFlightCount() {
+        return inFlightAnalyses.inFlightCount() + inFlightProjections.inFlightCount();
+    }
+}
@@ -0,0 +1,570 @@
+package org.miniproject.githubprofileanalyzer.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.miniproject.githubprofileanalyzer.dto.AnalysisResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Append-only, memory-mapped log of cached analyses, so a restart comes back with a warm AnalysisResultCache
+ * instead of sending its first wave of traffic to GitHub. Every analysis that enters the cache is appended and
+ * an in-memory index points each username at its latest record. On startup the log is scanned once and the
+ * latest analysis of every user is put back in the cache, as long as it is within
+ * {@code analysis.snapshot.retention}; one older than the cache TTL comes back stale and is refreshed on its
+ * first request. Superseded, evicted and out-of-retention records are dropped by periodic compaction, which
+ * copies the live records into a fresh file and swaps it in.
+ *
+ * <p>Callers only queue their changes: a single writer thread applies them to the mapped file, so a request
+ * thread never waits for a page fault, a remap or compaction. Compaction copies the live records without
+ * holding the lock and only takes it to append what was written meanwhile and swap the files. Every mapping
+ * of the old file is released before the swap, since Windows cannot replace a file that is still mapped.
+ *
+ * <p>Record layout: magic, body length and CRC32 of the body (ints), then the body: type (byte), analyzedAt
+ * epoch millis and serialization nanos (longs), username length (short) and UTF-8 bytes, and for an analysis
+ * the gzipped response JSON exactly as it is served. Every append is followed by a zero int, so a scan stops
+ * at the end of the log; a record cut off by a crash fails its length or checksum test and ends the scan too.
+ */
+@Slf4j
+@Component
+public class AnalysisSnapshotStore {
+
+    private static final int MAGIC = 0x414E5331; // "ANS1"
+    private static final int HEADER_BYTES = 12;
+    private static final int FIXED_BODY_BYTES = 1 + 8 + 8 + 2;
+    private static final int END_MARKER_BYTES = 4;
+    private static final byte ANALYSIS = 1;
+    private static final byte TOMBSTONE = 2;
+    private static final String LOG_FILE = "analyses.log";
+    private static final MethodHandle UNMAP = unmapHandle();
+
+    private final AnalysisResultCache analysisResultCache;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Path file;
+    private final Duration retention;
+    private final int initialCapacity;
+    private final Duration compactionInterval;
+    private final double compactionGarbageRatio;
+
+    // All guarded by this; changed on the writer thread, and by compaction when it swaps the files
+    private final Map<String, Location> index = new HashMap<>();
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    // Every mapping of the current file, the ones replaced by a larger mapping included: a compaction may still
+    // be copying from them, so they are only released when the file is swapped or closed
+    private final List<MappedByteBuffer> mappings = new ArrayList<>();
+    private int position;
+    // Bumped by clear(), which lets new records overwrite the ones a running compaction is copying
+    private int generation;
+    private volatile boolean active;
+    private ExecutorService writer;
+    private ScheduledExecutorService compactionScheduler;
+    private final ReentrantLock compaction = new ReentrantLock();
+
+    public AnalysisSnapshotStore(AnalysisResultCache analysisResultCache,
+                                 ObjectMapper objectMapper,
+                                 @Value("${analysis.snapshot.enabled:true}") boolean enabled,
+                                 @Value("${analysis.snapshot.directory:data/snapshots}") String directory,
+                                 @Value("${analysis.snapshot.retention:7d}") Duration retention,
+                                 @Value("${analysis.snapshot.initial-size:8MB}") DataSize initialSize,
+                                 @Value("${analysis.snapshot.compaction-interval:10m}") Duration compactionInterval,
+                                 @Value("${analysis.snapshot.compaction-garbage-ratio:0.5}") double compactionGarbageRatio) {
+        this.analysisResultCache = analysisResultCache;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.file = Path.of(directory).resolve(LOG_FILE);
+        this.retention = retention;
+        this.initialCapacity = (int) Math.min(Integer.MAX_VALUE, Math.max(1024, initialSize.toBytes()));
+        this.compactionInterval = compactionInterval;
+        this.compactionGarbageRatio = compactionGarbageRatio;
+    }
+
+    /**
+     * Maps the log, rebuilds the index and restores the cache. The store is an optimization, so a log that
+     * cannot be opened only disables it.
+     */
+    @PostConstruct
+    public synchronized void open() {
+        if (!enabled) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(file.getParent());
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            map(channel.size());
+        } catch (IOException e) {
+            log.warn("Analysis snapshots disabled, cannot open {}: {}", file, e.getMessage());
+            return;
+        }
+        active = true;
+        writer = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("analysis-snapshot-writer").daemon().factory());
+
+        scan();
+        int restored = restore();
+        log.info("Restored {} of {} analysis snapshots from {} in {} ms", restored, index.size(), file,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        if (compactionInterval.isPositive()) {
+            compactionScheduler = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("analysis-snapshot-compaction").daemon().factory());
+            compactionScheduler.scheduleWithFixedDelay(this::compactQuietly,
+                    compactionInterval.toMillis(), compactionInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes what is still queued, then closes and unmaps the log
+     */
+    @PreDestroy
+    public void close() {
+        if (compactionScheduler != null) {
+            compactionScheduler.shutdownNow();
+        }
+        if (writer != null) {
+            writer.shutdown();
+            try {
+                if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                    log.warn("Analysis snapshot writes still queued at shutdown are dropped");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // A compaction still copying from the mappings is waited for before they are released
+        compaction.lock();
+        try {
+            synchronized (this) {
+                if (!active) {
+                    return;
+                }
+                active = false;
+                buffer.force();
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    log.warn("Failed to close analysis snapshot log {}: {}", file, e.getMessage());
+                }
+                unmapAll();
+            }
+        } finally {
+            compaction.unlock();
+        }
+    }
+
+    /**
+     * Queues the cached form of an analysis; it supersedes any earlier snapshot of the user
+     */
+    public void append(String username, SerializedAnalysis entry) {
+        String key = key(username);
+        submit(() -> write(ANALYSIS, key, entry.analyzedAt().toEpochMilli(), entry.serializationNanos(), entry.gzip()));
+    }
+
+    /**
+     * Records that the user's analysis was evicted, so a restart does not bring it back
+     */
+    public void remove(String username) {
+        String key = key(username);
+        submit(() -> {
+            if (index.containsKey(key)) {
+                write(TOMBSTONE, key, System.currentTimeMillis(), 0, new byte[0]);
+            }
+        });
+    }
+
+    /**
+     * Empties the log; records past the new end marker are never read again and compaction drops them
+     */
+    public void clear() {
+        submit(() -> {
+            index.clear();
+            position = 0;
+            buffer.putInt(0, 0);
+            generation++;
+        });
+    }
+
+    /**
+     * Waits until every change queued so far has been applied to the log
+     */
+    public void flush() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.submit(() -> {
+            }).get();
+        } catch (RejectedExecutionException e) {
+            // Closed, nothing left to wait for
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Rewrites the log with only the latest retained record of every user, once at least
+     * {@code analysis.snapshot.compaction-garbage-ratio} of it is dead. Returns at once if a compaction is
+     * already running.
+     */
+    public void compact() throws IOException {
+        if (!compaction.tryLock()) {
+            return;
+        }
+        try {
+            compactExclusively();
+        } finally {
+            compaction.unlock();
+        }
+    }
+
+    // One at a time, since the swap releases the mappings another compaction would be copying from
+    private void compactExclusively() throws IOException {
+        List<Map.Entry<String, Location>> live;
+        MappedByteBuffer source;
+        int end;
+        int startGeneration;
+        synchronized (this) {
+            if (!active) {
+                return;
+            }
+            index.values().removeIf(location -> !isRetained(location));
+
+            long liveBytes = index.values().stream().mapToLong(Location::length).sum();
+            long garbageBytes = position - liveBytes;
+            if (garbageBytes == 0 || garbageBytes < position * compactionGarbageRatio) {
+                return;
+            }
+
+            // In log order, which is also the order the index is rebuilt in. Copies, since the writer keeps
+            // changing the index entries while the records are copied
+            live = index.entrySet().stream()
+                    .map(entry -> Map.entry(entry.getKey(), entry.getValue()))
+                    .sorted(Comparator.comparingInt(entry -> entry.getValue().offset()))
+                    .toList();
+            source = buffer;
+            end = position;
+            startGeneration = generation;
+        }
+
+        long start = System.nanoTime();
+        Path compactFile = file.resolveSibling(LOG_FILE + ".compact");
+        Map<String, Location> compacted = new HashMap<>();
+        int offset = 0;
+        try (FileChannel out = FileChannel.open(compactFile, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            // Records before the end seen above never change, so they are copied while appends carry on
+            for (Map.Entry<String, Location> entry : live) {
+                Location location = entry.getValue();
+                writeFully(out, source.slice(location.offset(), location.length()));
+                compacted.put(entry.getKey(), new Location(offset, location.length(), location.analyzedAtMillis()));
+                offset += location.length();
+            }
+            out.force(true);
+
+            synchronized (this) {
+                if (!active || generation != startGeneration) {
+                    Files.deleteIfExists(compactFile);
+                    return;
+                }
+                swap(out, compactFile, end, offset, compacted, start);
+            }
+        }
+    }
+
+    /**
+     * Appends the records written since the copy started, swaps the compacted file in and moves the index
+     * over to it. Called with the lock held; the tail is usually a handful of records.
+     */
+    private void swap(FileChannel out, Path compactFile, int end, int copied, Map<String, Location> compacted,
+                      long start) throws IOException {
+        int tail = position - end;
+        writeFully(out, buffer.slice(end, tail));
+        writeFully(out, ByteBuffer.allocate(END_MARKER_BYTES));
+        // Not forced: the tail is as durable as any other append to the mapped log
+
+        // Windows refuses to replace a file that is open or mapped, so the old one is closed and unmapped first.
+        // The page cache keeps what was written through the mappings, and if the move fails the old file is
+        // mapped again, leaving the store as it was.
+        channel.close();
+        unmapAll();
+        try {
+            Files.move(compactFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            reopen(position + END_MARKER_BYTES);
+            throw e;
+        }
+        reopen((long) copied + tail + END_MARKER_BYTES);
+
+        // Users written since the copy started point into the tail, the others at their copied record;
+        // users dropped meanwhile are left out, their tombstones came along with the tail
+        Map<String, Location> moved = new HashMap<>();
+        index.forEach((key, location) -> {
+            Location target = location.offset() >= end
+                    ? new Location(copied + location.offset() - end, location.length(), location.analyzedAtMillis())
+                    : compacted.get(key);
+            if (target != null) {
+                moved.put(key, target);
+            }
+        });
+
+        int previousSize = position;
+        index.clear();
+        index.putAll(moved);
+        position = copied + tail;
+        log.info("Compacted analysis snapshots from {} to {} bytes ({} records) in {} ms", previousSize, position,
+                index.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", active);
+        stats.put("records", index.size());
+        stats.put("logBytes", position);
+        stats.put("liveBytes", index.values().stream().mapToLong(Location::length).sum());
+        return stats;
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Analysis snapshot compaction failed: {}", e.getMessage());
+        }
+    }
+
+    private void submit(Runnable change) {
+        if (!active) {
+            return;
+        }
+        try {
+            writer.execute(() -> {
+                synchronized (this) {
+                    if (active) {
+                        change.run();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Closing, the change is dropped like any other write after close
+        }
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            out.write(bytes);
+        }
+    }
+
+    private void write(byte type, String key, long analyzedAtMillis, long serializationNanos, byte[] payload) {
+        byte[] name = key.getBytes(StandardCharsets.UTF_8);
+        int bodyLength = FIXED_BODY_BYTES + name.length + payload.length;
+        int recordLength = HEADER_BYTES + bodyLength;
+        try {
+            ensureCapacity(recordLength + END_MARKER_BYTES);
+        } catch (IOException | IllegalStateException e) {
+            log.warn("Analysis snapshot of {} not written: {}", key, e.getMessage());
+            return;
+        }
+
+        int offset = position;
+        buffer.putInt(offset + recordLength, 0);
+        buffer.put(offset + HEADER_BYTES, type)
+                .putLong(offset + HEADER_BYTES + 1, analyzedAtMillis)
+                .putLong(offset + HEADER_BYTES + 9, serializationNanos)
+                .putShort(offset + HEADER_BYTES + 17, (short) name.length)
+                .put(offset + HEADER_BYTES + FIXED_BODY_BYTES, name)
+                .put(offset + HEADER_BYTES + FIXED_BODY_BYTES + name.length, payload);
+        buffer.putInt(offset + 4, bodyLength)
+                .putInt(offset + 8, checksum(offset + HEADER_BYTES, bodyLength))
+                .putInt(offset, MAGIC);
+        position = offset + recordLength;
+
+        if (type == ANALYSIS) {
+            index.put(key, new Location(offset, recordLength, analyzedAtMillis));
+        } else {
+            index.remove(key);
+        }
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        long required = (long) position + bytes;
+        if (required <= buffer.capacity()) {
+            return;
+        }
+        if (required > Integer.MAX_VALUE) {
+            throw new IllegalStateException("snapshot log is full");
+        }
+        // Mapping past the end of the file grows it
+        long capacity = Math.min(Integer.MAX_VALUE, Math.max(required, 2L * buffer.capacity()));
+        map(capacity);
+    }
+
+    private void reopen(long size) throws IOException {
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            map(size);
+        } catch (IOException e) {
+            active = false;
+            log.warn("Analysis snapshots disabled, cannot reopen {}: {}", file, e.getMessage());
+            throw e;
+        }
+    }
+
+    private void map(long size) throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(initialCapacity, size));
+        mappings.add(buffer);
+    }
+
+    /**
+     * Releases every mapping of the log now rather than when the buffers are collected. Nothing may touch
+     * them afterwards, which the lock and the single compaction guarantee.
+     */
+    private void unmapAll() {
+        if (UNMAP != null) {
+            for (MappedByteBuffer mapping : mappings) {
+                try {
+                    UNMAP.invoke(mapping);
+                } catch (Throwable e) {
+                    log.debug("Analysis snapshot mapping left to the garbage collector: {}", e.getMessage());
+                }
+            }
+        }
+        mappings.clear();
+    }
+
+    // sun.misc.Unsafe.invokeCleaner, the only way to unmap a MappedByteBuffer before it is collected
+    private static MethodHandle unmapHandle() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(field.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.debug("Analysis snapshot mappings cannot be released early: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void scan() {
+        int offset = 0;
+        int limit = buffer.capacity();
+        while (offset + HEADER_BYTES <= limit && buffer.getInt(offset) == MAGIC) {
+            int bodyLength = buffer.getInt(offset + 4);
+            if (bodyLength < FIXED_BODY_BYTES || bodyLength > limit - offset - HEADER_BYTES
+                    || buffer.getInt(offset + 8) != checksum(offset + HEADER_BYTES, bodyLength)) {
+                break;
+            }
+
+            int body = offset + HEADER_BYTES;
+            byte[] name = new byte[buffer.getShort(body + 17)];
+            buffer.get(body + FIXED_BODY_BYTES, name);
+            String key = new String(name, StandardCharsets.UTF_8);
+            if (buffer.get(body) == ANALYSIS) {
+                index.put(key, new Location(offset, HEADER_BYTES + bodyLength, buffer.getLong(body + 1)));
+            } else {
+                index.remove(key);
+            }
+            offset += HEADER_BYTES + bodyLength;
+        }
+
+        if (offset + END_MARKER_BYTES <= limit && buffer.getInt(offset) != 0) {
+            log.warn("Discarding incomplete analysis snapshot at offset {} of {}", offset, file);
+            buffer.putInt(offset, 0);
+        }
+        position = offset;
+    }
+
+    private int restore() {
+        int restored = 0;
+        for (Map.Entry<String, Location> entry : index.entrySet()) {
+            if (!isRetained(entry.getValue())) {
+                continue;
+            }
+            try {
+                if (analysisResultCache.restore(entry.getKey(), read(entry.getValue()))) {
+                    restored++;
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("Skipping unreadable analysis snapshot of {}: {}", entry.getKey(), e.getMessage());
+            }
+        }
+        return restored;
+    }
+
+    private SerializedAnalysis read(Location location) throws IOException {
+        int body = location.offset() + HEADER_BYTES;
+        long serializationNanos = buffer.getLong(body + 9);
+        int payloadOffset = body + FIXED_BODY_BYTES + buffer.getShort(body + 17);
+        byte[] gzip = new byte[location.offset() + location.length() - payloadOffset];
+        buffer.get(payloadOffset, gzip);
+
+        byte[] json;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            json = in.readAllBytes();
+        }
+        // The stored bytes are served as they are; the object is only for the SSE, batch and fields= paths
+        AnalysisResponse response = StaticSections.attach(objectMapper.readValue(json, AnalysisResponse.class));
+        return new SerializedAnalysis(response, json, gzip, serializationNanos, Instant.ofEpochMilli(location.analyzedAtMillis()));
+    }
+
+    private boolean isRetained(Location location) {
+        return Instant.ofEpochMilli(location.analyzedAtMillis()).plus(retention).isAfter(Instant.now());
+    }
+
+    private int checksum(int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    // Same normalization as AnalysisResultCache
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    private record Location(int offset, int length, long analyzedAtMillis) {
+    }
+}
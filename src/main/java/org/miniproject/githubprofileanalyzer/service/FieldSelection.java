@@ -0,0 +1,188 @@
+package org.miniproject.githubprofileanalyzer.service;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.miniproject.githubprofileanalyzer.exception.GitHubApiException;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Subset of an AnalysisResponse requested with {@code fields=}. Names are the JSON property names of
+ * AnalysisResponse, plus those of ProfileMetrics (overallScore, grade, ...) which stay nested under
+ * profileMetrics in the output. The selection decides which insights are generated, how much of the
+ * GitHub data has to be fetched, and which properties are serialized.
+ */
+public final class FieldSelection {
+
+    /**
+     * How much upstream data the selected fields need, from nothing to fully enriched repositories
+     */
+    public enum Fetch {
+        NONE,
+        USER,
+        REPOSITORIES,
+        ENRICHED
+    }
+
+    public static final String RESPONSE_FILTER = "analysisResponseFields";
+    public static final String METRICS_FILTER = "profileMetricsFields";
+
+    private static final String PROFILE_METRICS = "profileMetrics";
+
+    // Insight fields default to ENRICHED: most of them are derived from the score breakdown
+    private static final Map<String, Fetch> INSIGHT_FIELDS = new HashMap<>();
+    static {
+        for (InsightSection section : InsightSection.values()) {
+            section.getFields().forEach(field -> INSIGHT_FIELDS.put(field, Fetch.ENRICHED));
+        }
+        StaticSections.FIELDS.forEach(field -> INSIGHT_FIELDS.put(field, Fetch.NONE));
+        INSIGHT_FIELDS.put("profileAge", Fetch.USER);
+        INSIGHT_FIELDS.put("lastCommitRecency", Fetch.USER);
+        INSIGHT_FIELDS.put("top3StrongestRepos", Fetch.REPOSITORIES);
+        INSIGHT_FIELDS.put("languageFocus", Fetch.REPOSITORIES);
+    }
+
+    // README and test/deployment detection come from enrichment, so every score needs it
+    private static final Map<String, Fetch> METRIC_FIELDS = Map.of(
+            "username", Fetch.USER,
+            "lastActivityDate", Fetch.USER,
+            "createdAt", Fetch.USER,
+            "pinnedRepoSummary", Fetch.USER,
+            "topRepoSummary", Fetch.REPOSITORIES,
+            "overallScore", Fetch.ENRICHED,
+            "grade", Fetch.ENRICHED,
+            "scoreBreakdown", Fetch.ENRICHED,
+            "activityMetrics", Fetch.ENRICHED);
+
+    public static final FieldSelection ALL = new FieldSelection(INSIGHT_FIELDS.keySet(), METRIC_FIELDS.keySet());
+
+    /** What POST /api/analyze returns unless asked otherwise: everything but the static sections */
+    public static final FieldSelection DEFAULT = ALL.withoutStaticSections();
+
+    private final Set<String> insightFields;
+    private final Set<String> metricFields;
+    private final Fetch fetch;
+
+    private FieldSelection(Collection<String> insightFields, Collection<String> metricFields) {
+        // Sorted, so equal selections share a key whatever order they were requested in
+        this.insightFields = new TreeSet<>(insightFields);
+        this.metricFields = new TreeSet<>(metricFields);
+
+        Fetch required = Fetch.NONE;
+        for (String field : this.insightFields) {
+            required = max(required, INSIGHT_FIELDS.get(field));
+        }
+        for (String field : this.metricFields) {
+            required = max(required, METRIC_FIELDS.get(field));
+        }
+        this.fetch = required;
+    }
+
+    /**
+     * Parses the names passed with {@code fields=}; each entry may itself be a comma separated list
+     */
+    public static FieldSelection parse(Collection<String> fields) {
+        Set<String> insightFields = new TreeSet<>();
+        Set<String> metricFields = new TreeSet<>();
+
+        for (String entry : fields) {
+            for (String name : entry.split(",")) {
+                String field = name.trim();
+                if (field.isEmpty()) {
+                    continue;
+                }
+                if (field.equals(PROFILE_METRICS)) {
+                    metricFields.addAll(METRIC_FIELDS.keySet());
+                } else if (INSIGHT_FIELDS.containsKey(field)) {
+                    insightFields.add(field);
+                } else if (METRIC_FIELDS.containsKey(field)) {
+                    metricFields.add(field);
+                } else {
+                    throw new GitHubApiException("Unknown field: " + field);
+                }
+            }
+        }
+
+        if (insightFields.isEmpty() && metricFields.isEmpty()) {
+            throw new GitHubApiException("At least one field must be selected");
+        }
+        return new FieldSelection(insightFields, metricFields);
+    }
+
+    /**
+     * Whether the insight with this AnalysisResponse property name is selected
+     */
+    public boolean includes(String field) {
+        return insightFields.contains(field);
+    }
+
+    public boolean includesMetrics() {
+        return !metricFields.isEmpty();
+    }
+
+    /**
+     * Whether the selection needs the complete analysis. Static sections are shared constants that cost
+     * nothing to include, so a selection leaving only them out still counts.
+     */
+    public boolean isComplete() {
+        return metricFields.size() == METRIC_FIELDS.size() && INSIGHT_FIELDS.keySet().stream()
+                .allMatch(field -> insightFields.contains(field) || StaticSections.FIELDS.contains(field));
+    }
+    
+    /**
+     * The same selection minus the static sections, for clients that fetch those once from their own endpoint
+     */
+    public FieldSelection withoutStaticSections() {
+        Set<String> remaining = new TreeSet<>(insightFields);
+        StaticSections.FIELDS.forEach(remaining::remove);
+        return new FieldSelection(remaining, metricFields);
+    }
+
+    public Fetch fetch() {
+        return fetch;
+    }
+
+    /**
+     * Canonical form of the selection, e.g. for keying in-flight work
+     */
+    public String key() {
+        return String.join(",", insightFields) + ";" + String.join(",", metricFields);
+    }
+
+    /**
+     * Jackson filters that serialize only the selected properties, see ResponseFilter and MetricsFilter
+     */
+    public FilterProvider filters() {
+        Set<String> responseFields = new TreeSet<>(insightFields);
+        if (includesMetrics()) {
+            responseFields.add(PROFILE_METRICS);
+        }
+        return new SimpleFilterProvider()
+                .addFilter(RESPONSE_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(responseFields))
+                .addFilter(METRICS_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(metricFields));
+    }
+
+    private static Fetch max(Fetch a, Fetch b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
+    /**
+     * Mix-in for AnalysisResponse; without a registered filter every property is written as usual
+     */
+    @JsonFilter(RESPONSE_FILTER)
+    public interface ResponseFilter {
+    }
+
+    /**
+     * Mix-in for AnalysisResponse.ProfileMetrics, see ResponseFilter
+     */
+    @JsonFilter(METRICS_FILTER)
+    public interface MetricsFilter {
+    }
+}
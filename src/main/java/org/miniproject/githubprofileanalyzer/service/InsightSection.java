@@ -0,0 +1,50 @@
+package org.miniproject.githubprofileanalyzer.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Groups of AnalysisResponse fields that are pushed as one event by the progressive analysis stream.
+ * The field names are the JSON property names of AnalysisResponse.
+ */
+public enum InsightSection {
+    
+    ASSESSMENT("assessment", "executiveSummary", "overallAssessment", "whatRecruitersNoticeFirst", "strongSignals",
+            "redFlags", "repositoryStrategy", "impactAndDiscoverability", "recruiterVerdict"),
+    POLISH("polish", "flagshipProject", "confidenceLevel", "fixPriorities", "completenessStats", "scoreSimulation"),
+    INTELLIGENCE("intelligence", "top3StrongestRepos", "weakestDimension", "skillCategories", "activityTrend",
+            "recruiterRiskSummary"),
+    MATURITY("maturity", "contributionConsistency", "languageFocus", "repositoryNoiseCount", "engineeringMaturity",
+            "commitQuality"),
+    EVALUATION("evaluation", "profileAge", "lastCommitRecency", "techStackEvaluation", "uiUxEvaluation"),
+    RECOMMENDATIONS("recommendations", "recommendedPages", "recommendedAppFlow", "recommendedFolderStructure",
+            "thirtyDayActionPlan", "threeImmediateHighImpactFixes", "resumeReadyProfileSummary");
+    
+    private final String eventName;
+    private final List<String> fields;
+    
+    InsightSection(String eventName, String... fields) {
+        this.eventName = eventName;
+        this.fields = List.of(fields);
+    }
+    
+    public String getEventName() {
+        return eventName;
+    }
+    
+    public List<String> getFields() {
+        return fields;
+    }
+    
+    /**
+     * Picks this section's fields out of a serialized AnalysisResponse
+     */
+    public Map<String, Object> slice(Map<String, Object> response) {
+        Map<String, Object> section = new LinkedHashMap<>();
+        for (String field : fields) {
+            section.put(field, response.get(field));
+        }
+        return section;
+    }
+}
@@ -0,0 +1,54 @@
+package org.miniproject.githubprofileanalyzer.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.miniproject.githubprofileanalyzer.util.TextTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Insight copy loaded from a properties file on the classpath and compiled once at startup,
+ * so wording changes don't touch AIInsightService and no pattern is parsed per request.
+ */
+@Slf4j
+@Component
+public class InsightTemplates {
+
+    public static final String DEFAULT_LOCATION = "insight-templates.properties";
+
+    private final Map<String, TextTemplate> templates = new HashMap<>();
+
+    public InsightTemplates(@Value("${insight.templates.location:" + DEFAULT_LOCATION + "}") String location) {
+        Properties properties = new Properties();
+        try (Reader reader = new InputStreamReader(new ClassPathResource(location).getInputStream(), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load insight templates from " + location, e);
+        }
+
+        // A malformed template fails startup instead of the first request that uses it
+        properties.stringPropertyNames().forEach(key -> templates.put(key, TextTemplate.compile(properties.getProperty(key))));
+        log.info("Compiled {} insight templates from {}", templates.size(), location);
+    }
+
+    public String render(String key, Object... args) {
+        return get(key).render(args);
+    }
+
+    public TextTemplate get(String key) {
+        TextTemplate template = templates.get(key);
+        if (template == null) {
+            throw new IllegalArgumentException("Unknown insight template: " + key);
+        }
+        return template;
+    }
+}
@@ -0,0 +1,161 @@
+package org.miniproject.githubprofileanalyzer.service;
+
+import org.miniproject.githubprofileanalyzer.dto.AnalysisResponse;
+import org.miniproject.githubprofileanalyzer.dto.OrganizationAnalysisProgress;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * Running statistics over the members of an organization. Each member's metrics are folded in and dropped,
+ * so memory depends on the number of distinct languages and on topN, not on the size of the organization:
+ * scores are kept as a 0..100 histogram and each ranking as a bounded min-heap.
+ * Not thread-safe; the pipeline feeds it from one subscriber.
+ */
+final class OrganizationAggregate {
+
+    private static final Map<String, ToIntFunction<AnalysisResponse.ProfileMetrics>> DIMENSIONS = dimensions();
+
+    private record Ranked(String username, int score) {
+    }
+
+    // Lowest score (then the later username) at the head, so it is the one evicted
+    private static final Comparator<Ranked> WORST_FIRST = Comparator.comparingInt(Ranked::score)
+            .thenComparing(Ranked::username, Comparator.reverseOrder());
+
+    private final String organization;
+    private final int topN;
+
+    private final int[] scoreCounts = new int[101];
+    private final Map<String, Integer> grades = new TreeMap<>();
+    private final Map<String, Integer> languages = new HashMap<>();
+    private final Map<String, PriorityQueue<Ranked>> rankings = new LinkedHashMap<>();
+    private long scoreSum;
+    private int analyzed;
+    private int failed;
+
+    OrganizationAggregate(String organization, int topN) {
+        this.organization = organization;
+        this.topN = topN;
+        DIMENSIONS.keySet().forEach(dimension -> rankings.put(dimension, new PriorityQueue<>(WORST_FIRST)));
+    }
+
+    void add(AnalysisResponse.ProfileMetrics metrics) {
+        analyzed++;
+        int score = Math.max(0, Math.min(100, metrics.getOverallScore()));
+        scoreCounts[score]++;
+        scoreSum += score;
+        if (metrics.getGrade() != null) {
+            grades.merge(metrics.getGrade(), 1, Integer::sum);
+        }
+        if (metrics.getActivityMetrics() != null && metrics.getActivityMetrics().getPrimaryLanguages() != null) {
+            metrics.getActivityMetrics().getPrimaryLanguages().forEach(language -> languages.merge(language, 1, Integer::sum));
+        }
+
+        DIMENSIONS.forEach((dimension, scoreOf) -> {
+            if (dimension.equals("overallScore") || metrics.getScoreBreakdown() != null) {
+                offer(rankings.get(dimension), new Ranked(metrics.getUsername(), scoreOf.applyAsInt(metrics)));
+            }
+        });
+    }
+
+    void addFailure() {
+        failed++;
+    }
+
+    OrganizationAnalysisProgress snapshot(boolean complete, String error) {
+        OrganizationAnalysisProgress.OrganizationAnalysisProgressBuilder progress = OrganizationAnalysisProgress.builder()
+                .organization(organization)
+                .complete(complete)
+                .membersAnalyzed(analyzed)
+                .membersFailed(failed)
+                .error(error);
+        if (analyzed == 0) {
+            return progress.build();
+        }
+
+        return progress
+                .averageScore(Math.round(scoreSum * 10.0 / analyzed) / 10.0)
+                .medianScore(percentile(50))
+                .p90Score(percentile(90))
+                .scoreDistribution(scoreDistribution())
+                .gradeDistribution(new LinkedHashMap<>(grades))
+                .languageMix(languageMix())
+                .topMembers(topMembers())
+                .build();
+    }
+
+    private void offer(PriorityQueue<Ranked> ranking, Ranked candidate) {
+        if (ranking.size() < topN) {
+            ranking.add(candidate);
+        } else if (topN > 0 && WORST_FIRST.compare(candidate, ranking.peek()) > 0) {
+            ranking.poll();
+            ranking.add(candidate);
+        }
+    }
+
+    // Nearest-rank percentile over the score histogram
+    private int percentile(int percent) {
+        long rank = Math.max(1, (long) Math.ceil(analyzed * percent / 100.0));
+        long seen = 0;
+        for (int score = 0; score < scoreCounts.length; score++) {
+            seen += scoreCounts[score];
+            if (seen >= rank) {
+                return score;
+            }
+        }
+        return 100;
+    }
+
+    private Map<String, Integer> scoreDistribution() {
+        Map<String, Integer> buckets = new LinkedHashMap<>();
+        for (int low = 0; low < 100; low += 10) {
+            int high = low == 90 ? 100 : low + 9;
+            int count = 0;
+            for (int score = low; score <= high; score++) {
+                count += scoreCounts[score];
+            }
+            buckets.put(low + "-" + high, count);
+        }
+        return buckets;
+    }
+
+    private Map<String, Integer> languageMix() {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        languages.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> mix.put(entry.getKey(), entry.getValue()));
+        return mix;
+    }
+
+    private Map<String, List<OrganizationAnalysisProgress.RankedMember>> topMembers() {
+        Map<String, List<OrganizationAnalysisProgress.RankedMember>> top = new LinkedHashMap<>();
+        rankings.forEach((dimension, ranking) -> {
+            List<Ranked> best = new ArrayList<>(ranking);
+            best.sort(WORST_FIRST.reversed());
+            top.put(dimension, best.stream()
+                    .map(ranked -> new OrganizationAnalysisProgress.RankedMember(ranked.username(), ranked.score()))
+                    .toList());
+        });
+        return top;
+    }
+
+    private static Map<String, ToIntFunction<AnalysisResponse.ProfileMetrics>> dimensions() {
+        Map<String, ToIntFunction<AnalysisResponse.ProfileMetrics>> dimensions = new LinkedHashMap<>();
+        dimensions.put("overallScore", AnalysisResponse.ProfileMetrics::getOverallScore);
+        dimensions.put("documentationQuality", metrics -> metrics.getScoreBreakdown().getDocumentationQuality());
+        dimensions.put("codeStructure", metrics -> metrics.getScoreBreakdown().getCodeStructure());
+        dimensions.put("activityConsistency", metrics -> metrics.getScoreBreakdown().getActivityConsistency());
+        dimensions.put("repositoryOrganization", metrics -> metrics.getScoreBreakdown().getRepositoryOrganization());
+        dimensions.put("projectImpact", metrics -> metrics.getScoreBreakdown().getProjectImpact());
+        dimensions.put("technicalDepth", metrics -> metrics.getScoreBreakdown().getTechnicalDepth());
+        return dimensions;
+    }
+}
@@ -0,0 +1,122 @@
+package org.miniproject.githubprofileanalyzer.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.miniproject.githubprofileanalyzer.client.GitHubApiClient;
+import org.miniproject.githubprofileanalyzer.dto.AnalysisResponse;
+import org.miniproject.githubprofileanalyzer.dto.OrganizationAnalysisProgress;
+import org.miniproject.githubprofileanalyzer.exception.GitHubApiException;
+import org.miniproject.githubprofileanalyzer.exception.GitHubRateLimitException;
+import org.miniproject.githubprofileanalyzer.model.GitHubUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Scores every public member of an organization and streams aggregate statistics as members complete.
+ * Members are listed page by page and scored at most {@code analysis.org.concurrency} at a time, all through
+ * the rate-limited GitHub client; only the running aggregate is kept, never the per-member results.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrganizationAnalysisService {
+
+    private final GitHubApiClient gitHubApiClient;
+    private final ScoringService scoringService;
+    private final AnalysisResultCache analysisResultCache;
+    private final AnalysisMetrics analysisMetrics;
+
+    @Value("${analysis.org.concurrency:4}")
+    private int concurrency;
+
+    @Value("${analysis.org.top-n:10}")
+    private int topN;
+
+    @Value("${analysis.org.progress-every:25}")
+    private int progressEvery;
+
+    @Value("${analysis.org.progress-interval:2s}")
+    private Duration progressInterval;
+
+    private record MemberOutcome(AnalysisResponse.ProfileMetrics metrics, Throwable error) {
+    }
+
+    /**
+     * Emits the aggregate after every {@code analysis.org.progress-every} members, or sooner when
+     * {@code analysis.org.progress-interval} passes, and a final complete one. Failed members are counted and
+     * skipped; once the rate limit is exhausted, or the member listing fails part way, the pipeline stops and
+     * the final aggregate reports why. An organization that cannot be listed at all fails the stream.
+     */
+    public Flux<OrganizationAnalysisProgress> analyzeOrganization(String org) {
+        return Flux.defer(() -> {
+            OrganizationAggregate aggregate = new OrganizationAggregate(org, topN);
+            AtomicInteger listed = new AtomicInteger();
+            AtomicReference<String> stoppedBy = new AtomicReference<>();
+
+            Flux<GitHubUser> members = gitHubApiClient.streamOrganizationMembers(org)
+                    .doOnNext(member -> listed.incrementAndGet())
+                    .onErrorResume(e -> {
+                        if (listed.get() == 0) {
+                            return Mono.error(e);
+                        }
+                        stoppedBy.compareAndSet(null, e.getMessage());
+                        return Mono.empty();
+                    });
+
+            return members
+                    .flatMap(member -> scoreMember(member.getLogin()), concurrency)
+                    .takeUntil(outcome -> {
+                        if (outcome.error() instanceof GitHubRateLimitException) {
+                            stoppedBy.compareAndSet(null, outcome.error().getMessage());
+                            return true;
+                        }
+                        return false;
+                    })
+                    // Fair mode: only request outcomes a downstream demand can hold, so a slow client is not
+                    // overflowed when the interval flushes a partial batch
+                    .bufferTimeout(progressEvery, progressInterval, true)
+                    .map(outcomes -> {
+                        outcomes.forEach(outcome -> {
+                            if (outcome.metrics() != null) {
+                                aggregate.add(outcome.metrics());
+                            } else {
+                                aggregate.addFailure();
+                            }
+                        });
+                        return aggregate.snapshot(false, null);
+                    })
+                    .concatWith(Mono.fromSupplier(() -> {
+                        OrganizationAnalysisProgress result = aggregate.snapshot(true, stoppedBy.get());
+                        log.info("Organization analysis of {} finished: {} members analyzed, {} failed",
+                                org, result.getMembersAnalyzed(), result.getMembersFailed());
+                        return result;
+                    }));
+        });
+    }
+
+    /**
+     * A member analyzed recently is taken from the analysis cache; the rest only go through scoring,
+     * since the aggregate needs no insight sections
+     */
+    private Mono<MemberOutcome> scoreMember(String username) {
+        SerializedAnalysis cached = analysisResultCache.get(username);
+        if (cached != null && cached.response().getProfileMetrics() != null) {
+            return Mono.just(new MemberOutcome(cached.response().getProfileMetrics(), null));
+        }
+
+        return analysisMetrics.timeStage(AnalysisMetrics.CALCULATE_METRICS, scoringService.calculateMetricsReactive(username))
+                .map(metrics -> new MemberOutcome(metrics, null))
+                .onErrorResume(e -> {
+                    log.warn("Organization member analysis failed for user {}: {}", username, e.getMessage());
+                    analysisMetrics.recordError(e);
+                    return Mono.just(new MemberOutcome(null, e instanceof GitHubApiException ? e
+                            : new GitHubApiException("Failed to analyze profile", e)));
+                });
+    }
+}
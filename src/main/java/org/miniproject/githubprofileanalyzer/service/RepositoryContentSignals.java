@@ -0,0 +1,74 @@
+package org.miniproject.githubprofileanalyzer.service;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * README / tests / CI / deployment signals derived from the file paths of a repository tree
+ */
+public record RepositoryContentSignals(boolean hasReadme, boolean hasTests, boolean hasCi, boolean hasDeployment) {
+    
+    public static final RepositoryContentSignals NONE = new RepositoryContentSignals(false, false, false, false);
+    
+    private static final Set<String> TEST_DIRECTORIES = Set.of("test", "tests", "__tests__", "spec", "specs", "testing");
+    
+    private static final Set<String> CI_FILES = Set.of(
+            ".gitlab-ci.yml", ".travis.yml", "jenkinsfile", "azure-pipelines.yml", "bitbucket-pipelines.yml");
+    
+    private static final Set<String> DEPLOYMENT_FILES = Set.of(
+            "dockerfile", "docker-compose.yml", "docker-compose.yaml", "compose.yml", "compose.yaml",
+            "procfile", "netlify.toml", "vercel.json", "fly.toml", "render.yaml", "app.yaml",
+            "serverless.yml", "serverless.yaml", "now.json", "_redirects");
+    
+    private static final Set<String> DEPLOYMENT_DIRECTORIES = Set.of("k8s", "kubernetes", "helm", "deploy", "deployment");
+    
+    public static RepositoryContentSignals fromPaths(Iterable<String> paths) {
+        boolean readme = false;
+        boolean tests = false;
+        boolean ci = false;
+        boolean deployment = false;
+        
+        for (String path : paths) {
+            String lower = path.toLowerCase(Locale.ROOT);
+            int lastSlash = lower.lastIndexOf('/');
+            String fileName = lower.substring(lastSlash + 1);
+            
+            if (!readme && fileName.startsWith("readme")
+                    && (lastSlash < 0 || lower.startsWith("docs/") || lower.startsWith(".github/"))) {
+                readme = true;
+            }
+            if (!tests && (isTestFile(fileName) || hasDirectory(lower, TEST_DIRECTORIES))) {
+                tests = true;
+            }
+            if (!ci && (lower.startsWith(".github/workflows/") || lower.startsWith(".circleci/") || CI_FILES.contains(fileName))) {
+                ci = true;
+            }
+            if (!deployment && (DEPLOYMENT_FILES.contains(fileName) || hasDirectory(lower, DEPLOYMENT_DIRECTORIES)
+                    || (lower.startsWith(".github/workflows/") && fileName.contains("deploy")))) {
+                deployment = true;
+            }
+            
+            if (readme && tests && ci && deployment) break;
+        }
+        
+        return new RepositoryContentSignals(readme, tests, ci, deployment);
+    }
+    
+    private static boolean isTestFile(String fileName) {
+        return fileName.endsWith("test.java") || fileName.endsWith("tests.java") || fileName.endsWith("test.kt")
+                || fileName.endsWith("_test.go") || fileName.endsWith("_test.py") || fileName.startsWith("test_")
+                || fileName.endsWith("_spec.rb") || fileName.contains(".test.") || fileName.contains(".spec.");
+    }
+    
+    private static boolean hasDirectory(String path, Set<String> directories) {
+        int start = 0;
+        int slash;
+        while ((slash = path.indexOf('/', start)) >= 0) {
+            if (directories.contains(path.substring(start, slash))) {
+                return true;
+            }
+            start = slash + 1;
+        }
+        return false;
+    }
+}
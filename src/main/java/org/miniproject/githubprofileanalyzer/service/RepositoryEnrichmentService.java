@@ -0,0 +1,150 @@
+package org.miniproject.githubprofileanalyzer.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.miniproject.githubprofileanalyzer.client.GitHubApiClient;
+import org.miniproject.githubprofileanalyzer.model.GitTree;
+import org.miniproject.githubprofileanalyzer.model.Repository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fills in the README / tests / CI / deployment flags of repositories.
+ * Each repository costs at most one recursive git tree request, and results are cached
+ * by tree SHA so an unchanged repository is never downloaded twice. Truncated trees are never cached. Repositories listed by the
+ * GraphQL backend arrive with the top of their tree, and cost no request unless their tests sit deeper.
+ */
+@Slf4j
+@Service
+public class RepositoryEnrichmentService {
+
+    private final GitHubApiClient gitHubApiClient;
+    private final int concurrency;
+    private final int maxRequestsPerAnalysis;
+
+    // fullName@pushedAt -> tree SHA, lets us skip the request entirely when nothing was pushed
+    private final Map<String, String> treeShaByRevision;
+    // tree SHA -> derived signals
+    private final Map<String, RepositoryContentSignals> signalsByTreeSha;
+
+    public RepositoryEnrichmentService(GitHubApiClient gitHubApiClient,
+                                       @Value("${github.enrichment.concurrency:8}") int concurrency,
+                                       @Value("${github.enrichment.max-requests:30}") int maxRequestsPerAnalysis,
+                                       @Value("${github.enrichment.cache-size:10000}") int cacheSize) {
+        this.gitHubApiClient = gitHubApiClient;
+        this.concurrency = concurrency;
+        this.maxRequestsPerAnalysis = maxRequestsPerAnalysis;
+        this.treeShaByRevision = lruMap(cacheSize);
+        this.signalsByTreeSha = lruMap(cacheSize);
+    }
+
+    /**
+     * Enriches repositories in stream order. Forks and empty repositories are passed through untouched,
+     * and once the per-analysis request budget is spent the remaining repositories keep their defaults.
+     * Repositories already enriched, e.g. from a snapshot, are skipped; the rest stay unenriched after a
+     * failure or with the budget spent, so a later analysis tries them again.
+     */
+    public Flux<Repository> enrich(Flux<Repository> repositories) {
+        return Flux.defer(() -> {
+            AtomicInteger budget = new AtomicInteger(maxRequestsPerAnalysis);
+            return repositories.flatMapSequential(repo -> enrich(repo, budget), concurrency);
+        });
+    }
+
+    private Mono<Repository> enrich(Repository repo, AtomicInteger budget) {
+        if (repo.isEnriched()) {
+            return Mono.just(repo);
+        }
+        if (repo.isFork() || repo.getSize() == 0 || repo.getDefaultBranch() == null || repo.getFullName() == null) {
+            repo.setEnriched(true);
+            return Mono.just(repo);
+        }
+
+        // Listed by the GraphQL backend with the top of its tree, which is trusted for the README, CI and
+        // deployment signals. Tests can sit at any depth, e.g. backend/src/test, so only found ones settle it.
+        RepositoryContentSignals shallow = repo.getContentPaths() == null
+                ? null : RepositoryContentSignals.fromPaths(repo.getContentPaths());
+        repo.setContentPaths(null);
+        if (shallow != null && shallow.hasTests()) {
+            return Mono.just(apply(repo, shallow));
+        }
+
+        String revision = repo.getFullName() + "@" + repo.getPushedAt();
+        String knownSha = treeShaByRevision.get(revision);
+        RepositoryContentSignals known = knownSha == null ? null : signalsByTreeSha.get(knownSha);
+        if (known != null) {
+            return Mono.just(apply(repo, known));
+        }
+
+        if (budget.getAndDecrement() <= 0) {
+            return Mono.just(partial(repo, shallow));
+        }
+
+        String[] ownerAndName = repo.getFullName().split("/", 2);
+        return gitHubApiClient.fetchRepositoryTree(ownerAndName[0], ownerAndName[1], repo.getDefaultBranch())
+                .map(tree -> {
+                    if (tree.isTruncated()) {
+                        // GitHub cut the listing short, so a missing file proves nothing. Keep what was found
+                        // but cache nothing, so the next analysis asks again instead of reusing partial signals.
+                        log.warn("Tree of {} is truncated, content signals may be incomplete", repo.getFullName());
+                        return partial(repo, RepositoryContentSignals.fromPaths(paths(tree)));
+                    }
+                    String sha = tree.getSha();
+                    RepositoryContentSignals signals = sha == null ? null : signalsByTreeSha.get(sha);
+                    if (signals == null) {
+                        signals = RepositoryContentSignals.fromPaths(paths(tree));
+                        if (sha != null) signalsByTreeSha.put(sha, signals);
+                    }
+                    if (sha != null) treeShaByRevision.put(revision, sha);
+                    return apply(repo, signals);
+                })
+                .onErrorResume(e -> {
+                    log.warn("Failed to fetch tree for {}: {}", repo.getFullName(), e.getMessage());
+                    return Mono.just(partial(repo, shallow));
+                });
+    }
+
+    private List<String> paths(GitTree tree) {
+        return tree.getTree().stream()
+                .map(GitTree.Entry::getPath)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private Repository apply(Repository repo, RepositoryContentSignals signals) {
+        repo.setHasReadme(signals.hasReadme());
+        repo.setHasTests(signals.hasTests());
+        repo.setHasCi(signals.hasCi());
+        repo.setHasDeployment(signals.hasDeployment());
+        repo.setEnriched(true);
+        return repo;
+    }
+
+    /**
+     * Applies signals from an incomplete listing, if any, but leaves the repository to be enriched again
+     */
+    private Repository partial(Repository repo, RepositoryContentSignals signals) {
+        if (signals != null) {
+            apply(repo, signals);
+            repo.setEnriched(false);
+        }
+        return repo;
+    }
+
+    private static <K, V> Map<K, V> lruMap(int maxEntries) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+}
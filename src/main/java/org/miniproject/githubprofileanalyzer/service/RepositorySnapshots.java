@@ -0,0 +1,123 @@
+package org.miniproject.githubprofileanalyzer.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.miniproject.githubprofileanalyzer.model.Repository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The enriched repositories of recently analyzed users, so a re-analysis only lists and enriches the
+ * repositories updated since, plus any that could not be enriched last time. A snapshot is replaced by a full listing once it is older than
+ * {@code github.repository-snapshot.max-age}, which also picks up changes that do not move updated_at.
+ */
+@Component
+public class RepositorySnapshots {
+    
+    /**
+     * Repositories in listing order (most recently updated first), with the public repository count of the
+     * user at the time, which tells whether repositories disappeared since
+     */
+    public record Snapshot(List<Repository> repositories, int publicRepos, LocalDateTime updatedUntil) {
+        
+        /**
+         * The changed repositories followed by the unchanged remainder of this snapshot
+         */
+        public List<Repository> merge(List<Repository> changed) {
+            Set<String> changedNames = new HashSet<>();
+            changed.forEach(repo -> changedNames.add(repo.getFullName()));
+            
+            List<Repository> merged = new ArrayList<>(changed.size() + repositories.size());
+            merged.addAll(changed);
+            for (Repository repo : repositories) {
+                if (!changedNames.contains(repo.getFullName())) {
+                    merged.add(repo);
+                }
+            }
+            return merged;
+        }
+        
+        /**
+         * Whether the merged listing accounts for the user's current repository count. A repository that was
+         * deleted, renamed or made private since the snapshot stays in the merge and breaks the equation.
+         */
+        public boolean isConsistent(List<Repository> merged, int currentPublicRepos) {
+            return merged.size() - repositories.size() == currentPublicRepos - publicRepos;
+        }
+    }
+    
+    private final Cache<String, Snapshot> snapshots;
+    
+    private final AtomicLong incremental = new AtomicLong();
+    private final AtomicLong full = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+    
+    public RepositorySnapshots(@Value("${github.repository-snapshot.max-age:7d}") Duration maxAge,
+                               @Value("${github.repository-snapshot.max-entries:1000}") long maxEntries) {
+        this.snapshots = Caffeine.newBuilder()
+                .expireAfterWrite(maxAge)
+                .maximumSize(maxEntries)
+                .build();
+    }
+    
+    public Snapshot get(String username) {
+        return snapshots.getIfPresent(key(username));
+    }
+    
+    /**
+     * Snapshots a listing; its newest updated_at is where the next re-analysis lists from
+     */
+    public void put(String username, List<Repository> repositories, int publicRepos) {
+        LocalDateTime updatedUntil = repositories.stream()
+                .map(Repository::getUpdatedAt)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(LocalDateTime.MIN);
+        snapshots.put(key(username), new Snapshot(List.copyOf(repositories), publicRepos, updatedUntil));
+    }
+    
+    public void evict(String username) {
+        snapshots.invalidate(key(username));
+    }
+    
+    public void evictAll() {
+        snapshots.invalidateAll();
+    }
+    
+    void recordIncremental() {
+        incremental.incrementAndGet();
+    }
+    
+    void recordFull() {
+        full.incrementAndGet();
+    }
+    
+    void recordFallback() {
+        fallbacks.incrementAndGet();
+    }
+    
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "entries", snapshots.estimatedSize(),
+                "incrementalListings", incremental.get(),
+                "fullListings", full.get(),
+                "inconsistentFallbacks", fallbacks.get()
+        );
+    }
+    
+    // GitHub usernames are case-insensitive
+    private String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
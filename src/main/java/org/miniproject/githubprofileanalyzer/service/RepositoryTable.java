@@ -0,0 +1,209 @@
+package org.miniproject.githubprofileanalyzer.service;
+
+import org.miniproject.githubprofileanalyzer.model.Repository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Column-oriented view of a user's or organization's repositories, holding only what scoring needs:
+ * primitive counters, epoch seconds, dictionary-encoded languages and one byte of flags per repository.
+ * Everything the scoring formulas derive from descriptions, topics and names is folded into the flags
+ * on add, so the Repository beans can be dropped as soon as they are added.
+ */
+public final class RepositoryTable {
+
+    // Stored next to the ScoringKernel content flags, which occupy the lower bits
+    static final int FORK = 1 << 7;
+
+    /** Marks a missing timestamp in the epoch-second columns */
+    public static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private static final Pattern SCRATCH_NAME_PATTERN = Pattern.compile(".*test.*|.*demo.*|.*temp.*");
+
+    private int size;
+    private String[] names;
+    private int[] stars;
+    private int[] forks;
+    private int[] sizes;
+    private long[] pushedAt;
+    private long[] createdAt;
+    private int[] languageIds;
+    private byte[] flags;
+
+    private final Map<String, Integer> languageDictionary = new HashMap<>();
+    private String[] languages = new String[16];
+
+    public RepositoryTable() {
+        this(16);
+    }
+
+    public RepositoryTable(int capacity) {
+        int initial = Math.max(capacity, 1);
+        names = new String[initial];
+        stars = new int[initial];
+        forks = new int[initial];
+        sizes = new int[initial];
+        pushedAt = new long[initial];
+        createdAt = new long[initial];
+        languageIds = new int[initial];
+        flags = new byte[initial];
+    }
+
+    public static RepositoryTable of(Collection<Repository> repositories) {
+        RepositoryTable table = new RepositoryTable(repositories.size());
+        repositories.forEach(table::add);
+        return table;
+    }
+
+    public void add(Repository repo) {
+        if (size == names.length) {
+            grow();
+        }
+
+        int row = size++;
+        names[row] = repo.getName();
+        stars[row] = repo.getStargazersCount();
+        forks[row] = repo.getForksCount();
+        sizes[row] = repo.getSize();
+        pushedAt[row] = epochSecond(repo.getPushedAt());
+        createdAt[row] = epochSecond(repo.getCreatedAt());
+        languageIds[row] = repo.getLanguage() == null ? -1 : languageId(repo.getLanguage());
+        flags[row] = (byte) ((repo.isFork() ? FORK : 0) | contentFlags(repo));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String name(int row) {
+        return names[row];
+    }
+
+    public int stars(int row) {
+        return stars[row];
+    }
+
+    public int forks(int row) {
+        return forks[row];
+    }
+
+    public int repositorySize(int row) {
+        return sizes[row];
+    }
+
+    /**
+     * Epoch seconds (UTC) of the last push, or NO_TIMESTAMP
+     */
+    public long pushedAt(int row) {
+        return pushedAt[row];
+    }
+
+    /**
+     * Epoch seconds (UTC) of creation, or NO_TIMESTAMP
+     */
+    public long createdAt(int row) {
+        return createdAt[row];
+    }
+
+    public String language(int row) {
+        int id = languageIds[row];
+        return id < 0 ? null : languages[id];
+    }
+
+    public boolean isFork(int row) {
+        return (flags[row] & FORK) != 0;
+    }
+
+    int languageId(int row) {
+        return languageIds[row];
+    }
+
+    /**
+     * Language dictionary indexed by languageId(row)
+     */
+    String[] languages() {
+        return languages;
+    }
+
+    /**
+     * ScoringKernel content flags of the row, without PUSHED_RECENTLY which depends on the clock
+     */
+    int contentFlags(int row) {
+        return flags[row] & ~FORK;
+    }
+
+    static int contentFlags(Repository repo) {
+        String description = repo.getDescription();
+        String name = repo.getName();
+        List<String> topics = repo.getTopics();
+
+        int flags = 0;
+        if (repo.isHasReadme() || (description != null && !description.isEmpty())) {
+            flags |= ScoringKernel.README_OR_DESCRIPTION;
+        }
+        if (description != null && description.length() > 20) flags |= ScoringKernel.GOOD_DESCRIPTION;
+        if (topics != null && !topics.isEmpty()) flags |= ScoringKernel.HAS_TOPICS;
+        if (isScratchName(name)) flags |= ScoringKernel.SCRATCH_NAME;
+        if (repo.isHasTests() || name.contains("test") || topics.contains("testing")) {
+            flags |= ScoringKernel.TEST_SIGNAL;
+        }
+        if (repo.isHasDeployment() || topics.contains("deployment") || topics.contains("production")) {
+            flags |= ScoringKernel.DEPLOYMENT_SIGNAL;
+        }
+        return flags;
+    }
+
+    /**
+     * Same answer as matching ".*test.*|.*demo.*|.*temp.*", without running the regex for ordinary names
+     */
+    static boolean isScratchName(String name) {
+        if (!name.contains("test") && !name.contains("demo") && !name.contains("temp")) {
+            return false;
+        }
+        // '.' does not match line terminators, so only then can the regex disagree with contains()
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return SCRATCH_NAME_PATTERN.matcher(name).matches();
+            }
+        }
+        return true;
+    }
+
+    static long epochSecond(LocalDateTime timestamp) {
+        // GitHub timestamps are UTC with second precision
+        return timestamp == null ? NO_TIMESTAMP : timestamp.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private int languageId(String language) {
+        Integer id = languageDictionary.get(language);
+        if (id == null) {
+            id = languageDictionary.size();
+            languageDictionary.put(language, id);
+            if (id == languages.length) {
+                languages = Arrays.copyOf(languages, id * 2);
+            }
+            languages[id] = language;
+        }
+        return id;
+    }
+
+    private void grow() {
+        int capacity = names.length + (names.length >> 1) + 1;
+        names = Arrays.copyOf(names, capacity);
+        stars = Arrays.copyOf(stars, capacity);
+        forks = Arrays.copyOf(forks, capacity);
+        sizes = Arrays.copyOf(sizes, capacity);
+        pushedAt = Arrays.copyOf(pushedAt, capacity);
+        createdAt = Arrays.copyOf(createdAt, capacity);
+        languageIds = Arrays.copyOf(languageIds, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+    }
+}
@@ -0,0 +1,269 @@
+package org.miniproject.githubprofileanalyzer.service;
+
+import org.miniproject.githubprofileanalyzer.dto.AnalysisResponse;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Single-pass accumulator behind ScoringService. Every score dimension and activity metric is derived
+ * from primitive counters collected while visiting each original (non-fork) repository exactly once.
+ * The formulas are the ones ScoringService used to evaluate with one stream per dimension, and the
+ * results are identical to them.
+ */
+final class ScoringKernel {
+
+    // Per-repository flag bits, see accept(int, int, int, int, String[], int)
+    static final int README_OR_DESCRIPTION = 1;
+    static final int GOOD_DESCRIPTION = 1 << 1;
+    static final int HAS_TOPICS = 1 << 2;
+    static final int SCRATCH_NAME = 1 << 3;
+    static final int PUSHED_RECENTLY = 1 << 4;
+    static final int TEST_SIGNAL = 1 << 5;
+    static final int DEPLOYMENT_SIGNAL = 1 << 6;
+
+    private static final int TOP_REPOSITORIES = 10;
+
+    private final LocalDateTime now;
+    private final long recentCutoff;
+
+    private int repositories;
+    private int withReadmeOrDescription;
+    private int withGoodDescription;
+    private int withTopics;
+    private int wellNamed;
+    private int recentlyActive;
+    private int starredWithLanguage;
+    private int complex;
+    private int totalStars;
+    private int totalForks;
+    private boolean testsPresent;
+    private boolean deploymentPresent;
+
+    // Languages in first-encounter order, which breaks primaryLanguages ties.
+    // dictionaryToLocal maps the caller's language dictionary ids onto that order (-1 = not seen yet).
+    private int[] dictionaryToLocal = new int[0];
+    private String[] languages = new String[16];
+    private int[] languageCounts = new int[16];
+    private int languageCount;
+    private boolean emptyLanguageSeen;
+
+    // Rows of the most starred repositories, ties keep visit order like a stable sort
+    private final int[] topRows = new int[TOP_REPOSITORIES];
+    private final int[] topStars = new int[TOP_REPOSITORIES];
+    private int topCount;
+
+    ScoringKernel(LocalDateTime now) {
+        this.now = now;
+        this.recentCutoff = RepositoryTable.epochSecond(now.minus(90, ChronoUnit.DAYS));
+    }
+
+    /**
+     * Scores every original (non-fork) repository of the table
+     */
+    void acceptAll(RepositoryTable table) {
+        String[] dictionary = table.languages();
+        for (int row = 0; row < table.size(); row++) {
+            if (table.isFork(row)) continue;
+
+            // Pushes have second precision, so "after the cutoff instant" is a plain comparison of seconds
+            int flags = table.contentFlags(row) | (table.pushedAt(row) > recentCutoff ? PUSHED_RECENTLY : 0);
+            accept(row, table.stars(row), table.forks(row), table.languageId(row), dictionary, flags);
+        }
+    }
+
+    /**
+     * Visits one repository. languageId indexes dictionary, or is -1 when the language is unknown.
+     */
+    void accept(int row, int stars, int forks, int languageId, String[] dictionary, int flags) {
+        repositories++;
+
+        if ((flags & README_OR_DESCRIPTION) != 0) withReadmeOrDescription++;
+        if ((flags & GOOD_DESCRIPTION) != 0) withGoodDescription++;
+        if ((flags & HAS_TOPICS) != 0) withTopics++;
+        if ((flags & SCRATCH_NAME) == 0) wellNamed++;
+        if ((flags & PUSHED_RECENTLY) != 0) recentlyActive++;
+        if ((flags & TEST_SIGNAL) != 0) testsPresent = true;
+        if ((flags & DEPLOYMENT_SIGNAL) != 0) deploymentPresent = true;
+
+        totalStars += stars;
+        totalForks += forks;
+        if (stars > 100 || forks > 20) complex++;
+
+        if (languageId >= 0) {
+            countLanguage(languageId, dictionary);
+            if (stars > 5) starredWithLanguage++;
+        }
+
+        offerTop(row, stars);
+    }
+
+    private void countLanguage(int dictionaryId, String[] dictionary) {
+        if (dictionaryId >= dictionaryToLocal.length) {
+            int oldLength = dictionaryToLocal.length;
+            dictionaryToLocal = Arrays.copyOf(dictionaryToLocal, Math.max(dictionaryId + 1, oldLength * 2));
+            Arrays.fill(dictionaryToLocal, oldLength, dictionaryToLocal.length, -1);
+        }
+
+        int id = dictionaryToLocal[dictionaryId];
+        if (id < 0) {
+            id = languageCount++;
+            dictionaryToLocal[dictionaryId] = id;
+            if (id == languages.length) {
+                languages = Arrays.copyOf(languages, id * 2);
+                languageCounts = Arrays.copyOf(languageCounts, id * 2);
+            }
+            languages[id] = dictionary[dictionaryId];
+            if (languages[id].isEmpty()) emptyLanguageSeen = true;
+        }
+        languageCounts[id]++;
+    }
+
+    private void offerTop(int row, int stars) {
+        int position = topCount;
+        while (position > 0 && topStars[position - 1] < stars) {
+            position--;
+        }
+        if (position >= TOP_REPOSITORIES) return;
+
+        int moved = Math.min(topCount, TOP_REPOSITORIES - 1) - position;
+        System.arraycopy(topRows, position, topRows, position + 1, moved);
+        System.arraycopy(topStars, position, topStars, position + 1, moved);
+        topRows[position] = row;
+        topStars[position] = stars;
+        if (topCount < TOP_REPOSITORIES) topCount++;
+    }
+
+    AnalysisResponse.ScoreBreakdown scoreBreakdown(LocalDateTime userCreatedAt) {
+        return AnalysisResponse.ScoreBreakdown.builder()
+                .documentationQuality(documentationQuality())
+                .codeStructure(codeStructure())
+                .activityConsistency(activityConsistency(userCreatedAt))
+                .repositoryOrganization(repositoryOrganization())
+                .projectImpact(projectImpact())
+                .technicalDepth(technicalDepth())
+                .build();
+    }
+
+    int documentationQuality() {
+        if (repositories == 0) return 0;
+
+        double readmeRatio = (double) withReadmeOrDescription / repositories;
+        double descriptionRatio = (double) withGoodDescription / repositories;
+        return (int) Math.min(100, (readmeRatio * 50 + descriptionRatio * 50));
+    }
+
+    int codeStructure() {
+        if (repositories == 0) return 0;
+
+        double topicsRatio = (double) withTopics / repositories;
+        double namingRatio = (double) wellNamed / repositories;
+        return (int) Math.min(100, (topicsRatio * 40 + namingRatio * 60));
+    }
+
+    int activityConsistency(LocalDateTime userCreatedAt) {
+        if (repositories == 0) return 0;
+
+        double activityRatio = (double) recentlyActive / repositories;
+        long accountAgeDays = ChronoUnit.DAYS.between(userCreatedAt, now);
+        int ageBonus = accountAgeDays > 365 ? 20 : (int) (accountAgeDays / 365.0 * 20);
+        return (int) Math.min(100, (activityRatio * 80) + ageBonus);
+    }
+
+    int repositoryOrganization() {
+        if (repositories == 0) return 0;
+
+        int languageDiversity = Math.min(languageCount * 10, 50);
+        int qualityScore = repositories > 5 && repositories < 50 ? 50 : 30;
+        return Math.min(100, languageDiversity + qualityScore);
+    }
+
+    int projectImpact() {
+        if (repositories == 0) return 0;
+
+        int starScore = Math.min(50, totalStars * 2);
+        int forkScore = Math.min(50, totalForks * 5);
+        return Math.min(100, starScore + forkScore);
+    }
+
+    int technicalDepth() {
+        if (repositories == 0) return 0;
+
+        // Empty language strings count for organization diversity but not for depth
+        int distinctLanguages = languageCount - (emptyLanguageSeen ? 1 : 0);
+
+        int score = 0;
+        if (distinctLanguages >= 5) {
+            score += 40;
+        } else if (distinctLanguages >= 3) {
+            score += 30;
+        } else if (distinctLanguages == 2) {
+            score += 20;
+        } else if (distinctLanguages == 1) {
+            score += 10;
+        }
+
+        score += Math.min(30, (starredWithLanguage * 5));
+
+        if (complex >= 3) {
+            score += 30;
+        } else if (complex >= 1) {
+            score += 20;
+        } else if (totalStars >= 50) {
+            score += 15;
+        } else if (totalStars >= 10) {
+            score += 10;
+        }
+
+        // Only 1-2 low-star repositories cap depth at 50
+        if (repositories <= 2 && totalStars < 10) {
+            score = Math.min(score, 50);
+        }
+        return Math.min(100, score);
+    }
+
+    AnalysisResponse.ActivityMetrics activityMetrics(LocalDateTime userCreatedAt, int publicRepositories) {
+        // Estimate commits per month (rough calculation)
+        long accountAgeMonths = Math.max(1, ChronoUnit.MONTHS.between(userCreatedAt, now));
+        double avgCommitsPerMonth = (double) repositories * 5 / accountAgeMonths;
+
+        return AnalysisResponse.ActivityMetrics.builder()
+                .publicRepositories(publicRepositories)
+                .activeInLast90Days(recentlyActive > 0)
+                .avgCommitsPerMonth(Math.round(avgCommitsPerMonth * 100.0) / 100.0)
+                .totalStars(totalStars)
+                .totalForks(totalForks)
+                .primaryLanguages(primaryLanguages())
+                .testsPresent(testsPresent)
+                .deploymentLinksPresent(deploymentPresent)
+                .build();
+    }
+
+    /**
+     * The five most used languages, most repositories first; ties go to the language seen first
+     */
+    List<String> primaryLanguages() {
+        return IntStream.range(0, languageCount)
+                .boxed()
+                .sorted(Comparator.<Integer>comparingInt(id -> languageCounts[id]).reversed()
+                        .thenComparingInt(id -> id))
+                .limit(5)
+                .map(id -> languages[id])
+                .toList();
+    }
+
+    /**
+     * Rows of the most starred repositories, most starred first
+     */
+    int[] topRows() {
+        return Arrays.copyOf(topRows, topCount);
+    }
+
+    int repositories() {
+        return repositories;
+    }
+}
@@ -6,12 +6,18 @@ import org.miniproject.githubprofileanalyzer.client.GitHubApiClient;
 import org.miniproject.githubprofileanalyzer.dto.AnalysisResponse;
 import org.miniproject.githubprofileanalyzer.model.GitHubUser;
 import org.miniproject.githubprofileanalyzer.model.Repository;
+import org.miniproject.githubprofileanalyzer.util.StructuredFanOut;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 @Slf4j
 @Service
@@ -19,207 +25,143 @@ import java.util.stream.Collectors;
 public class ScoringService {
     
     private final GitHubApiClient gitHubApiClient;
+    private final RepositoryEnrichmentService repositoryEnrichmentService;
+    private final RepositorySnapshots repositorySnapshots;
+    
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
     
     public AnalysisResponse.ProfileMetrics calculateMetrics(String username) {
-        GitHubUser user = gitHubApiClient.getUser(username);
-        List<Repository> repositories = gitHubApiClient.getUserRepositories(username);
-        
-        // Filter out forked repositories for scoring
-        List<Repository> originalRepos = repositories.stream()
-                .filter(r -> !r.isFork())
-                .toList();
-        
-        // Calculate score breakdown
-        AnalysisResponse.ScoreBreakdown scoreBreakdown = calculateScoreBreakdown(user, originalRepos);
-        
-        // Calculate overall score
-        int overallScore = calculateOverallScore(scoreBreakdown);
-        String grade = calculateGrade(overallScore);
-        
-        // Calculate activity metrics
-        AnalysisResponse.ActivityMetrics activityMetrics = calculateActivityMetrics(user, repositories, originalRepos);
-        
-        // Get pinned and top repositories
-        List<String> pinnedRepoSummary = getPinnedRepoSummary(originalRepos);
-        List<String> topRepoSummary = getTopRepoSummary(originalRepos);
-        
-        return AnalysisResponse.ProfileMetrics.builder()
-                .username(user.getLogin())
-                .overallScore(overallScore)
-                .grade(grade)
-                .scoreBreakdown(scoreBreakdown)
-                .activityMetrics(activityMetrics)
-                .pinnedRepoSummary(List.of())
-                .topRepoSummary(topRepoSummary)
-                .lastActivityDate(user.getUpdatedAt()) // Real last activity from GitHub
-                .createdAt(user.getCreatedAt() != null ? user.getCreatedAt().toString() : null)
-                .build();
+        return calculateMetricsReactive(username).block();
     }
     
-    private AnalysisResponse.ScoreBreakdown calculateScoreBreakdown(GitHubUser user, List<Repository> repos) {
-        return AnalysisResponse.ScoreBreakdown.builder()
-                .documentationQuality(calculateDocumentationScore(repos))
-                .codeStructure(calculateCodeStructureScore(repos))
-                .activityConsistency(calculateActivityScore(user, repos))
-                .repositoryOrganization(calculateRepoOrganizationScore(repos))
-                .projectImpact(calculateImpactScore(repos))
-                .technicalDepth(calculateTechnicalDepthScore(repos))
-                .build();
+    /**
+     * Non-blocking variant of calculateMetrics: no thread is held while waiting on GitHub.
+     * The user and repository requests are independent, so they are issued concurrently.
+     * With spring.threads.virtual.enabled, a subscriber on a virtual thread, e.g. a Tomcat request thread
+     * subscribing to /api/analyze, instead joins them as structured subtasks and stays blocked until done.
+     */
+    public Mono<AnalysisResponse.ProfileMetrics> calculateMetricsReactive(String username) {
+        return calculateMetricsReactive(username, FieldSelection.Fetch.ENRICHED);
     }
     
-    private int calculateDocumentationScore(List<Repository> repos) {
-        if (repos.isEmpty()) return 0;
-        
-        long reposWithReadme = repos.stream()
-                .filter(r -> r.isHasReadme() || (r.getDescription() != null && !r.getDescription().isEmpty()))
-                .count();
-        
-        long reposWithGoodDescription = repos.stream()
-                .filter(r -> r.getDescription() != null && r.getDescription().length() > 20)
-                .count();
-        
-        double readmeRatio = (double) reposWithReadme / repos.size();
-        double descriptionRatio = (double) reposWithGoodDescription / repos.size();
-        
-        return (int) Math.min(100, (readmeRatio * 50 + descriptionRatio * 50));
+    /**
+     * Metrics from only as much GitHub data as the fetch level asks for. Below ENRICHED the scores are
+     * computed from incomplete data, so callers must expose only the fields that level supports.
+     */
+    public Mono<AnalysisResponse.ProfileMetrics> calculateMetricsReactive(String username, FieldSelection.Fetch fetch) {
+        return Mono.defer(() -> {
+            // Event-loop subscribers, e.g. batch, SSE and organization analyses, must never block
+            boolean structured = virtualThreads && Thread.currentThread().isVirtual();
+            if (fetch == FieldSelection.Fetch.ENRICHED) {
+                return calculateEnrichedMetrics(username, structured);
+            }
+            
+            // Repositories go straight into the columnar table, so the beans are garbage as soon as they are scored
+            Mono<RepositoryTable> repositories = fetch == FieldSelection.Fetch.REPOSITORIES
+                    ? gitHubApiClient.streamUserRepositories(username).collect(RepositoryTable::new, RepositoryTable::add)
+                    : Mono.just(new RepositoryTable());
+            return forkJoin(gitHubApiClient.fetchUser(username), repositories, structured)
+                    .map(tuple -> buildMetrics(tuple.getT1(), tuple.getT2(), LocalDateTime.now()));
+        });
     }
     
-    private int calculateCodeStructureScore(List<Repository> repos) {
-        if (repos.isEmpty()) return 0;
-        
-        // Check for organized repos with topics, good naming, etc.
-        long reposWithTopics = repos.stream()
-                .filter(r -> r.getTopics() != null && !r.getTopics().isEmpty())
-                .count();
-        
-        long wellNamedRepos = repos.stream()
-                .filter(r -> !r.getName().matches(".*test.*|.*demo.*|.*temp.*"))
-                .count();
-        
-        double topicsRatio = (double) reposWithTopics / repos.size();
-        double namingRatio = (double) wellNamedRepos / repos.size();
+    /**
+     * Full metrics. With a repository snapshot of the user only the repositories updated since are listed,
+     * and the rest come from the snapshot; the changed ones and the snapshot's unenriched ones, e.g. after a
+     * failed tree request, are enriched. If the merged listing no longer adds up to the user's repository
+     * count, e.g. after a deletion, the repositories are listed in full instead.
+     */
+    private Mono<AnalysisResponse.ProfileMetrics> calculateEnrichedMetrics(String username, boolean structured) {
+        RepositorySnapshots.Snapshot snapshot = repositorySnapshots.get(username);
+        if (snapshot == null) {
+            return forkJoin(gitHubApiClient.fetchUser(username), listAllEnriched(username), structured)
+                    .map(tuple -> snapshotAndBuild(username, tuple.getT1(), tuple.getT2()));
+        }
         
-        return (int) Math.min(100, (topicsRatio * 40 + namingRatio * 60));
+        Mono<List<Repository>> changed = gitHubApiClient
+                .streamUserRepositoriesUpdatedSince(username, snapshot.updatedUntil())
+                .collectList();
+        return forkJoin(gitHubApiClient.fetchUser(username), changed, structured)
+                .flatMap(tuple -> {
+                    GitHubUser user = tuple.getT1();
+                    List<Repository> merged = snapshot.merge(tuple.getT2());
+                    if (snapshot.isConsistent(merged, user.getPublicRepos())) {
+                        repositorySnapshots.recordIncremental();
+                        // Enriched repositories from the snapshot pass through without a request
+                        return repositoryEnrichmentService.enrich(Flux.fromIterable(merged))
+                                .collectList()
+                                .map(enriched -> snapshotAndBuild(username, user, enriched));
+                    }
+                    
+                    log.info("Repository snapshot of {} is out of date, listing all repositories", username);
+                    repositorySnapshots.recordFallback();
+                    return listAllEnriched(username).map(repositories -> snapshotAndBuild(username, user, repositories));
+                });
     }
     
-    private int calculateActivityScore(GitHubUser user, List<Repository> repos) {
-        if (repos.isEmpty()) return 0;
-        
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime ninetyDaysAgo = now.minus(90, ChronoUnit.DAYS);
-        
-        long recentlyActive = repos.stream()
-                .filter(r -> r.getPushedAt() != null && r.getPushedAt().isAfter(ninetyDaysAgo))
-                .count();
-        
-        double activityRatio = (double) recentlyActive / repos.size();
-        
-        // Account age bonus
-        long accountAgeDays = ChronoUnit.DAYS.between(user.getCreatedAt(), now);
-        int ageBonus = accountAgeDays > 365 ? 20 : (int) (accountAgeDays / 365.0 * 20);
+    /**
+     * Runs the user and repository requests of one analysis concurrently. Normally they are zipped on the
+     * event loop. Structured, each request is a subtask blocking on its own virtual thread while the
+     * subscribing virtual thread joins, and a failure of either interrupts the other. That cancels the
+     * repository listing and its tree requests, but not the user lookup, which is shared with other
+     * analyses of the same user and runs to completion for them.
+     */
+    private <A, B> Mono<Tuple2<A, B>> forkJoin(Mono<A> first, Mono<B> second, boolean structured) {
+        if (!structured) {
+            return Mono.zip(first, second);
+        }
         
-        return (int) Math.min(100, (activityRatio * 80) + ageBonus);
+        return Mono.fromCallable(() -> {
+            try (StructuredFanOut scope = new StructuredFanOut()) {
+                StructuredFanOut.Subtask<A> a = scope.fork(first::block);
+                StructuredFanOut.Subtask<B> b = scope.fork(second::block);
+                scope.join();
+                return Tuples.of(a.get(), b.get());
+            } catch (ExecutionException e) {
+                // Surface the subtask's own error, e.g. GitHubApiException for an unknown user
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+        });
     }
     
-    private int calculateRepoOrganizationScore(List<Repository> repos) {
-        if (repos.isEmpty()) return 0;
-        
-        // Diversity of projects
-        Set<String> languages = repos.stream()
-                .map(Repository::getLanguage)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
-        
-        int languageDiversity = Math.min(languages.size() * 10, 50);
-        
-        // Quality over quantity
-        int qualityScore = repos.size() > 5 && repos.size() < 50 ? 50 : 30;
-        
-        return Math.min(100, languageDiversity + qualityScore);
+    private Mono<List<Repository>> listAllEnriched(String username) {
+        return repositoryEnrichmentService.enrich(gitHubApiClient.streamUserRepositories(username))
+                .collectList()
+                .doOnNext(repositories -> repositorySnapshots.recordFull());
     }
     
-    private int calculateImpactScore(List<Repository> repos) {
-        if (repos.isEmpty()) return 0;
-        
-        int totalStars = repos.stream().mapToInt(Repository::getStargazersCount).sum();
-        int totalForks = repos.stream().mapToInt(Repository::getForksCount).sum();
-        
-        int starScore = Math.min(50, totalStars * 2);
-        int forkScore = Math.min(50, totalForks * 5);
-        
-        return Math.min(100, starScore + forkScore);
+    private AnalysisResponse.ProfileMetrics snapshotAndBuild(String username, GitHubUser user, List<Repository> repositories) {
+        repositorySnapshots.put(username, repositories, user.getPublicRepos());
+        return buildMetrics(user, repositories, LocalDateTime.now());
     }
     
-    private int calculateTechnicalDepthScore(List<Repository> repos) {
-        if (repos.isEmpty()) return 0;
-        
-        // Count unique languages
-        Set<String> languages = new HashSet<>();
-        int totalStars = 0;
-        int reposWithMultipleLanguages = 0;
-        int complexRepos = 0; // Repos with >100 stars or forks
-        
-        for (Repository repo : repos) {
-            if (repo.getLanguage() != null && !repo.getLanguage().isEmpty()) {
-                languages.add(repo.getLanguage());
-            }
-            totalStars += repo.getStargazersCount(); // Use getStargazersCount
-            
-            // Check if repo uses multiple languages (complexity indicator)
-            // The original instruction had `repo.getStars() > 5` which is not a direct indicator of multiple languages.
-            // Assuming the intent was to count repos that are not trivial (have a language and some stars).
-            // If the intent was truly multiple languages *within* a repo, that would require more complex analysis (e.g., checking language breakdown from API).
-            // Sticking to the provided logic for `reposWithMultipleLanguages` based on `repo.getLanguage() != null && repo.getStars() > 5`.
-            if (repo.getLanguage() != null && repo.getStargazersCount() > 5) {
-                reposWithMultipleLanguages++;
-            }
-            
-            // Complex repos (high engagement)
-            if (repo.getStargazersCount() > 100 || repo.getForksCount() > 20) { // Use getForksCount
-                complexRepos++;
-            }
-        }
-        
-        int score = 0;
-        
-        // Language diversity (max 40 points)
-        // 1-2 languages: 10-20 points
-        // 3-4 languages: 30 points
-        // 5+ languages: 40 points
-        if (languages.size() >= 5) {
-            score += 40;
-        } else if (languages.size() >= 3) {
-            score += 30;
-        } else if (languages.size() == 2) {
-            score += 20;
-        } else if (languages.size() == 1) {
-            score += 10;
-        }
-        
-        // Repository complexity (max 30 points)
-        // Based on repos with multiple languages or high engagement
-        int complexityScore = Math.min(30, (reposWithMultipleLanguages * 5));
-        score += complexityScore;
-        
-        // Community validation (max 30 points)
-        // High-impact repos show technical depth
-        if (complexRepos >= 3) {
-            score += 30;
-        } else if (complexRepos >= 1) {
-            score += 20;
-        } else if (totalStars >= 50) {
-            score += 15;
-        } else if (totalStars >= 10) {
-            score += 10;
-        }
-        
-        // Cap at 100 and ensure minimum credibility
-        // If someone has only 1-2 repos with low stars, cap depth at 50
-        if (repos.size() <= 2 && totalStars < 10) {
-            score = Math.min(score, 50);
-        }
+    AnalysisResponse.ProfileMetrics buildMetrics(GitHubUser user, List<Repository> repositories, LocalDateTime now) {
+        return buildMetrics(user, RepositoryTable.of(repositories), now);
+    }
+    
+    /**
+     * Scores the user in a single pass over the original (non-fork) repositories
+     */
+    AnalysisResponse.ProfileMetrics buildMetrics(GitHubUser user, RepositoryTable repositories, LocalDateTime now) {
+        ScoringKernel kernel = new ScoringKernel(now);
+        kernel.acceptAll(repositories);
+        
+        AnalysisResponse.ScoreBreakdown scoreBreakdown = kernel.scoreBreakdown(user.getCreatedAt());
+        int overallScore = calculateOverallScore(scoreBreakdown);
+        String grade = calculateGrade(overallScore);
         
-        return Math.min(100, score);
+        return AnalysisResponse.ProfileMetrics.builder()
+                .username(user.getLogin())
+                .overallScore(overallScore)
+                .grade(grade)
+                .scoreBreakdown(scoreBreakdown)
+                .activityMetrics(kernel.activityMetrics(user.getCreatedAt(), user.getPublicRepos()))
+                .pinnedRepoSummary(getPinnedRepoSummary(user.getPinnedRepositories()))
+                .topRepoSummary(getTopRepoSummary(repositories, kernel.topRows()))
+                .lastActivityDate(user.getUpdatedAt()) // Real last activity from GitHub
+                .createdAt(user.getCreatedAt() != null ? user.getCreatedAt().toString() : null)
+                .build();
     }
     
     private int calculateOverallScore(AnalysisResponse.ScoreBreakdown breakdown) {
@@ -241,65 +183,27 @@ public class ScoringService {
         return "D";
     }
     
-    private AnalysisResponse.ActivityMetrics calculateActivityMetrics(GitHubUser user, List<Repository> allRepos, List<Repository> originalRepos) {
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime ninetyDaysAgo = now.minus(90, ChronoUnit.DAYS);
-        
-        boolean activeInLast90Days = originalRepos.stream()
-                .anyMatch(r -> r.getPushedAt() != null && r.getPushedAt().isAfter(ninetyDaysAgo));
-        
-        // Estimate commits per month (rough calculation)
-        long accountAgeMonths = Math.max(1, ChronoUnit.MONTHS.between(user.getCreatedAt(), now));
-        double avgCommitsPerMonth = (double) originalRepos.size() * 5 / accountAgeMonths; // Rough estimate
-        
-        int totalStars = originalRepos.stream().mapToInt(Repository::getStargazersCount).sum();
-        int totalForks = originalRepos.stream().mapToInt(Repository::getForksCount).sum();
-        
-        List<String> primaryLanguages = originalRepos.stream()
-                .map(Repository::getLanguage)
-                .filter(Objects::nonNull)
-                .collect(Collectors.groupingBy(l -> l, Collectors.counting()))
-                .entrySet().stream()
-                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-                .limit(5)
-                .map(Map.Entry::getKey)
-                .toList();
-        
-        boolean testsPresent = originalRepos.stream()
-                .anyMatch(r -> r.getName().contains("test") || r.getTopics().contains("testing"));
-        
-        boolean deploymentLinksPresent = originalRepos.stream()
-                .anyMatch(r -> r.getTopics().contains("deployment") || r.getTopics().contains("production"));
-        
-        return AnalysisResponse.ActivityMetrics.builder()
-                .publicRepositories(user.getPublicRepos())
-                .activeInLast90Days(activeInLast90Days)
-                .avgCommitsPerMonth(Math.round(avgCommitsPerMonth * 100.0) / 100.0)
-                .totalStars(totalStars)
-                .totalForks(totalForks)
-                .primaryLanguages(primaryLanguages)
-                .testsPresent(testsPresent)
-                .deploymentLinksPresent(deploymentLinksPresent)
-                .build();
+    private List<String> getTopRepoSummary(RepositoryTable repos, int[] topRows) {
+        List<String> summary = new ArrayList<>(topRows.length);
+        for (int row : topRows) {
+            summary.add(summarize(repos.name(row), repos.stars(row), repos.forks(row), repos.language(row)));
+        }
+        return summary;
     }
     
-    private List<String> getPinnedRepoSummary(List<Repository> repos) {
-        return repos.stream()
-                .sorted(Comparator.comparing(Repository::getStargazersCount).reversed())
-                .limit(6)
-                .map(r -> r.getName() + " - " + (r.getDescription() != null ? r.getDescription() : "No description"))
+    /**
+     * Pinned repositories are only known with the GraphQL backend; the REST API does not expose them
+     */
+    private List<String> getPinnedRepoSummary(List<Repository> pinned) {
+        if (pinned == null) {
+            return List.of();
+        }
+        return pinned.stream()
+                .map(repo -> summarize(repo.getName(), repo.getStargazersCount(), repo.getForksCount(), repo.getLanguage()))
                 .toList();
     }
     
-    private List<String> getTopRepoSummary(List<Repository> repos) {
-        return repos.stream()
-                .sorted(Comparator.comparing(Repository::getStargazersCount).reversed())
-                .limit(10)
-                .map(r -> String.format("%s (%d ⭐, %d forks) - %s", 
-                        r.getName(), 
-                        r.getStargazersCount(), 
-                        r.getForksCount(),
-                        r.getLanguage() != null ? r.getLanguage() : "Unknown"))
-                .toList();
+    private static String summarize(String name, int stars, int forks, String language) {
+        return String.format("%s (%d ⭐, %d forks) - %s", name, stars, forks, language != null ? language : "Unknown");
     }
 }
@@ -0,0 +1,28 @@
+package org.miniproject.githubprofileanalyzer.service;
+
+import org.miniproject.githubprofileanalyzer.dto.AnalysisResponse;
+
+import java.time.Instant;
+
+/**
+ * A complete analysis together with its final JSON, as written by the application ObjectMapper, and the
+ * gzip encoding of that JSON. Built once when the analysis is cached; the byte arrays are shared by every
+ * response that serves them and must never be modified.
+ *
+ * @param serializationNanos time spent producing json and gzip, i.e. what each response served from them saves
+ * @param analyzedAt when the analysis was computed; a snapshot restored after a restart keeps its original time
+ */
+public record SerializedAnalysis(AnalysisResponse response, byte[] json, byte[] gzip, long serializationNanos,
+                                 Instant analyzedAt) {
+
+    public byte[] body(boolean gzipped) {
+        return gzipped ? gzip : json;
+    }
+
+    /**
+     * Uncompressed size divided by gzip size
+     */
+    public double compressionRatio() {
+        return gzip.length == 0 ? 0 : (double) json.length / gzip.length;
+    }
+}
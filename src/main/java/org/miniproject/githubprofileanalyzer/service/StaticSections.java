@@ -0,0 +1,139 @@
+package org.miniproject.githubprofileanalyzer.service;
+
+import org.miniproject.githubprofileanalyzer.dto.AnalysisResponse;
+import org.miniproject.githubprofileanalyzer.util.PreSerializedJson;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Insight sections with the same content for every profile. Each is a single shared immutable instance,
+ * serialized once; analyses reference these instances and GET /api/insights/static serves them all as
+ * one pre-built document, so clients can fetch them once and leave them out of analysis payloads.
+ */
+public final class StaticSections {
+
+    /** AnalysisResponse properties holding static sections */
+    public static final List<String> FIELDS =
+            List.of("uiUxEvaluation", "recommendedPages", "recommendedAppFlow", "recommendedFolderStructure");
+
+    public static final List<String> RECOMMENDED_PAGES = PreSerializedJson.register(List.of(
+            "Landing Page (GitHub URL Input)",
+            "Dashboard Page (Score + Charts + Insights)",
+            "Repository Detail Page",
+            "Comparison Page (Optional Innovation)",
+            "About / Methodology Page"
+    ));
+
+    public static final List<String> RECOMMENDED_APP_FLOW = PreSerializedJson.register(List.of(
+            "User enters GitHub URL",
+            "Backend validates and fetches data",
+            "Scoring engine calculates metrics",
+            "AI generates structured insights",
+            "Dashboard renders results in sections"
+    ));
+
+    public static final Map<String, List<String>> RECOMMENDED_FOLDER_STRUCTURE = PreSerializedJson.register(folderStructure());
+
+    public static final List<String> RECOMMENDED_NEXT_STEPS = PreSerializedJson.register(List.of(
+            "Ensure all repositories have comprehensive READMEs with setup instructions",
+            "Create at least one flagship project that demonstrates end-to-end skills",
+            "Add live deployment links to showcase working applications"
+    ));
+
+    // Shared by every response: the evaluation has no setters and its list is immutable
+    public static final AnalysisResponse.UiUxEvaluation UI_UX_EVALUATION = PreSerializedJson.register(
+            AnalysisResponse.UiUxEvaluation.builder()
+                    .uiThemeAssessment("Professional")
+                    .layoutClarity("Clear")
+                    .designConsistency("High")
+                    .improvementSuggestions(List.of(
+                            "Add micro-animations for better user engagement",
+                            "Implement skeleton loading states",
+                            "Ensure mobile responsiveness",
+                            "Add dark mode support"
+                    ))
+                    .build());
+
+    private static final byte[] DOCUMENT = document();
+    private static final String ETAG = etag(DOCUMENT);
+
+    private StaticSections() {
+    }
+
+    /**
+     * All static sections as one JSON object, keyed like the AnalysisResponse properties
+     */
+    public static byte[] json() {
+        return DOCUMENT.clone();
+    }
+
+    /**
+     * Strong validator of json(), changes only when the content does
+     */
+    public static String etag() {
+        return ETAG;
+    }
+
+    /**
+     * Sets the shared sections on a complete analysis read back from its cached bytes, which leave them out
+     * (or, if written before they did, hold equal copies)
+     */
+    public static AnalysisResponse attach(AnalysisResponse response) {
+        response.setUiUxEvaluation(UI_UX_EVALUATION);
+        response.setRecommendedPages(RECOMMENDED_PAGES);
+        response.setRecommendedAppFlow(RECOMMENDED_APP_FLOW);
+        response.setRecommendedFolderStructure(RECOMMENDED_FOLDER_STRUCTURE);
+        return response;
+    }
+
+    private static Map<String, List<String>> folderStructure() {
+        // Same key order the previous HashMap produced
+        Map<String, List<String>> structure = new LinkedHashMap<>();
+        structure.put("backend", List.of(
+                "controller/",
+                "service/",
+                "client/",
+                "model/",
+                "dto/",
+                "config/",
+                "util/",
+                "exception/"
+        ));
+        structure.put("frontend", List.of(
+                "src/pages/",
+                "src/components/",
+                "src/layouts/",
+                "src/services/",
+                "src/hooks/",
+                "src/utils/",
+                "src/assets/"
+        ));
+        return Collections.unmodifiableMap(structure);
+    }
+
+    private static byte[] document() {
+        Map<String, Object> sections = new LinkedHashMap<>();
+        sections.put("uiUxEvaluation", UI_UX_EVALUATION);
+        sections.put("recommendedPages", RECOMMENDED_PAGES);
+        sections.put("recommendedAppFlow", RECOMMENDED_APP_FLOW);
+        sections.put("recommendedFolderStructure", RECOMMENDED_FOLDER_STRUCTURE);
+        sections.put("recommendedNextSteps", RECOMMENDED_NEXT_STEPS);
+        return PreSerializedJson.toJson(sections).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String etag(byte[] document) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(document);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
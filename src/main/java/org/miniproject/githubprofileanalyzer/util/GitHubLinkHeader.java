@@ -0,0 +1,29 @@
+package org.miniproject.githubprofileanalyzer.util;
+
+import org.springframework.http.HttpHeaders;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class GitHubLinkHeader {
+    
+    // e.g. <https://api.github.com/user/1/repos?per_page=100&page=7>; rel="last"
+    private static final Pattern LAST_PAGE_PATTERN = Pattern.compile(
+        "<[^>]*[?&]page=(\\d+)[^>]*>\\s*;\\s*rel=\"last\""
+    );
+    
+    /**
+     * Extracts the last page number from a GitHub pagination Link header
+     * @param headers Response headers
+     * @return Last page number, or 0 if the response carries no rel="last" link
+     */
+    public static int lastPage(HttpHeaders headers) {
+        String link = headers.getFirst(HttpHeaders.LINK);
+        if (link == null) {
+            return 0;
+        }
+        
+        Matcher matcher = LAST_PAGE_PATTERN.matcher(link);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : 0;
+    }
+}
@@ -0,0 +1,32 @@
+package org.miniproject.githubprofileanalyzer.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Reads GitHub timestamps from the parser's own text buffer, without materializing an intermediate String
+ */
+public class GitHubTimestampDeserializer extends StdDeserializer<LocalDateTime> {
+    
+    public GitHubTimestampDeserializer() {
+        super(LocalDateTime.class);
+    }
+    
+    @Override
+    public LocalDateTime deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            return (LocalDateTime) context.handleUnexpectedToken(LocalDateTime.class, parser);
+        }
+        
+        try {
+            return GitHubTimestamps.parse(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        } catch (RuntimeException e) {
+            return (LocalDateTime) context.handleWeirdStringValue(LocalDateTime.class, parser.getText(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.miniproject.githubprofileanalyzer.util;
+
+import java.time.LocalDateTime;
+
+public class GitHubTimestamps {
+    
+    private static final int TIMESTAMP_LENGTH = 19; // yyyy-MM-ddTHH:mm:ss
+    
+    /**
+     * Parses a GitHub ISO 8601 timestamp (e.g. "2026-02-13T14:17:51Z") straight from a character buffer.
+     * Only the date and time fields are read; the zone designator is ignored, matching the API's UTC timestamps.
+     * @param chars Buffer holding the timestamp
+     * @param offset Index of the first character
+     * @param length Number of characters available
+     * @return Parsed timestamp
+     */
+    public static LocalDateTime parse(char[] chars, int offset, int length) {
+        if (length < TIMESTAMP_LENGTH
+                || chars[offset + 4] != '-' || chars[offset + 7] != '-' || chars[offset + 10] != 'T'
+                || chars[offset + 13] != ':' || chars[offset + 16] != ':') {
+            // Not in the canonical shape, let java.time produce the error or handle the variant
+            return LocalDateTime.parse(new String(chars, offset, Math.min(length, TIMESTAMP_LENGTH)));
+        }
+        
+        return LocalDateTime.of(
+                digits(chars, offset, 4),
+                digits(chars, offset + 5, 2),
+                digits(chars, offset + 8, 2),
+                digits(chars, offset + 11, 2),
+                digits(chars, offset + 14, 2),
+                digits(chars, offset + 17, 2));
+    }
+    
+    public static LocalDateTime parse(String timestamp) {
+        if (timestamp == null) return null;
+        return parse(timestamp.toCharArray(), 0, timestamp.length());
+    }
+    
+    private static int digits(char[] chars, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = chars[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("Invalid GitHub timestamp: " + new String(chars, offset, count));
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,69 @@
+package org.miniproject.githubprofileanalyzer.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Values serialized once at registration and copied verbatim into every document that contains them.
+ * Lookups are by identity, so only the registered instances take the shortcut: a property opts in with
+ * {@code @JsonSerialize(using = PreSerializedJson.Serializer.class)} and any other value it holds is
+ * serialized as usual. Registered values must never be mutated.
+ */
+public final class PreSerializedJson {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // Copy-on-write: values are registered once during class initialization, read on every response
+    private static volatile Map<Object, String> fragments = new IdentityHashMap<>();
+
+    private PreSerializedJson() {
+    }
+
+    public static synchronized <T> T register(T value) {
+        Map<Object, String> updated = new IdentityHashMap<>(fragments);
+        updated.put(value, toJson(value));
+        fragments = updated;
+        return value;
+    }
+
+    /**
+     * The JSON written for a registered value, or null if the value was not registered
+     */
+    public static String fragment(Object value) {
+        return fragments.get(value);
+    }
+
+    public static String toJson(Object value) {
+        try {
+            return MAPPER.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Value cannot be serialized: " + value, e);
+        }
+    }
+
+    public static class Serializer extends StdSerializer<Object> {
+
+        public Serializer() {
+            super(Object.class);
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            // Raw text cannot be converted back into values, so conversions (convertValue, trees) get the real thing
+            String fragment = gen instanceof TokenBuffer ? null : fragment(value);
+            if (fragment != null) {
+                gen.writeRawValue(fragment);
+            } else {
+                provider.defaultSerializeValue(value, gen);
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.miniproject.githubprofileanalyzer.util;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent executions of the same key into one in-flight computation.
+ * Every caller for a key receives the shared result or error, and the entry is removed
+ * as soon as the computation terminates so later calls start fresh.
+ */
+public class SingleFlight<K, V> {
+    
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    
+    public Mono<V> execute(K key, Supplier<Mono<V>> work) {
+        return Mono.defer(() -> {
+            CompletableFuture<V> created = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+            if (existing != null) {
+                return Mono.fromFuture(existing, true);
+            }
+            
+            // The leader's subscription is detached from its caller, so one caller
+            // cancelling does not abort the work the other waiters depend on
+            Mono.defer(work).subscribe(
+                    value -> {
+                        inFlight.remove(key, created);
+                        created.complete(value);
+                    },
+                    error -> {
+                        inFlight.remove(key, created);
+                        created.completeExceptionally(error);
+                    },
+                    () -> {
+                        inFlight.remove(key, created);
+                        created.complete(null);
+                    });
+            
+            return Mono.fromFuture(created, true);
+        });
+    }
+    
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
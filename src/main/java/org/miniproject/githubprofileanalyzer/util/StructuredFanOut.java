@@ -0,0 +1,88 @@
+package org.miniproject.githubprofileanalyzer.util;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Fork/join scope that runs each subtask on its own virtual thread, shaped like
+ * StructuredTaskScope.ShutdownOnFailure (still a preview API on Java 21): subtasks never outlive the scope,
+ * and the first failure interrupts the others, which cancels whatever they were blocked on.
+ * <pre>
+ * try (StructuredFanOut scope = new StructuredFanOut()) {
+ *     Subtask&lt;A&gt; a = scope.fork(...);
+ *     Subtask&lt;B&gt; b = scope.fork(...);
+ *     scope.join();
+ *     return combine(a.get(), b.get());
+ * }
+ * </pre>
+ */
+public class StructuredFanOut implements AutoCloseable {
+    
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("fan-out-", 0).factory());
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    
+    public record Subtask<T>(Future<T> future) {
+        
+        /**
+         * The result, only available after a successful join()
+         */
+        public T get() {
+            return future.resultNow();
+        }
+    }
+    
+    public <T> Subtask<T> fork(Callable<T> task) {
+        try {
+            return new Subtask<>(executor.submit(() -> {
+                try {
+                    return task.call();
+                } catch (Exception | Error e) {
+                    if (failure.compareAndSet(null, e)) {
+                        executor.shutdownNow();
+                    }
+                    throw e;
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            // A sibling already failed and shut the scope down; join() reports that failure
+            return new Subtask<>(CompletableFuture.failedFuture(e));
+        }
+    }
+    
+    /**
+     * Waits for every subtask, or until one fails
+     * @throws ExecutionException with the first failure as its cause
+     */
+    public void join() throws InterruptedException, ExecutionException {
+        executor.shutdown();
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                // Keep waiting: subtasks are bounded by their own timeouts
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            throw e;
+        }
+        
+        Throwable first = failure.get();
+        if (first != null) {
+            throw new ExecutionException(first);
+        }
+    }
+    
+    /**
+     * Interrupts subtasks still running, e.g. when join() was skipped or interrupted, and waits for them
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        executor.close();
+    }
+}
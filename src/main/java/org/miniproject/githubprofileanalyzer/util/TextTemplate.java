@@ -0,0 +1,163 @@
+package org.miniproject.githubprofileanalyzer.util;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A printf-style pattern parsed once into literal segments and placeholders. Rendering appends
+ * straight into a reused StringBuilder, without the per-call parsing and Formatter allocation of
+ * String.format. Supports the subset of conversions our copy uses: %s, %d, %.Nf and %%. The output
+ * equals String.format under an English locale; digits and the decimal point are never localized.
+ */
+public final class TextTemplate {
+
+    private static final byte STRING = 0;
+    private static final byte INTEGER = 1;
+    private static final byte DECIMAL = 2;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    private final String pattern;
+    // literals[i] precedes placeholder i, the last literal trails the final placeholder
+    private final String[] literals;
+    private final byte[] conversions;
+    private final int[] precisions;
+
+    private TextTemplate(String pattern, String[] literals, byte[] conversions, int[] precisions) {
+        this.pattern = pattern;
+        this.literals = literals;
+        this.conversions = conversions;
+        this.precisions = precisions;
+    }
+
+    public static TextTemplate compile(String pattern) {
+        List<String> literals = new ArrayList<>();
+        List<Byte> conversions = new ArrayList<>();
+        List<Integer> precisions = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i++);
+            if (c != '%') {
+                literal.append(c);
+                continue;
+            }
+            if (i == pattern.length()) {
+                throw new IllegalArgumentException("Dangling '%' at the end of template: " + pattern);
+            }
+
+            char conversion = pattern.charAt(i++);
+            int precision = 6; // Formatter's default for %f
+            if (conversion == '.') {
+                int digitsStart = i;
+                while (i < pattern.length() && Character.isDigit(pattern.charAt(i))) i++;
+                if (i == digitsStart || i == pattern.length() || pattern.charAt(i) != 'f') {
+                    throw new IllegalArgumentException("Unsupported conversion at index " + (digitsStart - 2) + " of template: " + pattern);
+                }
+                precision = Integer.parseInt(pattern, digitsStart, i, 10);
+                conversion = pattern.charAt(i++);
+            }
+
+            switch (conversion) {
+                case '%' -> literal.append('%');
+                case 's', 'd', 'f' -> {
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                    conversions.add(conversion == 's' ? STRING : conversion == 'd' ? INTEGER : DECIMAL);
+                    precisions.add(precision);
+                }
+                default -> throw new IllegalArgumentException(
+                        "Unsupported conversion '%" + conversion + "' in template: " + pattern);
+            }
+        }
+        literals.add(literal.toString());
+
+        byte[] conversionArray = new byte[conversions.size()];
+        int[] precisionArray = new int[precisions.size()];
+        for (int p = 0; p < conversionArray.length; p++) {
+            conversionArray[p] = conversions.get(p);
+            precisionArray[p] = precisions.get(p);
+        }
+        return new TextTemplate(pattern, literals.toArray(String[]::new), conversionArray, precisionArray);
+    }
+
+    /**
+     * Number of arguments the template consumes
+     */
+    public int arity() {
+        return conversions.length;
+    }
+
+    public String pattern() {
+        return pattern;
+    }
+
+    public String render(Object... args) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        return appendTo(buffer, args).toString();
+    }
+
+    public StringBuilder appendTo(StringBuilder out, Object... args) {
+        if (args.length < conversions.length) {
+            throw new IllegalArgumentException("Template needs " + conversions.length + " arguments, got "
+                    + args.length + ": " + pattern);
+        }
+
+        for (int p = 0; p < conversions.length; p++) {
+            out.append(literals[p]);
+            Object arg = args[p];
+            switch (conversions[p]) {
+                case STRING -> out.append(arg);
+                case INTEGER -> appendInteger(out, arg);
+                default -> appendDecimal(out, arg, precisions[p]);
+            }
+        }
+        return out.append(literals[conversions.length]);
+    }
+
+    private void appendInteger(StringBuilder out, Object arg) {
+        if (arg instanceof Integer || arg instanceof Short || arg instanceof Byte) {
+            out.append(((Number) arg).intValue());
+        } else if (arg instanceof Long value) {
+            out.append(value.longValue());
+        } else if (arg instanceof BigInteger value) {
+            out.append(value);
+        } else if (arg == null) {
+            out.append("null");
+        } else {
+            throw new IllegalArgumentException("%d needs an integral argument, got " + arg.getClass().getName() + ": " + pattern);
+        }
+    }
+
+    private void appendDecimal(StringBuilder out, Object arg, int precision) {
+        if (arg == null) {
+            out.append("null");
+            return;
+        }
+        if (!(arg instanceof Double || arg instanceof Float)) {
+            throw new IllegalArgumentException("%f needs a floating point argument, got " + arg.getClass().getName() + ": " + pattern);
+        }
+
+        double value = ((Number) arg).doubleValue();
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            out.append(value);
+            return;
+        }
+        // Formatter rounds the shortest decimal representation half-up and keeps the sign of negative zero
+        if (Math.copySign(1.0, value) < 0) {
+            out.append('-');
+        }
+        String digits = arg instanceof Float ? Float.toString(Math.abs((Float) arg)) : Double.toString(Math.abs(value));
+        out.append(new BigDecimal(digits).setScale(precision, RoundingMode.HALF_UP).toPlainString());
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
@@ -3,7 +3,10 @@ package org.miniproject.githubprofileanalyzer;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = {
+        "analysis.snapshot.directory=target/test-snapshots",
+        "github.http.warmup.enabled=false"
+})
 class GithubprofileanalyzerApplicationTests {
 
     @Test
@@ -0,0 +1,180 @@
+package org.miniproject.githubprofileanalyzer.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.miniproject.githubprofileanalyzer.support.GitHubStubServer;
+import org.miniproject.githubprofileanalyzer.support.GitHubStubServer.Response;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionalRequestCacheTest {
+
+    private final List<String> ifNoneMatch = new CopyOnWriteArrayList<>();
+    private GitHubStubServer stub;
+
+    @BeforeEach
+    void setUp() {
+        stub = new GitHubStubServer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void staleEntryIsRevalidatedAndA304IsAnsweredFromTheStoredBody() {
+        stub.respond("/users/octo", exchange -> versioned(exchange, "\"v1\"", "{\"login\":\"octo\"}", null));
+        ConditionalRequestCache cache = new ConditionalRequestCache(DataSize.ofKilobytes(100), true);
+        WebClient webClient = webClient(cache);
+
+        assertThat(get(webClient, "/users/octo")).isEqualTo("{\"login\":\"octo\"}");
+        assertThat(get(webClient, "/users/octo")).isEqualTo("{\"login\":\"octo\"}");
+
+        assertThat(stub.requestCount("/users/octo")).isEqualTo(2);
+        assertThat(ifNoneMatch).containsExactly("none", "\"v1\"");
+        assertThat(cache.getStats()).isEqualTo(Map.of("hits", 0L, "revalidations", 1L, "misses", 1L, "entries", 1,
+                "bytes", 16L + ConditionalRequestCache.ENTRY_OVERHEAD_BYTES));
+    }
+
+    @Test
+    void entryFreshUnderMaxAgeIsServedWithoutARequest() {
+        stub.respond("/users/octo", exchange -> versioned(exchange, "\"v1\"", "{\"login\":\"octo\"}", "max-age=60"));
+        ConditionalRequestCache cache = new ConditionalRequestCache(DataSize.ofKilobytes(100), true);
+        WebClient webClient = webClient(cache);
+
+        get(webClient, "/users/octo");
+        assertThat(get(webClient, "/users/octo")).isEqualTo("{\"login\":\"octo\"}");
+
+        assertThat(stub.requestCount("/users/octo")).isEqualTo(1);
+        assertThat(cache.getStats()).containsEntry("hits", 1L).containsEntry("misses", 1L);
+
+        // Without honoring max-age the same entry is revalidated instead
+        ConditionalRequestCache revalidating = new ConditionalRequestCache(DataSize.ofKilobytes(100), false);
+        WebClient revalidatingClient = webClient(revalidating);
+        get(revalidatingClient, "/users/octo");
+        get(revalidatingClient, "/users/octo");
+
+        assertThat(stub.requestCount("/users/octo")).isEqualTo(3);
+        assertThat(revalidating.getStats()).containsEntry("hits", 0L).containsEntry("revalidations", 1L);
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() {
+        for (String name : List.of("a", "b", "c")) {
+            stub.respond("/users/" + name, exchange -> versioned(exchange, "\"" + name + "\"", "{}", "max-age=60"));
+        }
+        // Room for two entries
+        ConditionalRequestCache cache = new ConditionalRequestCache(
+                DataSize.ofBytes(3L * ConditionalRequestCache.ENTRY_OVERHEAD_BYTES - 1), true);
+        WebClient webClient = webClient(cache);
+
+        get(webClient, "/users/a");
+        get(webClient, "/users/b");
+        get(webClient, "/users/a"); // Fresh hit, makes b the eldest
+        get(webClient, "/users/c");
+        get(webClient, "/users/a");
+        get(webClient, "/users/b");
+
+        assertThat(stub.requestCount("/users/a")).isEqualTo(1);
+        // b was evicted, so it is fetched again without a validator
+        assertThat(stub.requestCount("/users/b")).isEqualTo(2);
+        assertThat(ifNoneMatch).containsExactly("none", "none", "none", "none");
+        assertThat(cache.getStats()).containsEntry("hits", 2L).containsEntry("misses", 4L).containsEntry("entries", 2);
+    }
+
+    @Test
+    void largeBodiesPushOutSmallOnesByWeightNotCount() {
+        String tree = "{\"tree\":\"" + "x".repeat(8_000) + "\"}";
+        stub.respond("/users/a", exchange -> versioned(exchange, "\"a\"", "{}", "max-age=60"));
+        stub.respond("/users/b", exchange -> versioned(exchange, "\"b\"", "{}", "max-age=60"));
+        stub.respond("/repos/a/r/git/trees/sha", exchange -> versioned(exchange, "\"t\"", tree, "max-age=60"));
+        stub.respond("/repos/a/r/git/trees/huge", exchange -> versioned(exchange, "\"h\"", tree.repeat(2), "max-age=60"));
+        ConditionalRequestCache cache = new ConditionalRequestCache(DataSize.ofKilobytes(10), true);
+        WebClient webClient = webClient(cache);
+
+        get(webClient, "/users/a");
+        get(webClient, "/users/b");
+        get(webClient, "/repos/a/r/git/trees/sha");
+        assertThat(cache.getStats()).containsEntry("entries", 2)
+                .containsEntry("bytes", (long) tree.length() + 2 + 2 * ConditionalRequestCache.ENTRY_OVERHEAD_BYTES);
+
+        // A body larger than the whole cache is passed on without displacing anything
+        assertThat(get(webClient, "/repos/a/r/git/trees/huge")).hasSize(2 * tree.length());
+        assertThat(cache.getStats()).containsEntry("entries", 2);
+        get(webClient, "/repos/a/r/git/trees/sha");
+        assertThat(stub.requestCount("/repos/a/r/git/trees/sha")).isEqualTo(1);
+    }
+
+    @Test
+    void callersWithDifferentCredentialsDoNotShareEntries() {
+        stub.respond("/user/repos", exchange -> {
+            String token = exchange.getRequestHeaders().getFirst("Authorization");
+            return versioned(exchange, "\"" + token.hashCode() + "\"", "[\"" + token + "\"]", "max-age=60");
+        });
+        ConditionalRequestCache cache = new ConditionalRequestCache(DataSize.ofKilobytes(100), true);
+        WebClient alice = WebClient.builder().baseUrl(stub.baseUrl()).filter(cache)
+                .defaultHeader("Authorization", "Bearer alice").build();
+        WebClient bob = WebClient.builder().baseUrl(stub.baseUrl()).filter(cache)
+                .defaultHeader("Authorization", "Bearer bob").build();
+
+        assertThat(get(alice, "/user/repos")).isEqualTo("[\"Bearer alice\"]");
+        assertThat(get(bob, "/user/repos")).isEqualTo("[\"Bearer bob\"]");
+        assertThat(get(alice, "/user/repos")).isEqualTo("[\"Bearer alice\"]");
+
+        assertThat(stub.requestCount("/user/repos")).isEqualTo(2);
+        assertThat(ifNoneMatch).containsExactly("none", "none");
+    }
+
+    @Test
+    void rateLimitResponsesAndOtherMethodsBypassTheCache() {
+        stub.respond("/rate_limit", exchange -> versioned(exchange, "\"r\"", "{\"resources\":{}}", "max-age=60"));
+        ConditionalRequestCache cache = new ConditionalRequestCache(DataSize.ofKilobytes(100), true);
+        WebClient webClient = webClient(cache);
+
+        get(webClient, "/rate_limit");
+        get(webClient, "/rate_limit");
+        webClient.post().uri("/rate_limit").retrieve().toBodilessEntity().block();
+
+        assertThat(stub.requestCount("/rate_limit")).isEqualTo(3);
+        assertThat(ifNoneMatch).containsExactly("none", "none", "none");
+        assertThat(cache.getStats()).containsEntry("entries", 0);
+    }
+
+    @Test
+    void responsesWithoutValidatorsBypassTheCache() {
+        stub.route("/users/octo", "{\"login\":\"octo\"}");
+        ConditionalRequestCache cache = new ConditionalRequestCache(DataSize.ofKilobytes(100), true);
+        WebClient webClient = webClient(cache);
+
+        get(webClient, "/users/octo");
+        get(webClient, "/users/octo");
+
+        assertThat(stub.requestCount("/users/octo")).isEqualTo(2);
+        assertThat(cache.getStats()).containsEntry("misses", 2L).containsEntry("entries", 0);
+    }
+
+    private Response versioned(HttpExchange exchange, String etag, String body, String cacheControl) {
+        String validator = exchange.getRequestHeaders().getFirst("If-None-Match");
+        ifNoneMatch.add(validator == null ? "none" : validator);
+        Response response = etag.equals(validator) ? Response.status(304) : Response.ok(body);
+        response = response.withHeader("ETag", etag);
+        return cacheControl == null ? response : response.withHeader("Cache-Control", cacheControl);
+    }
+
+    private WebClient webClient(ConditionalRequestCache cache) {
+        return WebClient.builder().baseUrl(stub.baseUrl()).filter(cache).build();
+    }
+
+    private static String get(WebClient webClient, String path) {
+        return webClient.get().uri(path).retrieve().bodyToMono(String.class).block();
+    }
+}
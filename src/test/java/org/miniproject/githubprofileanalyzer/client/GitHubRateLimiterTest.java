@@ -0,0 +1,244 @@
+package org.miniproject.githubprofileanalyzer.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.miniproject.githubprofileanalyzer.exception.GitHubRateLimitException;
+import org.miniproject.githubprofileanalyzer.exception.GlobalExceptionHandler;
+import org.miniproject.githubprofileanalyzer.service.AnalysisMetrics;
+import org.miniproject.githubprofileanalyzer.support.GitHubStubServer;
+import org.miniproject.githubprofileanalyzer.support.GitHubStubServer.Response;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.InstanceOfAssertFactories.LONG;
+
+class GitHubRateLimiterTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private final List<Long> arrivals = new CopyOnWriteArrayList<>();
+    private GitHubStubServer stub;
+
+    @BeforeEach
+    void setUp() {
+        stub = new GitHubStubServer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void budgetIsPacedOnlyBelowTheThreshold() {
+        GitHubRateLimiter.Budget budget = new GitHubRateLimiter.Budget();
+        assertThat(budget.reserve(NOW, 0.2, 10_000, 1)).as("unknown budget").isZero();
+
+        budget.update(rateLimitHeaders(100, 50, NOW / 1000 + 60));
+        assertThat(budget.reserve(NOW, 0.2, 10_000, 1)).as("above the threshold").isZero();
+
+        // 10 calls left for 60 seconds: one every 6 seconds
+        budget.update(rateLimitHeaders(100, 10, NOW / 1000 + 60));
+        assertThat(budget.reserve(NOW, 0.2, 10_000, 1)).isZero();
+        assertThat(budget.reserve(NOW, 0.2, 10_000, 1)).isEqualTo(6_000);
+        assertThat(budget.snapshot()).containsEntry("remaining", 8L);
+
+        // The next slot would be more than the max wait and the one call the queue holds away
+        assertThatThrownBy(() -> budget.reserve(NOW, 0.2, 10_000, 1))
+                .isInstanceOf(GitHubRateLimitException.class)
+                .extracting("retryAfterSeconds").isEqualTo(60L);
+    }
+
+    @Test
+    void pacedQueueIsAsDeepAtASlowPaceAsAtAFastOne() {
+        GitHubRateLimiter.Budget budget = new GitHubRateLimiter.Budget();
+        // 20 calls left for 600 seconds: one every 30 seconds, so a 10 second max wait alone would hold one call
+        budget.update(rateLimitHeaders(1000, 20, NOW / 1000 + 600));
+
+        long lastWait = 0;
+        for (int call = 0; call <= 4; call++) {
+            lastWait = budget.reserve(NOW, 0.2, 10_000, 4);
+        }
+        assertThat(lastWait).as("four calls ahead").isGreaterThan(100_000);
+        assertThatThrownBy(() -> budget.reserve(NOW, 0.2, 10_000, 4))
+                .isInstanceOf(GitHubRateLimitException.class);
+    }
+
+    @Test
+    void olderFiguresDoNotOverwriteNewerOnes() {
+        GitHubRateLimiter.Budget budget = new GitHubRateLimiter.Budget();
+        budget.update(rateLimitHeaders(100, 10, NOW / 1000 + 60));
+
+        // A response overtaken by later ones, and one from the previous window
+        budget.update(rateLimitHeaders(100, 15, NOW / 1000 + 60));
+        budget.update(rateLimitHeaders(100, 90, NOW / 1000 - 3540));
+        assertThat(budget.snapshot()).containsEntry("remaining", 10L).containsEntry("resetEpochSeconds", NOW / 1000 + 60);
+
+        // The next window starts over
+        budget.update(rateLimitHeaders(100, 99, NOW / 1000 + 3660));
+        assertThat(budget.snapshot()).containsEntry("remaining", 99L).containsEntry("resetEpochSeconds", NOW / 1000 + 3660);
+    }
+
+    @Test
+    void concurrentCallsBelowThePacingThresholdAreQueuedAndSpacedOut() {
+        AtomicInteger served = new AtomicInteger();
+        long resetEpochSeconds = System.currentTimeMillis() / 1000 + 3;
+        stub.respond("/users/octo", exchange -> {
+            arrivals.add(System.currentTimeMillis());
+            return Response.ok("{}").withHeader("X-RateLimit-Limit", "1000")
+                    .withHeader("X-RateLimit-Remaining", String.valueOf(100 - served.incrementAndGet()))
+                    .withHeader("X-RateLimit-Reset", String.valueOf(resetEpochSeconds));
+        });
+        // Paced at 20 to 30 ms a call, a 50 ms max wait alone would turn most of the burst away
+        GitHubRateLimiter limiter = new GitHubRateLimiter(0.2, Duration.ofMillis(50), 64, 3, Duration.ofMillis(10),
+                Duration.ofSeconds(30));
+        WebClient webClient = webClient(limiter);
+        get(webClient, "/users/octo");
+
+        List<String> bodies = Flux.range(0, 30)
+                .flatMap(i -> webClient.get().uri("/users/octo").retrieve().bodyToMono(String.class), 30)
+                .collectList()
+                .block();
+
+        assertThat(bodies).hasSize(30);
+        assertThat(stub.requestCount("/users/octo")).isEqualTo(31);
+        assertThat(arrivals.get(arrivals.size() - 1) - arrivals.get(1)).isGreaterThanOrEqualTo(250);
+        assertThat(limiter.getRemaining()).isEqualTo(69);
+    }
+
+    @Test
+    void emptyBudgetWaitsForTheResetOrNotAtAllOnceItHasPassed() {
+        GitHubRateLimiter.Budget budget = new GitHubRateLimiter.Budget();
+        budget.update(rateLimitHeaders(60, 0, NOW / 1000 + 5));
+
+        assertThat(budget.reserve(NOW, 0.2, 10_000, 1)).isEqualTo(5_000);
+        assertThat(budget.reserve(NOW + 5_000, 0.2, 10_000, 1)).isZero();
+    }
+
+    @Test
+    void callIsHeldUntilAnExhaustedBudgetResets() {
+        long resetEpochSeconds = System.currentTimeMillis() / 1000 + 2;
+        stub.respond("/users/octo", exchange -> {
+            arrivals.add(System.currentTimeMillis());
+            return Response.ok("{}").withHeader("X-RateLimit-Limit", "60")
+                    .withHeader("X-RateLimit-Remaining", "0")
+                    .withHeader("X-RateLimit-Reset", String.valueOf(resetEpochSeconds));
+        });
+        WebClient webClient = webClient(limiter(Duration.ofSeconds(10), 3, Duration.ofMillis(10)));
+
+        get(webClient, "/users/octo");
+        get(webClient, "/users/octo");
+
+        assertThat(stub.requestCount("/users/octo")).isEqualTo(2);
+        assertThat(arrivals.get(1)).isGreaterThanOrEqualTo(resetEpochSeconds * 1000);
+    }
+
+    @Test
+    void callFailsFastWhenTheResetIsTooFarAway() {
+        stub.respond("/users/octo", exchange -> Response.ok("{}")
+                .withHeader("X-RateLimit-Limit", "60")
+                .withHeader("X-RateLimit-Remaining", "0")
+                .withHeader("X-RateLimit-Reset", String.valueOf(System.currentTimeMillis() / 1000 + 600)));
+        WebClient webClient = webClient(limiter(Duration.ofSeconds(10), 3, Duration.ofMillis(10)));
+        get(webClient, "/users/octo");
+
+        assertThatThrownBy(() -> get(webClient, "/users/octo"))
+                .isInstanceOf(GitHubRateLimitException.class)
+                .extracting("retryAfterSeconds").asInstanceOf(LONG)
+                .isBetween(590L, 600L);
+        assertThat(stub.requestCount("/users/octo")).isEqualTo(1);
+    }
+
+    @Test
+    void forbiddenIsASecondaryLimitOnlyWhenTheBodySaysSo() {
+        AtomicInteger calls = new AtomicInteger();
+        stub.respond("/users/octo", exchange -> calls.incrementAndGet() < 3
+                ? Response.status(403).withBody("{\"message\":\"You have exceeded a Secondary Rate Limit.\"}")
+                : Response.ok("{\"login\":\"octo\"}"));
+        stub.respond("/users/private", exchange -> Response.status(403)
+                .withBody("{\"message\":\"Resource not accessible by integration\"}"));
+        WebClient webClient = webClient(limiter(Duration.ofSeconds(10), 3, Duration.ofMillis(10)));
+
+        assertThat(get(webClient, "/users/octo")).isEqualTo("{\"login\":\"octo\"}");
+        assertThat(stub.requestCount("/users/octo")).isEqualTo(3);
+
+        // A plain 403 is passed on with its body intact
+        assertThatThrownBy(() -> get(webClient, "/users/private"))
+                .isInstanceOfSatisfying(WebClientResponseException.Forbidden.class, e ->
+                        assertThat(e.getResponseBodyAsString()).contains("Resource not accessible"));
+        assertThat(stub.requestCount("/users/private")).isEqualTo(1);
+    }
+
+    @Test
+    void secondaryLimitBacksOffExponentiallyUpToTheCap() {
+        GitHubRateLimiter limiter = limiter(Duration.ofSeconds(10), 3, Duration.ofSeconds(1));
+
+        assertThat(limiter.backoffMillis(0, 0)).isBetween(1_000L, 1_250L);
+        assertThat(limiter.backoffMillis(1, 0)).isBetween(2_000L, 2_500L);
+        assertThat(limiter.backoffMillis(2, 0)).isBetween(4_000L, 5_000L);
+        assertThat(limiter.backoffMillis(10, 0)).isBetween(30_000L, 37_500L);
+        // Retry-After is a floor under the backoff
+        assertThat(limiter.backoffMillis(0, 20)).isEqualTo(20_000L);
+    }
+
+    @Test
+    void retryWaitsAtLeastRetryAfterAndGivesUpWithItsValue() {
+        stub.respond("/users/octo", exchange -> {
+            arrivals.add(System.currentTimeMillis());
+            return Response.status(429).withHeader(HttpHeaders.RETRY_AFTER, "1");
+        });
+        WebClient webClient = webClient(limiter(Duration.ofSeconds(10), 1, Duration.ofMillis(10)));
+
+        assertThatThrownBy(() -> get(webClient, "/users/octo"))
+                .isInstanceOf(GitHubRateLimitException.class)
+                .extracting("retryAfterSeconds").isEqualTo(1L);
+        assertThat(stub.requestCount("/users/octo")).isEqualTo(2);
+        assertThat(arrivals.get(1) - arrivals.get(0)).isGreaterThanOrEqualTo(1_000);
+    }
+
+    @Test
+    void rateLimitFailureIsAnsweredWith429AndRetryAfter() {
+        GlobalExceptionHandler handler = new GlobalExceptionHandler(new AnalysisMetrics(new SimpleMeterRegistry()));
+
+        ResponseEntity<Map<String, String>> response = handler.handleGitHubRateLimitException(
+                new GitHubRateLimitException("GitHub API rate limit exceeded, resets in 42 seconds", 42));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("42");
+        assertThat(response.getBody()).containsEntry("error", "GitHub Rate Limit Exceeded");
+    }
+
+    private static GitHubRateLimiter limiter(Duration maxQueueWait, int maxRetries, Duration initialBackoff) {
+        return new GitHubRateLimiter(0.2, maxQueueWait, 32, maxRetries, initialBackoff, Duration.ofSeconds(30));
+    }
+
+    private static HttpHeaders rateLimitHeaders(long limit, long remaining, long resetEpochSeconds) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-RateLimit-Limit", String.valueOf(limit));
+        headers.set("X-RateLimit-Remaining", String.valueOf(remaining));
+        headers.set("X-RateLimit-Reset", String.valueOf(resetEpochSeconds));
+        return headers;
+    }
+
+    private WebClient webClient(GitHubRateLimiter limiter) {
+        return WebClient.builder().baseUrl(stub.baseUrl()).filter(limiter).build();
+    }
+
+    private static String get(WebClient webClient, String path) {
+        return webClient.get().uri(path).retrieve().bodyToMono(String.class).block();
+    }
+}
@@ -0,0 +1,109 @@
+package org.miniproject.githubprofileanalyzer.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.miniproject.githubprofileanalyzer.model.Repository;
+import org.miniproject.githubprofileanalyzer.support.GitHubStubServer;
+import org.miniproject.githubprofileanalyzer.support.GitHubStubServer.Response;
+import org.miniproject.githubprofileanalyzer.support.ServiceFixture;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepositoryPaginationTest {
+
+    private static final String REPOS_PATH = "/users/octo/repos";
+
+    private GitHubStubServer stub;
+    private GitHubApiClient client;
+
+    @BeforeEach
+    void setUp() {
+        stub = new GitHubStubServer();
+        client = ServiceFixture.client(stub);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void pagesAfterTheFirstAreFetchedConcurrentlyAndEmittedInPageOrder() {
+        CountDownLatch lastPageRequested = new CountDownLatch(1);
+        AtomicBoolean overlapped = new AtomicBoolean();
+        stub.respond(REPOS_PATH, exchange -> {
+            int page = page(exchange);
+            if (page == 3) {
+                lastPageRequested.countDown();
+            } else if (page == 2) {
+                // Only answered once page 3 has been requested, so page 3 completes first, yet its
+                // repositories must still follow page 2's
+                overlapped.set(await(lastPageRequested));
+            }
+            return Response.ok(page(page, page < 3 ? 100 : 40)).withHeader("Link",
+                    "<" + stub.baseUrl() + REPOS_PATH + "?per_page=100&page=3>; rel=\"last\"");
+        });
+
+        List<Repository> repositories = client.getUserRepositories("octo");
+
+        assertThat(stub.requestCount(REPOS_PATH)).isEqualTo(3);
+        assertThat(overlapped).isTrue();
+        assertThat(repositories).hasSize(240);
+        assertThat(repositories).extracting(Repository::getName)
+                .startsWith("p1-0")
+                .contains("p2-99", "p3-0")
+                .endsWith("p3-39");
+        assertThat(repositories.get(200).getName()).isEqualTo("p3-0");
+    }
+
+    @Test
+    void withoutALinkHeaderFullPagesAreWalkedOneByOne() {
+        stub.route(REPOS_PATH, exchange -> {
+            int page = page(exchange);
+            return page(page, page < 3 ? 100 : 5);
+        });
+
+        List<Repository> repositories = client.getUserRepositories("octo");
+
+        assertThat(stub.requestCount(REPOS_PATH)).isEqualTo(3);
+        assertThat(stub.peakConcurrentRequests()).isEqualTo(1);
+        assertThat(repositories).hasSize(205);
+        assertThat(repositories.get(204).getName()).isEqualTo("p3-4");
+    }
+
+    @Test
+    void shortFirstPageWithoutALinkHeaderIsTheOnlyPage() {
+        stub.route(REPOS_PATH, exchange -> page(page(exchange), 3));
+
+        assertThat(client.getUserRepositories("octo")).hasSize(3);
+        assertThat(stub.requestCount(REPOS_PATH)).isEqualTo(1);
+    }
+
+    private static int page(HttpExchange exchange) {
+        return Integer.parseInt(exchange.getRequestURI().getQuery().replaceAll(".*[?&]?page=(\\d+).*", "$1"));
+    }
+
+    private static String page(int page, int size) {
+        return IntStream.range(0, size)
+                .mapToObj(i -> "{\"name\":\"p%d-%d\",\"full_name\":\"octo/p%1$d-%2$d\"}".formatted(page, i))
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.miniproject.githubprofileanalyzer.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.miniproject.githubprofileanalyzer.client.ConditionalRequestCache;
+import org.miniproject.githubprofileanalyzer.client.GitHubConnectionWarmup;
+import org.miniproject.githubprofileanalyzer.client.GitHubRateLimiter;
+import org.miniproject.githubprofileanalyzer.client.GitHubRequestMetrics;
+import org.miniproject.githubprofileanalyzer.support.GitHubStubServer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GitHubConfigTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final List<ConnectionProvider> providers = new ArrayList<>();
+    private GitHubStubServer stub;
+
+    @BeforeEach
+    void setUp() {
+        // Reactor Netty publishes pool gauges to the global registry, which Spring Boot's registry joins
+        Metrics.addRegistry(registry);
+        stub = new GitHubStubServer()
+                .keepAlive()
+                .route("/rate_limit", "{\"resources\":{}}")
+                .route("/users/octo", "{\"login\":\"octo\"}");
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(registry);
+        providers.forEach(ConnectionProvider::dispose);
+        stub.close();
+    }
+
+    @Test
+    void http2IsOfferedOnlyOverTls() {
+        assertThat(httpClient(config("https://api.github.com")).configuration().protocols())
+                .containsExactlyInAnyOrder(HttpProtocol.H2, HttpProtocol.HTTP11);
+        assertThat(httpClient(config(stub.baseUrl())).configuration().protocols())
+                .containsExactly(HttpProtocol.HTTP11);
+    }
+
+    @Test
+    void warmUpOpensPooledConnectionsAndPoolGaugesArePublished() {
+        GitHubConfig config = config(stub.baseUrl());
+        HttpClient httpClient = httpClient(config);
+        WebClient webClient = config.gitHubWebClient(httpClient, new ConditionalRequestCache(DataSize.ofMegabytes(1), true),
+                new GitHubRateLimiter(0.2, Duration.ofSeconds(10), 32, 3, Duration.ofSeconds(1), Duration.ofSeconds(30)),
+                new GitHubRequestMetrics(registry));
+
+        Mono<Long> warmUp = ReflectionTestUtils.invokeMethod(new GitHubConnectionWarmup(httpClient, webClient, true, 2), "warmUp");
+        Long warmed = warmUp.block();
+
+        assertThat(warmed).isEqualTo(2);
+        assertThat(stub.requestCount("/rate_limit")).isEqualTo(2);
+        Gauge total = registry.find("reactor.netty.connection.provider.total.connections").tag("name", "github").gauge();
+        assertThat(total).isNotNull();
+        assertThat(total.value()).isEqualTo(2);
+        assertThat(registry.find("reactor.netty.connection.provider.max.connections").tag("name", "github").gauge().value())
+                .isEqualTo(8);
+
+        // Connections return to the pool just after the response completes; later requests reuse them
+        Gauge idle = registry.find("reactor.netty.connection.provider.idle.connections").tag("name", "github").gauge();
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (idle.value() < 2 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(idle.value()).isEqualTo(2);
+        webClient.get().uri("/users/octo").retrieve().toBodilessEntity().block();
+        assertThat(total.value()).isEqualTo(2);
+    }
+
+    private HttpClient httpClient(GitHubConfig config) {
+        ConnectionProvider provider = config.gitHubConnectionProvider();
+        providers.add(provider);
+        return config.gitHubHttpClient(provider);
+    }
+
+    private static GitHubConfig config(String baseUrl) {
+        GitHubConfig config = new GitHubConfig();
+        ReflectionTestUtils.setField(config, "baseUrl", baseUrl);
+        ReflectionTestUtils.setField(config, "token", "");
+        ReflectionTestUtils.setField(config, "maxInMemorySize", 1 << 20);
+        ReflectionTestUtils.setField(config, "http2", true);
+        ReflectionTestUtils.setField(config, "maxConnections", 8);
+        ReflectionTestUtils.setField(config, "maxConcurrentStreams", 100L);
+        ReflectionTestUtils.setField(config, "pendingAcquireTimeout", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(config, "maxIdleTime", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(config, "maxLifeTime", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(config, "evictInterval", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(config, "dnsCacheMaxTtl", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(config, "dnsCacheNegativeTtl", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(config, "dnsQueryTimeout", Duration.ofSeconds(5));
+        return config;
+    }
+}
@@ -0,0 +1,73 @@
+package org.miniproject.githubprofileanalyzer.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.miniproject.githubprofileanalyzer.client.ConditionalRequestCache;
+import org.miniproject.githubprofileanalyzer.client.GitHubRateLimiter;
+import org.miniproject.githubprofileanalyzer.dto.AnalysisResponse;
+import org.miniproject.githubprofileanalyzer.exception.GlobalExceptionHandler;
+import org.miniproject.githubprofileanalyzer.service.AnalysisMetrics;
+import org.miniproject.githubprofileanalyzer.service.AnalysisResultCache;
+import org.miniproject.githubprofileanalyzer.service.RepositorySnapshots;
+import org.miniproject.githubprofileanalyzer.support.ServiceFixture;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AdminControllerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AnalysisResultCache analysisResultCache = new AnalysisResultCache(objectMapper, Duration.ofMinutes(10), DataSize.ofMegabytes(1));
+
+    @Test
+    void callsWithoutTheConfiguredTokenAreRefused() throws Exception {
+        MockMvc mockMvc = mockMvc("s3cret");
+        analysisResultCache.put("octo", AnalysisResponse.builder().build());
+
+        mockMvc.perform(delete("/api/admin/analysis-cache"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.error").value("Unauthorized"));
+        mockMvc.perform(delete("/api/admin/analysis-cache").header(AdminController.TOKEN_HEADER, "guess"))
+                .andExpect(status().isUnauthorized());
+        assertThat(analysisResultCache.get("octo")).isNotNull();
+
+        mockMvc.perform(delete("/api/admin/analysis-cache").header(AdminController.TOKEN_HEADER, "s3cret"))
+                .andExpect(status().isNoContent());
+        assertThat(analysisResultCache.get("octo")).isNull();
+    }
+
+    @Test
+    void withoutAConfiguredTokenNothingIsLetIn() throws Exception {
+        MockMvc mockMvc = mockMvc("");
+
+        mockMvc.perform(get("/api/admin/rate-limit")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/admin/rate-limit").header(AdminController.TOKEN_HEADER, "")).andExpect(status().isUnauthorized());
+    }
+
+    private MockMvc mockMvc(String token) {
+        AdminController controller = new AdminController(
+                new ConditionalRequestCache(DataSize.ofKilobytes(100), true),
+                new GitHubRateLimiter(0.2, Duration.ofSeconds(10), 32, 3, Duration.ofSeconds(1), Duration.ofSeconds(30)),
+                analysisResultCache,
+                // Never called: the analysis service only reports its in-flight count here
+                ServiceFixture.analysisService(ServiceFixture.client(WebClient.create("http://127.0.0.1:9")), objectMapper,
+                        new SimpleMeterRegistry()),
+                ServiceFixture.disabledSnapshotStore(objectMapper),
+                new RepositorySnapshots(Duration.ZERO, 0));
+        ReflectionTestUtils.setField(controller, "adminToken", token);
+        return MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler(new AnalysisMetrics(new SimpleMeterRegistry())))
+                .build();
+    }
+}
@@ -0,0 +1,114 @@
+package org.miniproject.githubprofileanalyzer.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.miniproject.githubprofileanalyzer.dto.BatchAnalysisItem;
+import org.miniproject.githubprofileanalyzer.exception.GitHubApiException;
+import org.miniproject.githubprofileanalyzer.support.GitHubStubServer;
+import org.miniproject.githubprofileanalyzer.support.ServiceFixture;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AnalysisBatchTest {
+
+    private final AtomicInteger userLookupsInFlight = new AtomicInteger();
+    private final AtomicInteger peakUserLookups = new AtomicInteger();
+    private GitHubStubServer stub;
+    private AnalysisService analysisService;
+
+    @BeforeEach
+    void setUp() {
+        stub = ServiceFixture.octoStub();
+        analysisService = ServiceFixture.analysisService(ServiceFixture.client(stub), new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void inputsResolvingToTheSameUsernameAreAnalyzedOnce() {
+        List<BatchAnalysisItem> items = analysisService.analyzeBatch(
+                List.of("octo", "https://github.com/octo", " OCTO ", "https://www.github.com/octo/spoon-knife")).collectList().block();
+
+        assertThat(items).singleElement().satisfies(item -> {
+            assertThat(item.getInput()).isEqualTo("octo");
+            assertThat(item.getUsername()).isEqualTo("octo");
+            assertThat(item.getResult().getProfileMetrics().getActivityMetrics().getTotalStars()).isEqualTo(12);
+            assertThat(item.getError()).isNull();
+        });
+        assertThat(stub.requestCount("/users/octo")).isEqualTo(1);
+    }
+
+    @Test
+    void failuresAreReportedPerItemWithoutAbortingTheBatch() {
+        List<BatchAnalysisItem> items = analysisService.analyzeBatch(
+                List.of("ghost", "https://example.com/octo", "octo")).collectList().block();
+
+        assertThat(items).hasSize(3);
+        assertThat(items).filteredOn(item -> "octo".equals(item.getInput())).singleElement()
+                .satisfies(item -> assertThat(item.getResult()).isNotNull());
+        // An unknown user has a username but no result
+        assertThat(items).filteredOn(item -> "ghost".equals(item.getInput())).singleElement()
+                .satisfies(item -> {
+                    assertThat(item.getUsername()).isEqualTo("ghost");
+                    assertThat(item.getResult()).isNull();
+                    assertThat(item.getError()).isNotBlank();
+                });
+        // An invalid input is rejected before any request
+        assertThat(items).filteredOn(item -> "https://example.com/octo".equals(item.getInput())).singleElement()
+                .satisfies(item -> {
+                    assertThat(item.getUsername()).isNull();
+                    assertThat(item.getError()).startsWith("Invalid GitHub username or URL");
+                });
+    }
+
+    @Test
+    void batchLargerThanTheMaximumIsRejectedUpFront() {
+        List<String> usernames = IntStream.range(0, 11).mapToObj(i -> "user" + i).toList();
+
+        assertThatThrownBy(() -> analysisService.analyzeBatch(usernames))
+                .isInstanceOf(GitHubApiException.class)
+                .hasMessageContaining("at most 10");
+        assertThat(stub.requestCount("/users/user0")).isZero();
+    }
+
+    @Test
+    void atMostBatchConcurrencyUsersAreAnalyzedAtOnce() {
+        List<String> usernames = IntStream.range(0, 10).mapToObj(i -> "user" + i).toList();
+        for (String username : usernames) {
+            stub.route("/users/" + username, exchange -> slowUser(exchange, username))
+                    .route("/users/" + username + "/repos", "[]");
+        }
+
+        List<BatchAnalysisItem> items = analysisService.analyzeBatch(usernames).collectList().block();
+
+        assertThat(items).hasSize(10).allSatisfy(item -> assertThat(item.getError()).isNull());
+        // The fixture analyzes 4 users at a time
+        assertThat(peakUserLookups.get()).isBetween(2, 4);
+    }
+
+    private String slowUser(HttpExchange exchange, String username) {
+        peakUserLookups.accumulateAndGet(userLookupsInFlight.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(200);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            userLookupsInFlight.decrementAndGet();
+        }
+        return """
+                {"login":"%s","public_repos":0,"followers":0,"following":0,
+                 "created_at":"2015-01-01T00:00:00Z","updated_at":"2026-01-01T00:00:00Z"}""".formatted(username);
+    }
+}
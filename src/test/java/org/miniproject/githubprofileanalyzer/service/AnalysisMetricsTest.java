@@ -0,0 +1,88 @@
+package org.miniproject.githubprofileanalyzer.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.miniproject.githubprofileanalyzer.client.GitHubRequestMetrics;
+import org.miniproject.githubprofileanalyzer.dto.BatchAnalysisItem;
+import org.miniproject.githubprofileanalyzer.exception.GitHubApiException;
+import org.miniproject.githubprofileanalyzer.exception.GitHubRateLimitException;
+import org.miniproject.githubprofileanalyzer.support.GitHubStubServer;
+import org.miniproject.githubprofileanalyzer.support.ServiceFixture;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalysisMetricsTest {
+    
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private GitHubStubServer stub;
+    private AnalysisService analysisService;
+    
+    @BeforeEach
+    void setUp() {
+        stub = ServiceFixture.octoStub();
+        
+        WebClient webClient = WebClient.builder()
+                .baseUrl(stub.baseUrl())
+                .filter(new GitHubRequestMetrics(registry))
+                .build();
+        analysisService = ServiceFixture.analysisService(ServiceFixture.client(webClient), new ObjectMapper(), registry);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+    
+    @Test
+    void upstreamRequestsAreTimedPerEndpointTemplateAndStatus() {
+        analysisService.analyze("octo").block();
+        
+        assertThat(registry.get("github.api.requests").tags("endpoint", "/users/{username}", "status", "200").timer().count())
+                .isEqualTo(1);
+        assertThat(registry.get("github.api.requests").tags("endpoint", "/users/{username}/repos", "status", "200").timer().count())
+                .isEqualTo(1);
+        assertThat(registry.get("github.api.requests").tags("endpoint", "/repos/{owner}/{repo}/git/trees/{branch}").timer().count())
+                .isEqualTo(1);
+        
+        // Expanded paths never become tags
+        assertThat(registry.find("github.api.requests").meters())
+                .allSatisfy(meter -> assertThat(meter.getId().getTag("endpoint")).doesNotContain("octo"));
+    }
+    
+    @Test
+    void pipelineStagesAreTimed() {
+        analysisService.analyze("octo").block();
+        analysisService.analyze("octo").block();
+        
+        // The second call is a cache hit and runs no stage
+        for (String stage : List.of(AnalysisMetrics.CALCULATE_METRICS, AnalysisMetrics.GENERATE_INSIGHTS, AnalysisMetrics.SERIALIZATION)) {
+            assertThat(registry.get("analysis.stage").tags("stage", stage, "outcome", "success").timer().count())
+                    .as(stage).isEqualTo(1);
+        }
+    }
+    
+    @Test
+    void errorsAreCountedByCause() {
+        List<BatchAnalysisItem> items = analysisService.analyzeBatch(List.of("ghost", "https://example.com/octo")).collectList().block();
+        
+        assertThat(items).allSatisfy(item -> assertThat(item.getError()).isNotNull());
+        assertThat(registry.get("analysis.errors").tag("cause", "not_found").counter().count()).isEqualTo(1);
+        assertThat(registry.get("analysis.errors").tag("cause", "invalid_request").counter().count()).isEqualTo(1);
+        // The user and the repository listing are requested together; whichever 404 arrives first cancels the other
+        assertThat(registry.get("github.api.requests").tag("status", "404").timers())
+                .extracting(timer -> timer.getId().getTag("endpoint"))
+                .isSubsetOf("/users/{username}", "/users/{username}/repos")
+                .isNotEmpty();
+        
+        assertThat(AnalysisMetrics.causeOf(new GitHubRateLimitException("limited", 60))).isEqualTo("rate_limited");
+        assertThat(AnalysisMetrics.causeOf(new GitHubApiException("bad", new IllegalStateException()))).isEqualTo("upstream_other");
+        assertThat(AnalysisMetrics.causeOf(new IllegalStateException())).isEqualTo("internal");
+    }
+}
@@ -0,0 +1,96 @@
+package org.miniproject.githubprofileanalyzer.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.miniproject.githubprofileanalyzer.config.JacksonConfig;
+import org.miniproject.githubprofileanalyzer.dto.AnalysisResponse;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalysisResultCacheTest {
+    
+    private final ObjectMapper objectMapper = objectMapper();
+    private final AnalysisResultCache cache = new AnalysisResultCache(objectMapper, Duration.ofMinutes(10), DataSize.ofMegabytes(1));
+    
+    @Test
+    void cachedBytesAreTheSerializedResponseInBothEncodings() throws Exception {
+        AnalysisResponse response = response();
+        SerializedAnalysis entry = cache.put("Octocat", response);
+        
+        assertThat(cache.get("octocat")).isSameAs(entry);
+        assertThat(entry.response()).isSameAs(response);
+        assertThat(entry.json()).isEqualTo(objectMapper.writer(FieldSelection.DEFAULT.filters()).writeValueAsBytes(response));
+        // The default response body: everything but the static sections
+        JsonNode written = objectMapper.readTree(entry.json());
+        assertThat(written.get("executiveSummary").asText()).isEqualTo(response.getExecutiveSummary());
+        assertThat(written.get("recommendedAppFlow")).isNull();
+        assertThat(written.get("recommendedPages")).isNull();
+        
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(entry.gzip()))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(entry.json());
+        }
+        assertThat(entry.gzip().length).isLessThan(entry.json().length);
+        assertThat(entry.body(true)).isSameAs(entry.gzip());
+        assertThat(entry.body(false)).isSameAs(entry.json());
+    }
+    
+    @Test
+    void statsReportBytesServedCompressionAndSavedSerialization() {
+        SerializedAnalysis entry = cache.put("octocat", response());
+        
+        cache.recordServed(entry, true, false);
+        cache.recordServed(entry, true, true);
+        cache.recordServed(entry, false, true);
+        
+        Map<String, Object> stats = cache.getStats();
+        assertThat(stats.get("bytesServedGzip")).isEqualTo(2L * entry.gzip().length);
+        assertThat(stats.get("bytesServedIdentity")).isEqualTo((long) entry.json().length);
+        assertThat(stats.get("bytesServed")).isEqualTo(2L * entry.gzip().length + entry.json().length);
+        assertThat((double) stats.get("compressionRatio")).isEqualTo(entry.compressionRatio());
+        assertThat(stats.get("serializationTimeSavedMs"))
+                .isEqualTo(Duration.ofNanos(2 * entry.serializationNanos()).toMillis());
+    }
+    
+    @Test
+    void sizeIsBoundedByTheStoredBytesNotTheNumberOfEntries() {
+        SerializedAnalysis sample = cache.put("sample", response());
+        long entryBytes = sample.json().length + sample.gzip().length;
+        AnalysisResultCache bounded = new AnalysisResultCache(objectMapper, Duration.ofMinutes(10),
+                DataSize.ofBytes(10 * entryBytes));
+        
+        for (int i = 0; i < 50; i++) {
+            bounded.put("user" + i, response());
+        }
+        
+        Map<String, Object> stats = bounded.getStats();
+        assertThat((long) stats.get("bytes")).isLessThanOrEqualTo(10 * entryBytes);
+        assertThat((long) stats.get("entries")).isBetween(1L, 10L);
+        assertThat((long) stats.get("evictions")).isGreaterThanOrEqualTo(40L);
+    }
+    
+    private static ObjectMapper objectMapper() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        new JacksonConfig().fieldSelectionFilters().customize(builder);
+        return builder.build();
+    }
+    
+    private static AnalysisResponse response() {
+        return AnalysisResponse.builder()
+                .executiveSummary("A consistent contributor with several well documented projects. ".repeat(20))
+                .whatRecruitersNoticeFirst(Collections.nCopies(10, "Clear READMEs with setup instructions"))
+                .recommendedPages(StaticSections.RECOMMENDED_PAGES)
+                .recommendedFolderStructure(StaticSections.RECOMMENDED_FOLDER_STRUCTURE)
+                .recommendedAppFlow(List.of("User enters GitHub URL"))
+                .build();
+    }
+}
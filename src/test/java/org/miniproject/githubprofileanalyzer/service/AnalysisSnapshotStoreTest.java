@@ -0,0 +1,266 @@
+package org.miniproject.githubprofileanalyzer.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.miniproject.githubprofileanalyzer.config.JacksonConfig;
+import org.miniproject.githubprofileanalyzer.dto.AnalysisResponse;
+import org.miniproject.githubprofileanalyzer.support.GitHubStubServer;
+import org.miniproject.githubprofileanalyzer.support.ServiceFixture;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalysisSnapshotStoreTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final Duration RETENTION = Duration.ofDays(1);
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = objectMapper();
+    private final List<AnalysisSnapshotStore> stores = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        stores.forEach(AnalysisSnapshotStore::close);
+    }
+
+    @Test
+    void restartRestoresTheLatestAnalysisOfEveryUserWithTheSameBytes() {
+        AnalysisResultCache cache = new AnalysisResultCache(objectMapper, TTL, DataSize.ofMegabytes(1));
+        AnalysisSnapshotStore store = open(cache);
+        store.append("octo", cache.put("octo", response("first")));
+        SerializedAnalysis latest = cache.put("Octo", response("second"));
+        store.append("Octo", latest);
+        SerializedAnalysis other = cache.put("hubot", response("hubot"));
+        store.append("hubot", other);
+        store.close();
+
+        AnalysisResultCache restarted = new AnalysisResultCache(objectMapper, TTL, DataSize.ofMegabytes(1));
+        open(restarted);
+
+        SerializedAnalysis restored = restarted.get("octo");
+        assertThat(restored.json()).isEqualTo(latest.json());
+        assertThat(restored.gzip()).isEqualTo(latest.gzip());
+        assertThat(restored.analyzedAt()).isEqualTo(latest.analyzedAt().truncatedTo(ChronoUnit.MILLIS));
+        assertThat(restored.response().getExecutiveSummary()).isEqualTo("second");
+        assertThat(restored.response().getRecommendedPages()).isSameAs(StaticSections.RECOMMENDED_PAGES);
+        assertThat(restarted.get("hubot").json()).isEqualTo(other.json());
+    }
+
+    @Test
+    void evictedAnalysesAndOnesPastTheRetentionAreNotRestored() {
+        AnalysisResultCache cache = new AnalysisResultCache(objectMapper, TTL, DataSize.ofMegabytes(1));
+        AnalysisSnapshotStore store = open(cache);
+        store.append("octo", cache.put("octo", response("octo")));
+        store.append("hubot", cache.put("hubot", response("hubot")));
+        store.remove("octo");
+        store.append("monalisa", analyzedAgo(cache.put("monalisa", response("monalisa")), RETENTION.plusSeconds(1)));
+        store.close();
+
+        AnalysisResultCache restarted = new AnalysisResultCache(objectMapper, TTL, DataSize.ofMegabytes(1));
+        open(restarted);
+
+        assertThat(restarted.get("octo")).isNull();
+        assertThat(restarted.get("monalisa")).isNull();
+        assertThat(restarted.get("hubot")).isNotNull();
+    }
+
+    @Test
+    void analysisOlderThanTheTtlIsRestoredStale() {
+        AnalysisResultCache cache = new AnalysisResultCache(objectMapper, TTL, DataSize.ofMegabytes(1));
+        AnalysisSnapshotStore store = open(cache);
+        store.append("octo", analyzedAgo(cache.put("octo", response("octo")), TTL.plusMinutes(1)));
+        store.append("hubot", cache.put("hubot", response("hubot")));
+        store.close();
+
+        AnalysisResultCache restarted = new AnalysisResultCache(objectMapper, TTL, DataSize.ofMegabytes(1));
+        open(restarted);
+
+        assertThat(restarted.get("octo")).satisfies(entry -> {
+            assertThat(entry.response().getExecutiveSummary()).isEqualTo("octo");
+            assertThat(restarted.isStale(entry)).isTrue();
+        });
+        assertThat(restarted.isStale(restarted.get("hubot"))).isFalse();
+    }
+
+    @Test
+    void staleAnalysisIsServedOnceAndRefreshedInTheBackground() throws InterruptedException {
+        GitHubStubServer stub = ServiceFixture.octoStub();
+        try {
+            AnalysisService analysisService = ServiceFixture.analysisService(ServiceFixture.client(stub), objectMapper,
+                    new SimpleMeterRegistry());
+            AnalysisResultCache cache = (AnalysisResultCache) ReflectionTestUtils.getField(analysisService, "analysisResultCache");
+            AnalysisResultCache previous = new AnalysisResultCache(objectMapper, TTL, DataSize.ofMegabytes(1));
+            AnalysisSnapshotStore store = open(previous);
+            store.append("octo", analyzedAgo(previous.put("octo", response("from the snapshot")), TTL.plusMinutes(1)));
+            store.close();
+            open(cache);
+
+            assertThat(analysisService.analyze("octo").block().getExecutiveSummary()).isEqualTo("from the snapshot");
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (cache.isStale(cache.get("octo")) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(analysisService.analyze("octo").block().getProfileMetrics().getActivityMetrics().getTotalStars())
+                    .isEqualTo(12);
+            assertThat(stub.requestCount("/users/octo")).isEqualTo(1);
+        } finally {
+            stub.close();
+        }
+    }
+
+    @Test
+    void compactionKeepsOnlyLiveRecords() throws IOException {
+        AnalysisResultCache cache = new AnalysisResultCache(objectMapper, TTL, DataSize.ofMegabytes(1));
+        AnalysisSnapshotStore store = open(cache);
+        for (int i = 0; i < 20; i++) {
+            store.append("octo", cache.put("octo", response("version " + i)));
+        }
+        store.append("hubot", cache.put("hubot", response("hubot")));
+        store.flush();
+        long before = (int) store.getStats().get("logBytes");
+
+        store.compact();
+
+        assertThat(store.getStats().get("records")).isEqualTo(2);
+        assertThat((int) store.getStats().get("logBytes")).isLessThan((int) before / 5)
+                .isEqualTo(((Number) store.getStats().get("liveBytes")).intValue());
+
+        // Appends continue after the compacted records, and all of it survives a restart
+        store.append("monalisa", cache.put("monalisa", response("monalisa")));
+        store.close();
+        AnalysisResultCache restarted = new AnalysisResultCache(objectMapper, TTL, DataSize.ofMegabytes(1));
+        open(restarted);
+        assertThat(restarted.get("octo").response().getExecutiveSummary()).isEqualTo("version 19");
+        assertThat(restarted.get("hubot")).isNotNull();
+        assertThat(restarted.get("monalisa")).isNotNull();
+    }
+
+    @Test
+    void appendsQueuedWhileCompactingAreKept() throws Exception {
+        AnalysisResultCache cache = new AnalysisResultCache(objectMapper, TTL, DataSize.ofMegabytes(16));
+        AnalysisSnapshotStore store = open(cache);
+        Thread appender = Thread.ofPlatform().start(() -> {
+            for (int version = 0; version < 5; version++) {
+                for (int i = 0; i < 50; i++) {
+                    store.append("user" + i, cache.put("user" + i, response("user " + i + " version " + version)));
+                }
+                if (version == 2) {
+                    store.remove("user0");
+                }
+            }
+        });
+        while (appender.isAlive()) {
+            store.compact();
+        }
+        appender.join();
+        store.flush();
+        store.compact();
+        store.close();
+
+        AnalysisResultCache restarted = new AnalysisResultCache(objectMapper, TTL, DataSize.ofMegabytes(16));
+        open(restarted);
+        for (int i = 0; i < 50; i++) {
+            assertThat(restarted.get("user" + i).response().getExecutiveSummary()).isEqualTo("user " + i + " version 4");
+        }
+    }
+
+    @Test
+    void recordCutOffByACrashEndsTheLog() throws IOException {
+        AnalysisResultCache cache = new AnalysisResultCache(objectMapper, TTL, DataSize.ofMegabytes(1));
+        AnalysisSnapshotStore store = open(cache);
+        store.append("octo", cache.put("octo", response("octo")));
+        store.append("hubot", cache.put("hubot", response("hubot")));
+        store.flush();
+        int logBytes = (int) store.getStats().get("logBytes");
+        store.close();
+
+        // Flip a byte in the payload of the last record, as if its write never completed
+        try (FileChannel channel = FileChannel.open(directory.resolve("analyses.log"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x7f}), logBytes - 5);
+        }
+
+        AnalysisResultCache restarted = new AnalysisResultCache(objectMapper, TTL, DataSize.ofMegabytes(1));
+        AnalysisSnapshotStore reopened = open(restarted);
+        assertThat(restarted.get("octo")).isNotNull();
+        assertThat(restarted.get("hubot")).isNull();
+
+        // The torn record is overwritten by the next append
+        reopened.append("monalisa", restarted.put("monalisa", response("monalisa")));
+        reopened.close();
+        AnalysisResultCache again = new AnalysisResultCache(objectMapper, TTL, DataSize.ofMegabytes(1));
+        open(again);
+        assertThat(again.get("octo")).isNotNull();
+        assertThat(again.get("monalisa")).isNotNull();
+    }
+
+    @Test
+    void logGrowsPastItsInitialMapping() throws IOException {
+        AnalysisResultCache cache = new AnalysisResultCache(objectMapper, TTL, DataSize.ofMegabytes(16));
+        AnalysisSnapshotStore store = open(cache);
+        for (int i = 0; i < 200; i++) {
+            store.append("user" + i, cache.put("user" + i, response("user " + i)));
+        }
+        store.close();
+        assertThat(Files.size(directory.resolve("analyses.log"))).isGreaterThan(DataSize.ofKilobytes(4).toBytes());
+
+        AnalysisResultCache restarted = new AnalysisResultCache(objectMapper, TTL, DataSize.ofMegabytes(16));
+        open(restarted);
+        for (int i = 0; i < 200; i++) {
+            assertThat(restarted.get("user" + i).response().getExecutiveSummary()).isEqualTo("user " + i);
+        }
+    }
+
+    private AnalysisSnapshotStore open(AnalysisResultCache cache) {
+        AnalysisSnapshotStore store = new AnalysisSnapshotStore(cache, objectMapper, true, directory.toString(),
+                RETENTION, DataSize.ofKilobytes(4), Duration.ZERO, 0.5);
+        store.open();
+        stores.add(store);
+        return store;
+    }
+
+    private static SerializedAnalysis analyzedAgo(SerializedAnalysis entry, Duration age) {
+        return new SerializedAnalysis(entry.response(), entry.json(), entry.gzip(), entry.serializationNanos(),
+                Instant.now().minus(age));
+    }
+
+    private static AnalysisResponse response(String summary) {
+        return AnalysisResponse.builder()
+                .executiveSummary(summary)
+                .recommendedPages(StaticSections.RECOMMENDED_PAGES)
+                .uiUxEvaluation(StaticSections.UI_UX_EVALUATION)
+                .profileMetrics(AnalysisResponse.ProfileMetrics.builder()
+                        .username(summary)
+                        .overallScore(72)
+                        .grade("B")
+                        .scoreBreakdown(AnalysisResponse.ScoreBreakdown.builder().documentationQuality(80).build())
+                        .build())
+                .build();
+    }
+
+    private static ObjectMapper objectMapper() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        new JacksonConfig().fieldSelectionFilters().customize(builder);
+        return builder.build();
+    }
+}
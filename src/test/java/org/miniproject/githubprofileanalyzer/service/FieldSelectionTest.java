@@ -0,0 +1,91 @@
+package org.miniproject.githubprofileanalyzer.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.miniproject.githubprofileanalyzer.config.JacksonConfig;
+import org.miniproject.githubprofileanalyzer.dto.AnalysisResponse;
+import org.miniproject.githubprofileanalyzer.exception.GitHubApiException;
+import org.miniproject.githubprofileanalyzer.support.GitHubStubServer;
+import org.miniproject.githubprofileanalyzer.support.ServiceFixture;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FieldSelectionTest {
+
+    private GitHubStubServer stub;
+    private AnalysisService analysisService;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        stub = ServiceFixture.octoStub();
+
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        new JacksonConfig().fieldSelectionFilters().customize(builder);
+        objectMapper = builder.build();
+
+        analysisService = ServiceFixture.analysisService(ServiceFixture.client(stub), objectMapper, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void fetchLevelFollowsTheMostDemandingField() {
+        assertThat(FieldSelection.parse(List.of("recommendedPages,uiUxEvaluation")).fetch()).isEqualTo(FieldSelection.Fetch.NONE);
+        assertThat(FieldSelection.parse(List.of("profileAge", "username")).fetch()).isEqualTo(FieldSelection.Fetch.USER);
+        assertThat(FieldSelection.parse(List.of("topRepoSummary, profileAge")).fetch()).isEqualTo(FieldSelection.Fetch.REPOSITORIES);
+        assertThat(FieldSelection.parse(List.of("overallScore,grade,recruiterVerdict,redFlags")).fetch())
+                .isEqualTo(FieldSelection.Fetch.ENRICHED);
+        assertThat(FieldSelection.ALL.isComplete()).isTrue();
+
+        assertThatThrownBy(() -> FieldSelection.parse(List.of("grade,password"))).isInstanceOf(GitHubApiException.class);
+        assertThatThrownBy(() -> FieldSelection.parse(List.of(" , "))).isInstanceOf(GitHubApiException.class);
+    }
+
+    @Test
+    void onlySelectedPropertiesAreSerialized() throws Exception {
+        FieldSelection fields = FieldSelection.parse(List.of("overallScore,grade,recruiterVerdict,redFlags"));
+        AnalysisResponse response = analysisService.analyze("octo", fields).block();
+
+        assertThat(response.getExecutiveSummary()).isNull();
+        assertThat(response.getRecommendedFolderStructure()).isNull();
+
+        JsonNode json = objectMapper.readTree(objectMapper.writer(fields.filters()).writeValueAsString(response));
+        assertThat(json.fieldNames()).toIterable().containsExactlyInAnyOrder("recruiterVerdict", "redFlags", "profileMetrics");
+        assertThat(json.get("profileMetrics").fieldNames()).toIterable().containsExactlyInAnyOrder("overallScore", "grade");
+
+        // Without filters the same mapper writes everything, as for the unfiltered endpoint
+        JsonNode full = objectMapper.readTree(objectMapper.writeValueAsString(analysisService.analyze("octo").block()));
+        assertThat(full.size()).isGreaterThan(30);
+        assertThat(full.get("profileMetrics").has("scoreBreakdown")).isTrue();
+    }
+
+    @Test
+    void skipsUpstreamRequestsNoSelectedFieldNeeds() {
+        AnalysisResponse staticOnly = analysisService.analyze("octo", FieldSelection.parse(List.of("recommendedPages"))).block();
+        assertThat(staticOnly.getRecommendedPages()).isNotEmpty();
+        assertThat(stub.requestCount("/users/octo")).isZero();
+
+        analysisService.analyze("octo", FieldSelection.parse(List.of("profileAge,createdAt"))).block();
+        assertThat(stub.requestCount("/users/octo")).isEqualTo(1);
+        assertThat(stub.requestCount("/users/octo/repos")).isZero();
+
+        analysisService.analyze("octo", FieldSelection.parse(List.of("top3StrongestRepos"))).block();
+        assertThat(stub.requestCount("/users/octo/repos")).isEqualTo(1);
+        assertThat(stub.requestCount(ServiceFixture.OCTO_TREE_PATH)).isZero();
+
+        analysisService.analyze("octo", FieldSelection.parse(List.of("overallScore"))).block();
+        assertThat(stub.requestCount(ServiceFixture.OCTO_TREE_PATH)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,228 @@
+package org.miniproject.githubprofileanalyzer.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.miniproject.githubprofileanalyzer.client.GitHubApiClient;
+import org.miniproject.githubprofileanalyzer.dto.AnalysisResponse;
+import org.miniproject.githubprofileanalyzer.model.Repository;
+import org.miniproject.githubprofileanalyzer.support.GitHubStubServer;
+import org.miniproject.githubprofileanalyzer.support.ServiceFixture;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.InstanceOfAssertFactories.MAP;
+
+class GraphQlBackendTest {
+
+    private static final int REPOSITORY_COUNT = 250;
+    private static final int PAGE_SIZE = 100;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private GitHubStubServer stub;
+    private GitHubApiClient client;
+    private RepositoryEnrichmentService enrichmentService;
+    private ScoringService scoringService;
+
+    @BeforeEach
+    void setUp() {
+        stub = new GitHubStubServer()
+                .route("/users/octo", """
+                        {"login":"octo","public_repos":1,"created_at":"2015-01-01T00:00:00Z"}""")
+                .route("/users/octo/repos", """
+                        [{"name":"rest-repo","full_name":"octo/rest-repo","stargazers_count":7,"size":0}]""");
+
+        client = ServiceFixture.client(stub);
+        ReflectionTestUtils.setField(client, "backend", "graphql");
+        enrichmentService = ServiceFixture.enrichmentService(client);
+        scoringService = ServiceFixture.scoringService(client);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void analysisCostsOneRoundTripPerHundredRepositories() {
+        stub.route("/graphql", this::graphQlPage);
+
+        AnalysisResponse.ProfileMetrics metrics = scoringService.calculateMetrics("octo");
+
+        // User, pinned items and repository pages all come from /graphql; no REST listing, no tree requests
+        assertThat(stub.requestCount("/graphql")).isEqualTo((REPOSITORY_COUNT + PAGE_SIZE - 1) / PAGE_SIZE);
+        assertThat(stub.requestCount("/users/octo")).isZero();
+        assertThat(stub.requestCount("/users/octo/repos")).isZero();
+        assertThat(stub.requestCount("/repos/octo/repo-0/git/trees/main")).isZero();
+        assertThat(metrics.getUsername()).isEqualTo("octo");
+        assertThat(metrics.getActivityMetrics().getTotalStars()).isEqualTo(REPOSITORY_COUNT * 2);
+        assertThat(metrics.getPinnedRepoSummary()).containsExactly("repo-0 (2 ⭐, 0 forks) - Java");
+    }
+
+    @Test
+    void contentSignalsComeFromTheTopOfTheTree() {
+        stub.route("/graphql", this::graphQlPage);
+
+        List<Repository> repositories = enrichmentService.enrich(client.streamUserRepositories("octo")).collectList().block();
+
+        assertThat(repositories).hasSize(REPOSITORY_COUNT);
+        assertThat(repositories.get(0).getName()).isEqualTo("repo-0");
+        assertThat(repositories.get(REPOSITORY_COUNT - 1).getName()).isEqualTo("repo-" + (REPOSITORY_COUNT - 1));
+        Repository first = repositories.get(0);
+        assertThat(first.isHasReadme()).isTrue();
+        assertThat(first.isHasTests()).isTrue();
+        assertThat(first.isHasCi()).isTrue();
+        assertThat(first.isHasDeployment()).isTrue();
+        assertThat(first.getLanguages()).containsEntry("Java", 900).containsEntry("Shell", 100);
+        assertThat(first.getTopics()).containsExactly("cli");
+        assertThat(first.getContentPaths()).isNull();
+        assertThat(stub.requestCount("/graphql")).isEqualTo(3);
+    }
+
+    @Test
+    void fallsBackToRestWhenGraphQlFails() {
+        // No /graphql route: the stub answers 404
+        AnalysisResponse.ProfileMetrics metrics = scoringService.calculateMetrics("octo");
+
+        assertThat(stub.requestCount("/graphql")).isPositive();
+        assertThat(stub.requestCount("/users/octo")).isEqualTo(1);
+        assertThat(stub.requestCount("/users/octo/repos")).isEqualTo(1);
+        assertThat(metrics.getActivityMetrics().getTotalStars()).isEqualTo(7);
+        assertThat(metrics.getPinnedRepoSummary()).isEmpty();
+    }
+
+    @Test
+    void bothBackendsDeriveTheSameFlags() {
+        // complete has every signal at the top, rooted all but CI; nested keeps its tests deeper; plain has none
+        stub.route("/users/octo/repos", """
+                        [%s,%s,%s,%s]""".formatted(restRepository("complete"), restRepository("rooted"),
+                        restRepository("nested"), restRepository("plain")))
+                .route("/repos/octo/complete/git/trees/main", tree("README.md", "Dockerfile", ".github/workflows/ci.yml",
+                        "src/main/App.java", "src/test/AppTest.java"))
+                .route("/repos/octo/rooted/git/trees/main", tree("readme.rst", "fly.toml", "test/test_app.py", "app.py"))
+                .route("/repos/octo/nested/git/trees/main", tree("docs/README.md", ".circleci/config.yml",
+                        "backend/src/test/java/AppTest.java", "infra/k8s/app.yaml"))
+                .route("/repos/octo/plain/git/trees/main", tree("index.js", "lib/util.js"))
+                .route("/graphql", """
+                        {"data":{"user":{"login":"octo","followers":{"totalCount":0},"following":{"totalCount":0},
+                         "pinnedItems":{"nodes":[]},
+                         "repositories":{"totalCount":4,"pageInfo":{"hasNextPage":false},"nodes":[
+                          %s,%s,%s,%s]}}}}""".formatted(
+                        graphQlRepository("complete", """
+                                "root":{"entries":[{"name":"README.md","type":"blob"},{"name":"Dockerfile","type":"blob"},
+                                                   {"name":"src","type":"tree"},{"name":".github","type":"tree"}]},
+                                "src":{"entries":[{"name":"main","type":"tree"},{"name":"test","type":"tree"}]},
+                                "workflows":{"entries":[{"name":"ci.yml","type":"blob"}]}"""),
+                        graphQlRepository("rooted", """
+                                "root":{"entries":[{"name":"readme.rst","type":"blob"},{"name":"fly.toml","type":"blob"},
+                                                   {"name":"test","type":"tree"},{"name":"app.py","type":"blob"}]}"""),
+                        graphQlRepository("nested", """
+                                "root":{"entries":[{"name":"docs","type":"tree"},{"name":".circleci","type":"tree"},
+                                                   {"name":"backend","type":"tree"},{"name":"infra","type":"tree"}]},
+                                "docs":{"entries":[{"name":"README.md","type":"blob"}]}"""),
+                        graphQlRepository("plain", """
+                                "root":{"entries":[{"name":"index.js","type":"blob"},{"name":"lib","type":"tree"}]}""")));
+        GitHubApiClient restClient = ServiceFixture.client(stub);
+        ReflectionTestUtils.setField(restClient, "backend", "rest");
+
+        Map<String, RepositoryContentSignals> rest = flags(ServiceFixture.enrichmentService(restClient), restClient);
+        Map<String, RepositoryContentSignals> graphQl = flags(enrichmentService, client);
+
+        assertThat(graphQl).isEqualTo(rest);
+        assertThat(graphQl.get("rooted")).isEqualTo(new RepositoryContentSignals(true, true, false, true));
+        assertThat(graphQl.get("nested")).isEqualTo(new RepositoryContentSignals(true, true, true, true));
+        assertThat(graphQl.get("plain")).isEqualTo(RepositoryContentSignals.NONE);
+        // Only the repositories without tests at the top cost GraphQL a tree request
+        assertThat(stub.requestCount("/repos/octo/complete/git/trees/main")).isEqualTo(1);
+        assertThat(stub.requestCount("/repos/octo/rooted/git/trees/main")).isEqualTo(1);
+        assertThat(stub.requestCount("/repos/octo/nested/git/trees/main")).isEqualTo(2);
+        assertThat(stub.requestCount("/repos/octo/plain/git/trees/main")).isEqualTo(2);
+    }
+
+    @Test
+    void progressiveProfileEventReusesTheGraphQlUser() {
+        stub.route("/graphql", this::graphQlPage);
+        AnalysisService analysisService = ServiceFixture.analysisService(client, objectMapper, new SimpleMeterRegistry());
+
+        List<ServerSentEvent<Object>> events = analysisService.analyzeProgressively("octo").collectList().block();
+
+        assertThat(events.get(0).event()).isEqualTo("profile");
+        assertThat(events.get(0).data()).asInstanceOf(MAP).containsEntry("public_repos", REPOSITORY_COUNT);
+        assertThat(stub.requestCount("/users/octo")).isZero();
+        assertThat(stub.requestCount("/graphql")).isEqualTo((REPOSITORY_COUNT + PAGE_SIZE - 1) / PAGE_SIZE);
+    }
+
+    private static Map<String, RepositoryContentSignals> flags(RepositoryEnrichmentService service, GitHubApiClient client) {
+        return service.enrich(client.streamUserRepositories("octo"))
+                .collectMap(Repository::getName, repo -> new RepositoryContentSignals(
+                        repo.isHasReadme(), repo.isHasTests(), repo.isHasCi(), repo.isHasDeployment()))
+                .block();
+    }
+
+    private static String restRepository(String name) {
+        return """
+                {"name":"%1$s","full_name":"octo/%1$s","size":10,"default_branch":"main",
+                 "pushed_at":"2026-01-01T00:00:00Z"}""".formatted(name);
+    }
+
+    private static String graphQlRepository(String name, String entries) {
+        return """
+                {"name":"%1$s","nameWithOwner":"octo/%1$s","diskUsage":10,"defaultBranchRef":{"name":"main"},
+                 "pushedAt":"2026-01-01T00:00:00Z",%2$s}""".formatted(name, entries);
+    }
+
+    private static String tree(String... paths) {
+        String entries = Arrays.stream(paths).map(path -> "{\"path\":\"" + path + "\"}").collect(Collectors.joining(","));
+        return "{\"sha\":\"" + paths[0].hashCode() + "\",\"truncated\":false,\"tree\":[" + entries + "]}";
+    }
+
+    private String graphQlPage(HttpExchange exchange) {
+        JsonNode request;
+        try {
+            request = objectMapper.readTree(exchange.getRequestBody());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        JsonNode cursor = request.path("variables").path("cursor");
+        int start = cursor.isNull() ? 0 : Integer.parseInt(cursor.asText());
+        int end = Math.min(start + PAGE_SIZE, REPOSITORY_COUNT);
+
+        String nodes = IntStream.range(start, end)
+                .mapToObj(i -> """
+                        {"name":"repo-%1$d","nameWithOwner":"octo/repo-%1$d","isFork":false,"stargazerCount":2,
+                         "forkCount":0,"primaryLanguage":{"name":"Java"},"diskUsage":10,"defaultBranchRef":{"name":"main"},
+                         "createdAt":"2020-01-01T00:00:00Z","updatedAt":"2026-01-01T00:00:00Z","pushedAt":"2026-01-01T00:00:00Z",
+                         "languages":{"edges":[{"size":900,"node":{"name":"Java"}},{"size":100,"node":{"name":"Shell"}}]},
+                         "repositoryTopics":{"nodes":[{"topic":{"name":"cli"}}]},
+                         "root":{"entries":[{"name":"README.md","type":"blob"},{"name":"src","type":"tree"},
+                                            {"name":"pom.xml","type":"blob"},{"name":"Dockerfile","type":"blob"}]},
+                         "src":{"entries":[{"name":"main","type":"tree"},{"name":"test","type":"tree"}]},
+                         "workflows":{"entries":[{"name":"build.yml","type":"blob"}]}}""".formatted(i))
+                .collect(Collectors.joining(","));
+        String repositories = """
+                "repositories":{"totalCount":%d,"pageInfo":{"hasNextPage":%b,"endCursor":"%d"},"nodes":[%s]}"""
+                .formatted(REPOSITORY_COUNT, end < REPOSITORY_COUNT, end, nodes);
+
+        if (!cursor.isNull()) {
+            return "{\"data\":{\"user\":{" + repositories + "}}}";
+        }
+        return """
+                {"data":{"user":{"login":"octo","createdAt":"2015-01-01T00:00:00Z","updatedAt":"2026-01-01T00:00:00Z",
+                 "followers":{"totalCount":3},"following":{"totalCount":1},
+                 "pinnedItems":{"nodes":[{"name":"repo-0","stargazerCount":2,"forkCount":0,"primaryLanguage":{"name":"Java"}}]},
+                 %s}}}""".formatted(repositories);
+    }
+}
@@ -0,0 +1,104 @@
+package org.miniproject.githubprofileanalyzer.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.miniproject.githubprofileanalyzer.dto.OrganizationAnalysisProgress;
+import org.miniproject.githubprofileanalyzer.exception.GitHubApiException;
+import org.miniproject.githubprofileanalyzer.support.GitHubStubServer;
+import org.miniproject.githubprofileanalyzer.support.ServiceFixture;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrganizationAnalysisServiceTest {
+
+    private static final int MEMBERS = 130;
+
+    private GitHubStubServer stub;
+    private OrganizationAnalysisService organizationAnalysisService;
+
+    @BeforeEach
+    void setUp() {
+        stub = new GitHubStubServer().route("/orgs/acme/members", this::memberPage);
+        for (int i = 0; i < MEMBERS; i++) {
+            // member-7 was deleted after the listing
+            if (i == 7) {
+                continue;
+            }
+            String login = "member-" + i;
+            stub.route("/users/" + login, """
+                    {"login":"%s","public_repos":%d,"followers":%d,"following":1,
+                     "created_at":"2015-01-01T00:00:00Z","updated_at":"2026-01-01T00:00:00Z"}"""
+                    .formatted(login, i % 5, i));
+            stub.route("/users/" + login + "/repos", repositories(login, i % 5, i % 2 == 0 ? "Java" : "Go"));
+        }
+
+        organizationAnalysisService = ServiceFixture.organizationAnalysisService(ServiceFixture.client(stub),
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void aggregatesAreStreamedAsMembersCompleteAcrossMemberPages() {
+        List<OrganizationAnalysisProgress> progress = organizationAnalysisService.analyzeOrganization("acme")
+                .collectList()
+                .block();
+
+        assertThat(stub.requestCount("/orgs/acme/members")).isEqualTo(2);
+        assertThat(progress).hasSizeGreaterThan(5);
+        assertThat(progress.subList(0, progress.size() - 1)).noneMatch(OrganizationAnalysisProgress::isComplete);
+        assertThat(progress.get(0).getMembersAnalyzed() + progress.get(0).getMembersFailed()).isEqualTo(25);
+
+        OrganizationAnalysisProgress result = progress.get(progress.size() - 1);
+        assertThat(result.isComplete()).isTrue();
+        assertThat(result.getError()).isNull();
+        assertThat(result.getMembersAnalyzed()).isEqualTo(MEMBERS - 1);
+        assertThat(result.getMembersFailed()).isEqualTo(1);
+        assertThat(result.getScoreDistribution().values().stream().mapToInt(Integer::intValue).sum())
+                .isEqualTo(MEMBERS - 1);
+        assertThat(result.getGradeDistribution().values().stream().mapToInt(Integer::intValue).sum())
+                .isEqualTo(MEMBERS - 1);
+        assertThat(result.getMedianScore()).isBetween(0, 100);
+        assertThat(result.getP90Score()).isGreaterThanOrEqualTo(result.getMedianScore());
+        assertThat(result.getLanguageMix()).containsOnlyKeys("Java", "Go");
+
+        List<OrganizationAnalysisProgress.RankedMember> top = result.getTopMembers().get("overallScore");
+        assertThat(top).hasSize(5);
+        assertThat(top).isSortedAccordingTo((a, b) -> Integer.compare(b.getScore(), a.getScore()));
+        assertThat(result.getTopMembers()).containsKeys("documentationQuality", "technicalDepth");
+    }
+
+    @Test
+    void unknownOrganizationFailsTheStream() {
+        assertThatThrownBy(() -> organizationAnalysisService.analyzeOrganization("ghost").collectList().block())
+                .isInstanceOf(GitHubApiException.class)
+                .hasMessageContaining("Organization not found: ghost");
+    }
+
+    private String memberPage(HttpExchange exchange) {
+        int page = Integer.parseInt(exchange.getRequestURI().getQuery().replaceAll(".*page=(\\d+).*", "$1"));
+        return IntStream.range((page - 1) * 100, Math.min(page * 100, MEMBERS))
+                .mapToObj(i -> "{\"login\":\"member-" + i + "\"}")
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private static String repositories(String login, int count, String language) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> """
+                        {"name":"project-%2$d","full_name":"%1$s/project-%2$d","language":"%3$s","stargazers_count":%2$d,
+                         "created_at":"2020-01-01T00:00:00Z","updated_at":"2026-01-01T00:00:00Z","pushed_at":"2026-01-01T00:00:00Z"}"""
+                        .formatted(login, i, language))
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+}
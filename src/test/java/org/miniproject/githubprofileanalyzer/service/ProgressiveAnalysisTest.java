@@ -0,0 +1,83 @@
+package org.miniproject.githubprofileanalyzer.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.miniproject.githubprofileanalyzer.dto.AnalysisResponse;
+import org.miniproject.githubprofileanalyzer.support.GitHubStubServer;
+import org.miniproject.githubprofileanalyzer.support.GitHubStubServer.Response;
+import org.miniproject.githubprofileanalyzer.support.ServiceFixture;
+import org.springframework.http.codec.ServerSentEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.InstanceOfAssertFactories.MAP;
+
+class ProgressiveAnalysisTest {
+
+    private GitHubStubServer stub;
+    private AnalysisService analysisService;
+
+    @BeforeEach
+    void setUp() {
+        stub = ServiceFixture.octoStub();
+        analysisService = ServiceFixture.analysisService(ServiceFixture.client(stub), new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void profileComesFirstThenMetricsAndSectionsThenComplete() {
+        List<ServerSentEvent<Object>> events = analysisService.analyzeProgressively("octo").collectList().block();
+
+        List<String> expected = new ArrayList<>(List.of("profile", "metrics", "scoreBreakdown"));
+        Arrays.stream(InsightSection.values()).map(InsightSection::getEventName).forEach(expected::add);
+        expected.add("complete");
+        assertThat(events).extracting(ServerSentEvent::event).containsExactlyElementsOf(expected);
+
+        assertThat(events.get(0).data()).asInstanceOf(MAP).containsEntry("login", "octo");
+        assertThat(events.get(1).data()).isInstanceOfSatisfying(AnalysisResponse.ProfileMetrics.class,
+                metrics -> assertThat(metrics.getActivityMetrics().getTotalStars()).isEqualTo(12));
+        assertThat(events.get(events.size() - 1).data()).isEqualTo(Map.of("username", "octo"));
+        // The profile event and the analysis share one user lookup
+        assertThat(stub.requestCount("/users/octo")).isEqualTo(1);
+    }
+
+    @Test
+    void unknownUserEndsTheStreamWithAnErrorEvent() {
+        List<ServerSentEvent<Object>> events = analysisService.analyzeProgressively("ghost").collectList().block();
+
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.event()).isEqualTo("error");
+            assertThat(event.data()).asInstanceOf(MAP)
+                    .containsEntry("error", "GitHub API Error")
+                    .containsKey("message");
+        });
+    }
+
+    @Test
+    void failureAfterTheProfileKeepsTheProfileAndReplacesTheRestWithAnError() {
+        // mergeSequential fails as soon as the analysis does, so the failure has to come after the profile
+        stub.respond("/users/octo/repos", exchange -> {
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Response.status(500).withBody("{}");
+        });
+
+        List<ServerSentEvent<Object>> events = analysisService.analyzeProgressively("octo").collectList().block();
+
+        assertThat(events).extracting(ServerSentEvent::event).containsExactly("profile", "error");
+    }
+}
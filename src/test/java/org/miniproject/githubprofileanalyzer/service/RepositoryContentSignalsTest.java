@@ -0,0 +1,44 @@
+package org.miniproject.githubprofileanalyzer.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepositoryContentSignalsTest {
+    
+    @Test
+    void detectsAllSignalsFromTypicalSpringProject() {
+        RepositoryContentSignals signals = RepositoryContentSignals.fromPaths(List.of(
+                "README.md",
+                "pom.xml",
+                "Dockerfile",
+                ".github/workflows/build.yml",
+                "src/main/java/com/example/App.java",
+                "src/test/java/com/example/AppTests.java"));
+        
+        assertThat(signals).isEqualTo(new RepositoryContentSignals(true, true, true, true));
+    }
+    
+    @Test
+    void nestedReadmeAndPlainSourcesAreNotSignals() {
+        RepositoryContentSignals signals = RepositoryContentSignals.fromPaths(List.of(
+                "lib/vendor/README.txt",
+                "index.js",
+                "latest/contest.js"));
+        
+        assertThat(signals).isEqualTo(RepositoryContentSignals.NONE);
+    }
+    
+    @Test
+    void detectsJavaScriptSpecsAndNetlifyDeployment() {
+        RepositoryContentSignals signals = RepositoryContentSignals.fromPaths(List.of(
+                "frontend/src/App.spec.tsx",
+                "frontend/netlify.toml"));
+        
+        assertThat(signals.hasTests()).isTrue();
+        assertThat(signals.hasDeployment()).isTrue();
+        assertThat(signals.hasCi()).isFalse();
+    }
+}
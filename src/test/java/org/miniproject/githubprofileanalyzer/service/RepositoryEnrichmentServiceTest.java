@@ -0,0 +1,78 @@
+package org.miniproject.githubprofileanalyzer.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.miniproject.githubprofileanalyzer.client.GitHubApiClient;
+import org.miniproject.githubprofileanalyzer.model.Repository;
+import org.miniproject.githubprofileanalyzer.support.GitHubStubServer;
+import org.miniproject.githubprofileanalyzer.support.ServiceFixture;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepositoryEnrichmentServiceTest {
+
+    private static final String TREE_PATH = "/repos/octo/app/git/trees/main";
+
+    private GitHubStubServer stub;
+    private GitHubApiClient client;
+    private RepositoryEnrichmentService enrichmentService;
+
+    @BeforeEach
+    void setUp() {
+        stub = new GitHubStubServer();
+        client = ServiceFixture.client(stub);
+        enrichmentService = ServiceFixture.enrichmentService(client);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void unchangedRepositoryIsNotFetchedTwice() {
+        stub.route(TREE_PATH, """
+                {"sha":"abc","truncated":false,"tree":[{"path":"README.md"},{"path":"src/test/AppTest.java"}]}""");
+
+        Repository first = enrich(repository());
+        Repository second = enrich(repository());
+
+        assertThat(stub.requestCount(TREE_PATH)).isEqualTo(1);
+        assertThat(first.isHasReadme()).isTrue();
+        assertThat(first.isHasTests()).isTrue();
+        assertThat(second.isHasReadme()).isTrue();
+        assertThat(second.isHasTests()).isTrue();
+    }
+
+    @Test
+    void truncatedTreeKeepsWhatWasFoundButIsNotCached() {
+        stub.route(TREE_PATH, """
+                {"sha":"abc","truncated":true,"tree":[{"path":"README.md"}]}""");
+
+        Repository first = enrich(repository());
+        enrich(repository());
+
+        assertThat(first.isHasReadme()).isTrue();
+        assertThat(first.isHasTests()).isFalse();
+        // Neither the revision nor the SHA was cached, so the second analysis asks again
+        assertThat(stub.requestCount(TREE_PATH)).isEqualTo(2);
+    }
+
+    private Repository enrich(Repository repository) {
+        return enrichmentService.enrich(Flux.just(repository)).blockLast();
+    }
+
+    private static Repository repository() {
+        return Repository.builder()
+                .name("app")
+                .fullName("octo/app")
+                .size(10)
+                .defaultBranch("main")
+                .pushedAt(LocalDateTime.of(2026, 1, 1, 0, 0))
+                .build();
+    }
+}
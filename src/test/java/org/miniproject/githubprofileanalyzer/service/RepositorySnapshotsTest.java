@@ -0,0 +1,145 @@
+package org.miniproject.githubprofileanalyzer.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.miniproject.githubprofileanalyzer.dto.AnalysisResponse;
+import org.miniproject.githubprofileanalyzer.model.Repository;
+import org.miniproject.githubprofileanalyzer.support.GitHubStubServer;
+import org.miniproject.githubprofileanalyzer.support.GitHubStubServer.Response;
+import org.miniproject.githubprofileanalyzer.support.ServiceFixture;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepositorySnapshotsTest {
+
+    private static final String REPOS_PATH = "/users/octo/repos";
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    // name, stars, updated_at; kept most recently updated first, like GitHub's sort=updated
+    private final List<StubRepository> repositories = new ArrayList<>();
+    // Names of the repositories with content, which enrichment fetches the tree of
+    private final Set<String> withContent = new HashSet<>();
+
+    private GitHubStubServer stub;
+    private RepositorySnapshots snapshots;
+    private ScoringService scoringService;
+
+    private record StubRepository(String name, int stars, LocalDateTime updatedAt) {
+    }
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 150; i++) {
+            repositories.add(new StubRepository("repo-" + i, 1, BASE_TIME.minusHours(i)));
+        }
+        stub = new GitHubStubServer()
+                .route("/users/octo", exchange -> """
+                        {"login":"octo","public_repos":%d,"followers":3,"following":1,
+                         "created_at":"2015-01-01T00:00:00Z","updated_at":"2026-01-01T00:00:00Z"}"""
+                        .formatted(repositories.size()))
+                .route(REPOS_PATH, this::repositoryPage);
+
+        snapshots = new RepositorySnapshots(Duration.ofDays(7), 100);
+        scoringService = ServiceFixture.scoringService(ServiceFixture.client(stub), snapshots);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void reAnalysisListsOnlyTheRepositoriesUpdatedSinceTheSnapshot() {
+        AnalysisResponse.ProfileMetrics first = scoringService.calculateMetrics("octo");
+        assertThat(stub.requestCount(REPOS_PATH)).isEqualTo(2);
+        assertThat(first.getActivityMetrics().getTotalStars()).isEqualTo(150);
+
+        // An old repository on the second page gets pushed to and starred
+        repositories.remove(140);
+        repositories.add(0, new StubRepository("repo-140", 51, BASE_TIME.plusMinutes(5)));
+
+        AnalysisResponse.ProfileMetrics second = scoringService.calculateMetrics("octo");
+
+        assertThat(stub.requestCount(REPOS_PATH)).isEqualTo(3);
+        assertThat(second.getActivityMetrics().getTotalStars()).isEqualTo(200);
+        assertThat(snapshots.getStats())
+                .containsEntry("incrementalListings", 1L)
+                .containsEntry("fullListings", 1L)
+                .containsEntry("inconsistentFallbacks", 0L);
+    }
+
+    @Test
+    void deletedRepositoryFallsBackToAFullListing() {
+        scoringService.calculateMetrics("octo");
+
+        repositories.remove(120);
+        AnalysisResponse.ProfileMetrics metrics = scoringService.calculateMetrics("octo");
+
+        // Page 1 for the incremental attempt, then both pages again
+        assertThat(stub.requestCount(REPOS_PATH)).isEqualTo(5);
+        assertThat(metrics.getActivityMetrics().getTotalStars()).isEqualTo(149);
+        assertThat(snapshots.getStats())
+                .containsEntry("fullListings", 2L)
+                .containsEntry("inconsistentFallbacks", 1L);
+    }
+
+    @Test
+    void repositoryLeftUnenrichedIsEnrichedByTheNextAnalysis() {
+        String treePath = "/repos/octo/repo-5/git/trees/main";
+        AtomicBoolean treeAvailable = new AtomicBoolean();
+        withContent.add("repo-5");
+        stub.respond(treePath, exchange -> treeAvailable.get()
+                ? Response.ok("{\"sha\":\"abc\",\"truncated\":false,\"tree\":[{\"path\":\"README.md\"}]}")
+                : Response.status(502));
+
+        scoringService.calculateMetrics("octo");
+        assertThat(snapshotted("repo-5").isEnriched()).isFalse();
+        assertThat(snapshotted("repo-5").isHasReadme()).isFalse();
+
+        // Nothing was pushed, but the failed tree request is tried again
+        treeAvailable.set(true);
+        scoringService.calculateMetrics("octo");
+
+        assertThat(stub.requestCount(treePath)).isEqualTo(2);
+        assertThat(snapshots.getStats()).containsEntry("incrementalListings", 1L);
+        assertThat(snapshotted("repo-5").isEnriched()).isTrue();
+        assertThat(snapshotted("repo-5").isHasReadme()).isTrue();
+
+        // Once enriched it costs nothing
+        scoringService.calculateMetrics("octo");
+        assertThat(stub.requestCount(treePath)).isEqualTo(2);
+    }
+
+    private Repository snapshotted(String name) {
+        return snapshots.get("octo").repositories().stream()
+                .filter(repo -> repo.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private String repositoryPage(HttpExchange exchange) {
+        String query = exchange.getRequestURI().getQuery();
+        int page = Integer.parseInt(query.replaceAll(".*page=(\\d+).*", "$1"));
+        List<StubRepository> items = repositories.subList(
+                Math.min((page - 1) * 100, repositories.size()), Math.min(page * 100, repositories.size()));
+        return items.stream()
+                .map(repo -> """
+                        {"name":"%1$s","full_name":"octo/%1$s","stargazers_count":%2$d,"forks_count":0,"size":%4$d,
+                         "default_branch":"main","created_at":"2020-01-01T00:00:00Z","updated_at":"%3$sZ","pushed_at":"%3$sZ"}"""
+                        .formatted(repo.name(), repo.stars(), repo.updatedAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME),
+                                withContent.contains(repo.name()) ? 10 : 0))
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+}
@@ -0,0 +1,33 @@
+package org.miniproject.githubprofileanalyzer.service;
+
+import org.junit.jupiter.api.Test;
+import org.miniproject.githubprofileanalyzer.model.Repository;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepositoryTableTest {
+
+    @Test
+    void storesColumnsAndGrowsPastInitialCapacity() {
+        RepositoryTable table = new RepositoryTable(1);
+        table.add(Repository.builder().name("api").stargazersCount(5).forksCount(2).size(40).language("Java")
+                .pushedAt(LocalDateTime.of(1970, 1, 1, 0, 1)).build());
+        table.add(Repository.builder().name("fork").fork(true).language("Go").build());
+        table.add(Repository.builder().name("web").language("Java").build());
+
+        assertThat(table.size()).isEqualTo(3);
+        assertThat(table.name(0)).isEqualTo("api");
+        assertThat(table.stars(0)).isEqualTo(5);
+        assertThat(table.forks(0)).isEqualTo(2);
+        assertThat(table.repositorySize(0)).isEqualTo(40);
+        assertThat(table.pushedAt(0)).isEqualTo(60);
+        assertThat(table.createdAt(0)).isEqualTo(RepositoryTable.NO_TIMESTAMP);
+        assertThat(table.isFork(1)).isTrue();
+        assertThat(table.isFork(2)).isFalse();
+        assertThat(table.language(1)).isEqualTo("Go");
+        // Languages are dictionary encoded
+        assertThat(table.languageId(2)).isEqualTo(table.languageId(0));
+    }
+}
@@ -0,0 +1,127 @@
+package org.miniproject.githubprofileanalyzer.service;
+
+import org.junit.jupiter.api.Test;
+import org.miniproject.githubprofileanalyzer.dto.AnalysisResponse;
+import org.miniproject.githubprofileanalyzer.model.GitHubUser;
+import org.miniproject.githubprofileanalyzer.model.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoringKernelTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 1, 12, 0, 30, 500_000_000);
+    private static final String[] LANGUAGES = {"Java", "Python", "TypeScript", "Go", "Rust", "C", "Kotlin", ""};
+    private static final String[] TOPICS = {"testing", "deployment", "production", "spring", "cli", "demo"};
+    private static final String[] NAMES = {"api", "test-suite", "demo-app", "template", "portfolio", "attempt", "web", "a\ntest"};
+
+    private final ScoringService scoringService = new ScoringService(null, null, null);
+
+    @Test
+    void matchesLegacyScoringForRandomProfiles() {
+        Random random = new Random(42);
+        int[] sizes = {0, 1, 2, 3, 5, 6, 20, 49, 50, 51, 300};
+
+        for (int round = 0; round < 500; round++) {
+            GitHubUser user = user(random);
+            List<Repository> repositories = repositories(random, sizes[round % sizes.length]);
+
+            AnalysisResponse.ProfileMetrics expected = new LegacyScoring(NOW).buildMetrics(user, repositories);
+            // Scores match bit for bit; legacy ties between languages followed HashMap layout, the kernel's
+            // follow first encounter
+            expected.getActivityMetrics().setPrimaryLanguages(primaryLanguages(repositories));
+            AnalysisResponse.ProfileMetrics actual = scoringService.buildMetrics(user, repositories, NOW);
+
+            assertThat(actual).as("round %d", round).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void tiedLanguagesKeepFirstEncounterOrder() {
+        List<Repository> repositories = new ArrayList<>();
+        for (String language : List.of("Rust", "Go", "Java", "Go", "Rust", "C", "Zig", "Kotlin", "Ada")) {
+            repositories.add(Repository.builder().name("repo").language(language).build());
+        }
+        GitHubUser user = new GitHubUser();
+        user.setCreatedAt(NOW.minusYears(1));
+
+        AnalysisResponse.ProfileMetrics metrics = scoringService.buildMetrics(user, repositories, NOW);
+
+        assertThat(metrics.getActivityMetrics().getPrimaryLanguages()).containsExactly("Rust", "Go", "Java", "C", "Zig");
+    }
+
+    @Test
+    void scratchNameCheckAgreesWithRegex() {
+        Pattern legacy = Pattern.compile(".*test.*|.*demo.*|.*temp.*");
+        for (String name : List.of("test", "my-test-repo", "latest", "demo", "tempo", "api", "", "a\ntest", "test\n",
+                "a\rdemo ", "no-match\n", "Test", "dem o", "te\u0085mp")) {
+            assertThat(RepositoryTable.isScratchName(name)).as(name).isEqualTo(legacy.matcher(name).matches());
+        }
+    }
+
+    /**
+     * Languages of the original repositories, most used first, ties in first-encounter order
+     */
+    private static List<String> primaryLanguages(List<Repository> repositories) {
+        Map<String, Long> counts = repositories.stream()
+                .filter(repository -> !repository.isFork() && repository.getLanguage() != null)
+                .collect(Collectors.groupingBy(Repository::getLanguage, LinkedHashMap::new, Collectors.counting()));
+        // A stable sort keeps the encounter order of equal counts
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(5)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private static GitHubUser user(Random random) {
+        GitHubUser user = new GitHubUser();
+        user.setLogin("octo");
+        user.setPublicRepos(random.nextInt(100));
+        user.setCreatedAt(NOW.minusDays(1 + random.nextInt(3000)));
+        return user;
+    }
+
+    private static List<Repository> repositories(Random random, int count) {
+        List<Repository> repositories = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<String> topics = new ArrayList<>();
+            for (String topic : TOPICS) {
+                if (random.nextInt(6) == 0) topics.add(topic);
+            }
+
+            repositories.add(Repository.builder()
+                    .name(NAMES[random.nextInt(NAMES.length)] + i)
+                    .fullName("octo/repo" + i)
+                    .description(switch (random.nextInt(4)) {
+                        case 0 -> null;
+                        case 1 -> "";
+                        case 2 -> "Short one";
+                        default -> "A considerably longer description of the project";
+                    })
+                    .language(switch (random.nextInt(8)) {
+                        case 0 -> null;
+                        case 1 -> "Lang" + random.nextInt(60); // enough distinct keys to resize the count map
+                        default -> LANGUAGES[random.nextInt(LANGUAGES.length)];
+                    })
+                    .stargazersCount(random.nextInt(4) == 0 ? random.nextInt(300) : random.nextInt(8))
+                    .forksCount(random.nextInt(5) == 0 ? random.nextInt(40) : random.nextInt(3))
+                    .fork(random.nextInt(5) == 0)
+                    .topics(topics)
+                    .pushedAt(random.nextInt(10) == 0 ? null : NOW.withNano(0).minusDays(random.nextInt(200)).plusSeconds(random.nextInt(3) - 1))
+                    .hasReadme(random.nextBoolean())
+                    .hasTests(random.nextInt(10) == 0)
+                    .hasDeployment(random.nextInt(10) == 0)
+                    .build());
+        }
+        return repositories;
+    }
+}
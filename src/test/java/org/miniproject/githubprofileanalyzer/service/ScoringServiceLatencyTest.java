@@ -0,0 +1,143 @@
+package org.miniproject.githubprofileanalyzer.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.miniproject.githubprofileanalyzer.client.GitHubApiClient;
+import org.miniproject.githubprofileanalyzer.dto.AnalysisResponse;
+import org.miniproject.githubprofileanalyzer.exception.GitHubApiException;
+import org.miniproject.githubprofileanalyzer.support.GitHubStubServer;
+import org.miniproject.githubprofileanalyzer.support.ServiceFixture;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScoringServiceLatencyTest {
+    
+    private static final long UPSTREAM_DELAY_MS = 400;
+    
+    private GitHubStubServer stub;
+    private GitHubApiClient client;
+    private ScoringService scoringService;
+    
+    @BeforeEach
+    void setUp() {
+        // No size or default branch, so no tree request: an analysis is the user and repository round trips only
+        stub = new GitHubStubServer()
+                .route("/users/octo", """
+                        {"login":"octo","public_repos":1,"followers":3,"following":1,
+                         "created_at":"2015-01-01T00:00:00Z","updated_at":"2026-01-01T00:00:00Z"}""")
+                .route("/users/octo/repos", """
+                        [{"name":"spoon-knife","full_name":"octo/spoon-knife","description":"A repository for practicing forks",
+                          "stargazers_count":12,"forks_count":4,"language":"Java","topics":["demo"],
+                          "created_at":"2020-01-01T00:00:00Z","updated_at":"2026-01-01T00:00:00Z","pushed_at":"2026-01-01T00:00:00Z"}]""")
+                .delay(UPSTREAM_DELAY_MS);
+        client = ServiceFixture.client(stub);
+        scoringService = ServiceFixture.scoringService(client);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+    
+    @Test
+    void userAndRepositoriesAreFetchedConcurrently() {
+        AnalysisResponse.ProfileMetrics metrics = scoringService.calculateMetrics("octo");
+        
+        // Each response is held for the upstream delay, so overlapping requests are in flight together
+        assertThat(metrics.getUsername()).isEqualTo("octo");
+        assertThat(stub.requestCount("/users/octo")).isEqualTo(1);
+        assertThat(stub.requestCount("/users/octo/repos")).isEqualTo(1);
+        assertThat(stub.peakConcurrentRequests()).isEqualTo(2);
+    }
+    
+    @Test
+    void sequentialLookupsDoNotOverlap() {
+        client.getUser("octo");
+        client.getUserRepositories("octo");
+        
+        assertThat(stub.peakConcurrentRequests()).isEqualTo(1);
+    }
+    
+    @Test
+    void virtualRequestThreadJoinsUserAndRepositoriesAsSubtasks() throws Exception {
+        ReflectionTestUtils.setField(scoringService, "virtualThreads", true);
+        
+        List<Thread> threads = onVirtualThread(() -> {
+            Thread completedOn = scoringService.calculateMetricsReactive("octo")
+                    .map(metrics -> Thread.currentThread())
+                    .block();
+            return List.of(Thread.currentThread(), completedOn);
+        });
+        
+        // The subscribing thread ran the join itself instead of handing the analysis to the event loop
+        assertThat(threads.get(1)).isSameAs(threads.get(0));
+        assertThat(stub.peakConcurrentRequests()).isEqualTo(2);
+    }
+    
+    @Test
+    void analyzeRequestOnAVirtualThreadRunsTheStructuredFanOut() throws Exception {
+        AnalysisService analysisService = ServiceFixture.analysisService(client, new ObjectMapper(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(ReflectionTestUtils.getField(analysisService, "scoringService"), "virtualThreads", true);
+        
+        // What /api/analyze does on a Tomcat virtual request thread: subscribe to the returned Mono
+        List<Thread> threads = onVirtualThread(() -> {
+            Thread completedOn = analysisService.analyzeSerialized("octo", true)
+                    .map(entry -> Thread.currentThread())
+                    .block();
+            return List.of(Thread.currentThread(), completedOn);
+        });
+        
+        assertThat(threads.get(1)).isSameAs(threads.get(0));
+        assertThat(stub.peakConcurrentRequests()).isEqualTo(2);
+    }
+    
+    @Test
+    void platformThreadSubscribersStayReactiveInVirtualThreadMode() {
+        ReflectionTestUtils.setField(scoringService, "virtualThreads", true);
+        
+        Boolean completedOnVirtualThread = scoringService.calculateMetricsReactive("octo")
+                .map(metrics -> Thread.currentThread().isVirtual())
+                .block();
+        
+        // No subtask or joiner thread is blocked on the way
+        assertThat(completedOnVirtualThread).isFalse();
+        assertThat(stub.peakConcurrentRequests()).isEqualTo(2);
+    }
+    
+    @Test
+    void virtualThreadModeFailsWithTheSubtaskError() {
+        ReflectionTestUtils.setField(scoringService, "virtualThreads", true);
+        
+        assertThatThrownBy(() -> onVirtualThread(() -> scoringService.calculateMetrics("ghost")))
+                .isInstanceOf(GitHubApiException.class)
+                .hasMessageContaining("ghost");
+    }
+    
+    @Test
+    void concurrentUserAndProfileLookupsShareOneRequest() {
+        Mono.zip(client.fetchUser("octo"), client.fetchUserProfile("octo")).block();
+        
+        assertThat(stub.requestCount("/users/octo")).isEqualTo(1);
+    }
+    
+    private static <T> T onVirtualThread(Callable<T> call) throws Exception {
+        FutureTask<T> task = new FutureTask<>(call);
+        Thread.ofVirtual().start(task);
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package org.miniproject.githubprofileanalyzer.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.miniproject.githubprofileanalyzer.client.GitHubApiClient;
+import org.miniproject.githubprofileanalyzer.config.JacksonConfig;
+import org.miniproject.githubprofileanalyzer.controller.GitHubAnalyzerController;
+import org.miniproject.githubprofileanalyzer.dto.AnalysisResponse;
+import org.miniproject.githubprofileanalyzer.dto.AnalyzeRequest;
+import org.miniproject.githubprofileanalyzer.support.GitHubStubServer;
+import org.miniproject.githubprofileanalyzer.support.ServiceFixture;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StaticSectionsTest {
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    @Test
+    void preSerializedSectionsWriteTheSameJsonAsRegularSerialization() throws Exception {
+        AnalysisResponse response = AnalysisResponse.builder()
+                .executiveSummary("Summary")
+                .uiUxEvaluation(StaticSections.UI_UX_EVALUATION)
+                .recommendedPages(StaticSections.RECOMMENDED_PAGES)
+                .recommendedAppFlow(StaticSections.RECOMMENDED_APP_FLOW)
+                .recommendedFolderStructure(StaticSections.RECOMMENDED_FOLDER_STRUCTURE)
+                .build();
+        
+        // Written through the raw fragments, versus converted to a tree which always serializes the values
+        JsonNode written = objectMapper.readTree(objectMapper.writeValueAsString(response));
+        assertThat(written).isEqualTo(objectMapper.valueToTree(response));
+        assertThat(written.get("recommendedFolderStructure").fieldNames()).toIterable().containsExactly("backend", "frontend");
+        
+        // Other values of the same properties are unaffected
+        response.setRecommendedPages(List.of("Custom Page"));
+        assertThat(objectMapper.readTree(objectMapper.writeValueAsString(response)).get("recommendedPages").get(0).asText())
+                .isEqualTo("Custom Page");
+    }
+    
+    @Test
+    void documentContainsEverySectionAndSharedValuesAreImmutable() throws Exception {
+        JsonNode document = objectMapper.readTree(StaticSections.json());
+        
+        assertThat(document.fieldNames()).toIterable().containsAll(StaticSections.FIELDS).contains("recommendedNextSteps");
+        assertThat(document.get("recommendedPages")).isEqualTo(objectMapper.valueToTree(StaticSections.RECOMMENDED_PAGES));
+        assertThat(StaticSections.etag()).startsWith("\"").endsWith("\"");
+        assertThatThrownBy(() -> StaticSections.RECOMMENDED_PAGES.add("Another Page"))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+    
+    @Test
+    void sharedUiUxEvaluationCannotBeModifiedAndRoundTripsToTheSharedInstance() throws Exception {
+        AnalysisResponse.UiUxEvaluation shared = StaticSections.UI_UX_EVALUATION;
+        
+        assertThat(AnalysisResponse.UiUxEvaluation.class.getMethods())
+                .extracting(Method::getName)
+                .noneMatch(name -> name.startsWith("set"));
+        assertThatThrownBy(() -> shared.getImprovementSuggestions().add("Another suggestion"))
+                .isInstanceOf(UnsupportedOperationException.class);
+        
+        // A response read back from bytes that include the sections holds an equal copy, which attach replaces
+        AnalysisResponse cached = objectMapper.readValue(
+                objectMapper.writeValueAsString(AnalysisResponse.builder().uiUxEvaluation(shared).build()), AnalysisResponse.class);
+        assertThat(cached.getUiUxEvaluation()).isEqualTo(shared).isNotSameAs(shared);
+        assertThat(StaticSections.attach(cached).getUiUxEvaluation()).isSameAs(shared);
+    }
+    
+    @Test
+    void analyzeLeavesTheStaticSectionsOutUnlessAskedFor() throws Exception {
+        ObjectMapper filtering = filteringObjectMapper();
+        GitHubStubServer stub = ServiceFixture.octoStub();
+        try {
+            GitHubApiClient client = ServiceFixture.client(stub);
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            GitHubAnalyzerController controller = new GitHubAnalyzerController(
+                    ServiceFixture.analysisService(client, filtering, registry),
+                    ServiceFixture.organizationAnalysisService(client, registry));
+            AnalyzeRequest request = new AnalyzeRequest();
+            request.setUsername("octo");
+            
+            // By default the cached bytes, which have no static sections
+            JsonNode lean = written(filtering, controller.analyzeProfile(request, null, null, null).block());
+            assertThat(lean.has("executiveSummary")).isTrue();
+            assertThat(lean.has("recommendedPages")).isFalse();
+            
+            JsonNode full = written(filtering, controller.analyzeProfile(request, null, true, null).block());
+            assertThat(full.get("recommendedPages")).isEqualTo(objectMapper.valueToTree(StaticSections.RECOMMENDED_PAGES));
+            assertThat(full.has("executiveSummary")).isTrue();
+            
+            // Listed fields are returned as listed, unless static sections are turned off
+            List<String> fields = List.of("executiveSummary,recommendedPages");
+            assertThat(written(filtering, controller.analyzeProfile(request, fields, null, null).block()).has("recommendedPages"))
+                    .isTrue();
+            assertThat(written(filtering, controller.analyzeProfile(request, fields, false, null).block()).has("recommendedPages"))
+                    .isFalse();
+        } finally {
+            stub.close();
+        }
+    }
+    
+    @Test
+    void staticSectionsCanBeLeftOutOfACompleteAnalysis() {
+        FieldSelection withoutStatic = FieldSelection.ALL.withoutStaticSections();
+        
+        assertThat(withoutStatic.isComplete()).isTrue();
+        assertThat(withoutStatic.includes("recommendedPages")).isFalse();
+        assertThat(withoutStatic.includes("redFlags")).isTrue();
+    }
+    
+    private static JsonNode written(ObjectMapper objectMapper, ResponseEntity<?> response) throws Exception {
+        if (response.getBody() instanceof MappingJacksonValue value) {
+            return objectMapper.readTree(objectMapper.writer(value.getFilters()).writeValueAsBytes(value.getValue()));
+        }
+        return objectMapper.readTree((byte[]) response.getBody());
+    }
+    
+    private static ObjectMapper filteringObjectMapper() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        new JacksonConfig().fieldSelectionFilters().customize(builder);
+        return builder.build();
+    }
+}
@@ -0,0 +1,167 @@
+package org.miniproject.githubprofileanalyzer.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Minimal local stand-in for api.github.com used by tests.
+ * Routes are matched on the exact request path; every response can be delayed to simulate upstream latency.
+ * The peak number of requests in flight at once shows whether a client overlapped its requests.
+ * Each request gets its own connection unless keep-alive is asked for: when a client cancels a request, the JDK
+ * server and the client's pool can race on the connection, failing an unrelated request that reuses it.
+ */
+public class GitHubStubServer implements AutoCloseable {
+    
+    // Room for every connection a test opens at once; 0 would leave the size to the platform default
+    private static final int BACKLOG = 256;
+    
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Map<String, Function<HttpExchange, Response>> routes = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private volatile long delayMillis;
+    private volatile boolean keepAlive;
+    
+    public GitHubStubServer() {
+        try {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), BACKLOG);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+    
+    public GitHubStubServer route(String path, String json) {
+        return route(path, exchange -> json);
+    }
+    
+    public GitHubStubServer route(String path, Function<HttpExchange, String> handler) {
+        return respond(path, exchange -> {
+            String body = handler.apply(exchange);
+            return body == null ? null : Response.ok(body);
+        });
+    }
+    
+    /**
+     * Routes to a handler that controls the status and headers too; a null response is a 404
+     */
+    public GitHubStubServer respond(String path, Function<HttpExchange, Response> handler) {
+        routes.put(path, handler);
+        return this;
+    }
+    
+    public GitHubStubServer delay(long millis) {
+        this.delayMillis = millis;
+        return this;
+    }
+    
+    /**
+     * Keeps connections open between requests, for tests of connection pooling
+     */
+    public GitHubStubServer keepAlive() {
+        this.keepAlive = true;
+        return this;
+    }
+    
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+    
+    public int requestCount(String path) {
+        AtomicInteger count = requestCounts.get(path);
+        return count == null ? 0 : count.get();
+    }
+    
+    public int peakConcurrentRequests() {
+        return peakInFlight.get();
+    }
+    
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+    
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        requestCounts.computeIfAbsent(path, p -> new AtomicInteger()).incrementAndGet();
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            respond(exchange, path);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+    
+    private void respond(HttpExchange exchange, String path) throws IOException {
+        try {
+            if (delayMillis > 0) {
+                Thread.sleep(delayMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        Function<HttpExchange, Response> handler = routes.get(path);
+        Response response = handler == null ? null : handler.apply(exchange);
+        if (response == null) {
+            response = Response.status(404);
+        }
+        
+        response.headers().forEach(exchange.getResponseHeaders()::add);
+        if (!keepAlive) {
+            exchange.getResponseHeaders().set("Connection", "close");
+        }
+        if (response.body() == null) {
+            exchange.sendResponseHeaders(response.status(), -1);
+            exchange.close();
+            return;
+        }
+        
+        byte[] bytes = response.body().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(response.status(), bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+    
+    /**
+     * Status, headers and JSON body of a stub response; a null body sends none
+     */
+    public record Response(int status, Map<String, String> headers, String body) {
+        
+        public static Response ok(String body) {
+            return new Response(200, Map.of(), body);
+        }
+        
+        public static Response status(int status) {
+            return new Response(status, Map.of(), null);
+        }
+        
+        public Response withHeader(String name, String value) {
+            Map<String, String> copy = new LinkedHashMap<>(headers);
+            copy.put(name, value);
+            return new Response(status, copy, body);
+        }
+        
+        public Response withBody(String body) {
+            return new Response(status, headers, body);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package org.miniproject.githubprofileanalyzer.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.miniproject.githubprofileanalyzer.client.GitHubApiClient;
+import org.miniproject.githubprofileanalyzer.service.AIInsightService;
+import org.miniproject.githubprofileanalyzer.service.AnalysisMetrics;
+import org.miniproject.githubprofileanalyzer.service.AnalysisResultCache;
+import org.miniproject.githubprofileanalyzer.service.AnalysisService;
+import org.miniproject.githubprofileanalyzer.service.AnalysisSnapshotStore;
+import org.miniproject.githubprofileanalyzer.service.InsightTemplates;
+import org.miniproject.githubprofileanalyzer.service.OrganizationAnalysisService;
+import org.miniproject.githubprofileanalyzer.service.RepositoryEnrichmentService;
+import org.miniproject.githubprofileanalyzer.service.RepositorySnapshots;
+import org.miniproject.githubprofileanalyzer.service.ScoringService;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+
+/**
+ * Services wired the way Spring would, with test-sized settings, for tests of the classes that use them.
+ * Constructor changes are absorbed here instead of in every test.
+ */
+public final class ServiceFixture {
+    
+    public static final String OCTO_TREE_PATH = "/repos/octo/spoon-knife/git/trees/main";
+    
+    private static final LoopResources NIO_LOOPS = LoopResources.create("stub-client", 2, true);
+    
+    private ServiceFixture() {
+    }
+    
+    /**
+     * A stub serving user octo with one enrichable repository, spoon-knife (12 stars, 4 forks, Java)
+     */
+    public static GitHubStubServer octoStub() {
+        return new GitHubStubServer()
+                .route("/users/octo", """
+                        {"login":"octo","public_repos":1,"followers":3,"following":1,
+                         "created_at":"2015-01-01T00:00:00Z","updated_at":"2026-01-01T00:00:00Z"}""")
+                .route("/users/octo/repos", """
+                        [{"name":"spoon-knife","full_name":"octo/spoon-knife","description":"A repository for practicing forks",
+                          "stargazers_count":12,"forks_count":4,"language":"Java","topics":["demo"],"size":10,"default_branch":"main",
+                          "created_at":"2020-01-01T00:00:00Z","updated_at":"2026-01-01T00:00:00Z","pushed_at":"2026-01-01T00:00:00Z"}]""")
+                .route(OCTO_TREE_PATH, """
+                        {"sha":"abc","truncated":false,"tree":[{"path":"README.md"}]}""");
+    }
+    
+    /**
+     * A client on NIO event loops. On the native epoll transport, a request cancelled while it was connecting
+     * (the sibling request of a failed member in an organization fan-out) now and then failed a request
+     * connecting right after it with NotYetConnectedException.
+     */
+    public static GitHubApiClient client(GitHubStubServer stub) {
+        return client(WebClient.builder()
+                .baseUrl(stub.baseUrl())
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create().runOn(NIO_LOOPS, false)))
+                .build());
+    }
+    
+    public static GitHubApiClient client(WebClient webClient) {
+        GitHubApiClient client = new GitHubApiClient(webClient);
+        ReflectionTestUtils.setField(client, "pageConcurrency", 4);
+        ReflectionTestUtils.setField(client, "maxRepositoryPages", 50);
+        ReflectionTestUtils.setField(client, "maxMemberPages", 50);
+        return client;
+    }
+    
+    public static RepositoryEnrichmentService enrichmentService(GitHubApiClient client) {
+        return new RepositoryEnrichmentService(client, 8, 30, 100);
+    }
+    
+    /**
+     * Scoring without repository snapshots, so every analysis lists the repositories in full
+     */
+    public static ScoringService scoringService(GitHubApiClient client) {
+        return scoringService(client, new RepositorySnapshots(Duration.ZERO, 0));
+    }
+    
+    public static ScoringService scoringService(GitHubApiClient client, RepositorySnapshots snapshots) {
+        return new ScoringService(client, enrichmentService(client), snapshots);
+    }
+    
+    /**
+     * Batches are limited to 10 usernames analyzed 4 at a time
+     */
+    public static AnalysisService analysisService(GitHubApiClient client, ObjectMapper objectMapper, MeterRegistry registry) {
+        AnalysisService analysisService = new AnalysisService(client, scoringService(client),
+                new AIInsightService(new InsightTemplates(InsightTemplates.DEFAULT_LOCATION)),
+                new AnalysisResultCache(objectMapper, Duration.ofMinutes(10), DataSize.ofMegabytes(1)), objectMapper,
+                new AnalysisMetrics(registry), disabledSnapshotStore(objectMapper));
+        ReflectionTestUtils.setField(analysisService, "batchConcurrency", 4);
+        ReflectionTestUtils.setField(analysisService, "maxBatchSize", 10);
+        return analysisService;
+    }
+    
+    /**
+     * Progress every 25 members, the top 5 per dimension, 8 members analyzed at a time
+     */
+    public static OrganizationAnalysisService organizationAnalysisService(GitHubApiClient client, MeterRegistry registry) {
+        OrganizationAnalysisService service = new OrganizationAnalysisService(client, scoringService(client),
+                new AnalysisResultCache(new ObjectMapper(), Duration.ofMinutes(10), DataSize.ofMegabytes(1)), new AnalysisMetrics(registry));
+        ReflectionTestUtils.setField(service, "concurrency", 8);
+        ReflectionTestUtils.setField(service, "topN", 5);
+        ReflectionTestUtils.setField(service, "progressEvery", 25);
+        ReflectionTestUtils.setField(service, "progressInterval", Duration.ofSeconds(30));
+        return service;
+    }
+    
+    /**
+     * A snapshot store that never touches the disk
+     */
+    public static AnalysisSnapshotStore disabledSnapshotStore(ObjectMapper objectMapper) {
+        return new AnalysisSnapshotStore(new AnalysisResultCache(objectMapper, Duration.ofMinutes(10), DataSize.ofMegabytes(1)), objectMapper,
+                false, "unused", Duration.ofDays(7), DataSize.ofKilobytes(64), Duration.ZERO, 0.5);
+    }
+}
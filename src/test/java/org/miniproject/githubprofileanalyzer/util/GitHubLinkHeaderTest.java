@@ -0,0 +1,33 @@
+package org.miniproject.githubprofileanalyzer.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GitHubLinkHeaderTest {
+
+    @Test
+    void readsThePageOfTheLastLink() {
+        assertThat(GitHubLinkHeader.lastPage(link("""
+                <https://api.github.com/user/1/repos?per_page=100&sort=updated&page=2>; rel="next", \
+                <https://api.github.com/user/1/repos?per_page=100&sort=updated&page=7>; rel="last\""""))).isEqualTo(7);
+        assertThat(GitHubLinkHeader.lastPage(link("""
+                <https://api.github.com/user/1/repos?page=12&per_page=100>;rel="last\""""))).isEqualTo(12);
+    }
+
+    @Test
+    void missingLastLinkIsZero() {
+        // The last page itself only links back
+        assertThat(GitHubLinkHeader.lastPage(link("""
+                <https://api.github.com/user/1/repos?per_page=100&page=6>; rel="prev", \
+                <https://api.github.com/user/1/repos?per_page=100&page=1>; rel="first\""""))).isZero();
+        assertThat(GitHubLinkHeader.lastPage(new HttpHeaders())).isZero();
+    }
+
+    private static HttpHeaders link(String value) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.LINK, value);
+        return headers;
+    }
+}
@@ -0,0 +1,55 @@
+package org.miniproject.githubprofileanalyzer.util;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+    
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    
+    @Test
+    void concurrentCallersShareOneExecution() {
+        AtomicInteger executions = new AtomicInteger();
+        Sinks.One<String> upstream = Sinks.one();
+        
+        List<Mono<String>> callers = List.of(
+                singleFlight.execute("octocat", () -> { executions.incrementAndGet(); return upstream.asMono(); }),
+                singleFlight.execute("octocat", () -> { executions.incrementAndGet(); return upstream.asMono(); }),
+                singleFlight.execute("octocat", () -> { executions.incrementAndGet(); return upstream.asMono(); }));
+        
+        Mono<List<String>> results = Flux.merge(callers).collectList().cache();
+        results.subscribe();
+        assertThat(singleFlight.inFlightCount()).isEqualTo(1);
+        
+        upstream.tryEmitValue("analysis");
+        
+        assertThat(results.block()).containsExactly("analysis", "analysis", "analysis");
+        assertThat(executions).hasValue(1);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+    
+    @Test
+    void failurePropagatesToEveryWaiterAndIsNotRetained() {
+        Sinks.One<String> upstream = Sinks.one();
+        Mono<String> first = singleFlight.execute("octocat", upstream::asMono).cache();
+        Mono<String> second = singleFlight.execute("octocat", upstream::asMono).cache();
+        first.subscribe(v -> { }, e -> { });
+        second.subscribe(v -> { }, e -> { });
+        
+        upstream.tryEmitError(new IllegalStateException("rate limited"));
+        
+        assertThatThrownBy(first::block).hasMessageContaining("rate limited");
+        assertThatThrownBy(second::block).hasMessageContaining("rate limited");
+        assertThat(singleFlight.inFlightCount()).isZero();
+        
+        assertThat(singleFlight.execute("octocat", () -> Mono.just("retried")).block()).isEqualTo("retried");
+    }
+}
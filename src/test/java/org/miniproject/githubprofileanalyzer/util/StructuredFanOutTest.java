@@ -0,0 +1,66 @@
+package org.miniproject.githubprofileanalyzer.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StructuredFanOutTest {
+
+    @Test
+    void subtasksRunConcurrentlyOnVirtualThreads() throws Exception {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        try (StructuredFanOut scope = new StructuredFanOut()) {
+            StructuredFanOut.Subtask<String> user = scope.fork(() -> {
+                bothStarted.countDown();
+                assertThat(bothStarted.await(5, TimeUnit.SECONDS)).isTrue();
+                return Thread.currentThread().isVirtual() ? "user" : "platform";
+            });
+            StructuredFanOut.Subtask<Integer> repositories = scope.fork(() -> {
+                bothStarted.countDown();
+                assertThat(bothStarted.await(5, TimeUnit.SECONDS)).isTrue();
+                return 42;
+            });
+            scope.join();
+
+            assertThat(user.get()).isEqualTo("user");
+            assertThat(repositories.get()).isEqualTo(42);
+        }
+    }
+
+    @Test
+    void firstFailureInterruptsTheOtherSubtasks() {
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch slowInterrupted = new CountDownLatch(1);
+        IllegalStateException notFound = new IllegalStateException("User not found: ghost");
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> {
+            try (StructuredFanOut scope = new StructuredFanOut()) {
+                scope.fork(() -> {
+                    slowStarted.countDown();
+                    try {
+                        Thread.sleep(30_000);
+                    } catch (InterruptedException e) {
+                        slowInterrupted.countDown();
+                        throw e;
+                    }
+                    return "repositories";
+                });
+                scope.fork(() -> {
+                    slowStarted.await();
+                    throw notFound;
+                });
+                scope.join();
+            }
+        }).isInstanceOf(ExecutionException.class).hasCause(notFound);
+
+        assertThat(slowInterrupted.getCount()).isZero();
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(10));
+    }
+}
@@ -0,0 +1,74 @@
+package org.miniproject.githubprofileanalyzer.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TextTemplateTest {
+    
+    private static final Pattern CONVERSION = Pattern.compile("%(\\.\\d+)?([sdf%])");
+    private static final String[] SAMPLE_TEXT = {"Java", "", "Impact", "Go, Rust", "✅", "null"};
+    
+    @Test
+    void rendersLikeStringFormatForEveryInsightTemplate() throws Exception {
+        Properties templates = new Properties();
+        try (Reader reader = new InputStreamReader(
+                getClass().getResourceAsStream("/insight-templates.properties"), StandardCharsets.UTF_8)) {
+            templates.load(reader);
+        }
+        assertThat(templates).isNotEmpty();
+        
+        Random random = new Random(11);
+        for (String key : templates.stringPropertyNames()) {
+            String pattern = templates.getProperty(key);
+            TextTemplate template = TextTemplate.compile(pattern);
+            
+            for (int round = 0; round < 200; round++) {
+                Object[] args = argumentsFor(pattern, random);
+                assertThat(args).hasSize(template.arity());
+                assertThat(template.render(args)).as(key).isEqualTo(String.format(Locale.ROOT, pattern, args));
+            }
+        }
+    }
+    
+    @Test
+    void handlesEscapesPrecisionAndEdgeValues() {
+        TextTemplate template = TextTemplate.compile("%d%% of %s at %.2f, %f");
+        
+        for (double value : new double[]{0.125, 0.005, -0.004, 1.005, 2.675, 1e17, Double.NaN, -0.0}) {
+            assertThat(template.render(7L, null, value, value))
+                    .isEqualTo(String.format(Locale.ROOT, "%d%% of %s at %.2f, %f", 7L, null, value, value));
+        }
+        assertThat(TextTemplate.compile("no placeholders").render()).isEqualTo("no placeholders");
+    }
+    
+    @Test
+    void rejectsUnsupportedPatternsAndMissingArguments() {
+        assertThatThrownBy(() -> TextTemplate.compile("%x")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TextTemplate.compile("%.2d")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TextTemplate.compile("100%")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TextTemplate.compile("%s and %s").render("one")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TextTemplate.compile("%d").render("seven")).isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    private static Object[] argumentsFor(String pattern, Random random) {
+        return CONVERSION.matcher(pattern).results()
+                .map(match -> match.group(2))
+                .filter(conversion -> !conversion.equals("%"))
+                .map(conversion -> switch (conversion) {
+                    case "s" -> SAMPLE_TEXT[random.nextInt(SAMPLE_TEXT.length)];
+                    case "d" -> random.nextBoolean() ? (Object) random.nextInt(-5, 100_000) : (Object) random.nextLong();
+                    default -> random.nextInt(5000) / (double) random.nextInt(1, 300);
+                })
+                .toArray();
+    }
+}